@@ -3,11 +3,14 @@ plugins {
     id("java-gradle-plugin")
     id("com.gradle.plugin-publish") version "1.3.1"
     kotlin("jvm") version "2.0.20"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "io.github.eyadabdullah"
 version = "3.0.5-SNAPSHOT"
 
+val benchmark: SourceSet by sourceSets.creating
+
 dependencies {
     implementation(gradleApi())
     implementation(localGroovy())
@@ -18,9 +21,12 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.8.1")
     testImplementation("org.mockito:mockito-core:3.+")
     testImplementation("org.assertj:assertj-core:3.24.2")
+
+    "benchmarkImplementation"(gradleTestKit())
 }
 
 gradlePlugin {
+    testSourceSets(sourceSets.test.get(), benchmark)
     website.set("https://github.com/EyadAbdullah/gradle-repository-manager")
     vcsUrl.set("https://github.com/EyadAbdullah/gradle-repository-manager")
     plugins {
@@ -42,3 +48,62 @@ kotlin {
 tasks.test {
     useJUnitPlatform()
 }
+
+jmh {
+    // 2 second iterations keep a run of all parameter combinations within a quarter of an hour
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    fork.set(1)
+    resultFormat.set("JSON")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
+
+tasks.register<Copy>("updateJmhBaseline") {
+    group = "benchmark"
+    description = "Stores the results of the last jmh run as the baseline in src/jmh/baseline."
+    mustRunAfter(tasks.named("jmh"))
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("src/jmh/baseline"))
+}
+
+val benchmarkRepository = layout.buildDirectory.dir("benchmark-repository")
+
+publishing {
+    repositories {
+        maven {
+            name = "benchmark"
+            url = uri(benchmarkRepository)
+        }
+    }
+}
+
+tasks.register<JavaExec>("configurationBenchmark") {
+    group = "benchmark"
+    description = "Measures the configuration of generated multi-project builds with and without the plugin through TestKit."
+    val resultsFile = layout.buildDirectory.file("results/configuration-benchmark/results.json")
+    val workDir = layout.buildDirectory.dir("tmp/configuration-benchmark")
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("io.github.eyadabdullah.gradlerepositorymanager.ConfigurationBenchmark")
+    args(resultsFile.get().asFile.absolutePath, workDir.get().asFile.absolutePath)
+    outputs.file(resultsFile)
+    outputs.upToDateWhen { false }
+    systemProperty("benchmark.pluginVersion", version.toString())
+    // the builds resolve the plugin from a repository like any other build, TestKit's injected classpath makes the
+    // daemon load the build scripts again for every build and retain them
+    dependsOn("publishAllPublicationsToBenchmarkRepository")
+    args(benchmarkRepository.get().asFile.absolutePath)
+    listOf("projectCounts", "repositoryCounts", "credentialCounts", "repositoryModes", "warmupIterations", "iterations", "jvmArgs", "gradleVersion")
+        .forEach { setting ->
+            providers.gradleProperty("benchmark.$setting").orNull?.let { systemProperty("benchmark.$setting", it) }
+        }
+}
+
+tasks.register<Copy>("updateConfigurationBenchmarkBaseline") {
+    group = "benchmark"
+    description = "Stores the results of the last configurationBenchmark run as the baseline in src/benchmark/baseline."
+    mustRunAfter(tasks.named("configurationBenchmark"))
+    from(layout.buildDirectory.file("results/configuration-benchmark/results.json"))
+    into(layout.projectDirectory.dir("src/benchmark/baseline"))
+}
@@ -0,0 +1,193 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+import org.gradle.testkit.runner.GradleRunner;
+
+import io.github.eyadabdullah.gradlerepositorymanager.SyntheticBuild.Scenario;
+
+/**
+ * Measures the configuration of generated multi-project builds through TestKit, once without the plugin and once for
+ * each combination of repository count, credential count and repository mode: added to every project or registered
+ * once with {@code dependencyResolutionManagement()}. Each scenario runs its warm-up iterations first in a new
+ * Gradle daemon, which is stopped afterwards, so the heap retained in one scenario holds nothing the earlier
+ * scenarios left behind.
+ * <p>
+ * For every iteration the wall time of the build, the configuration time from before the settings until all projects
+ * are evaluated, the time recorded by the plugin's {@code recordTimings()} and the heap retained by the configuration
+ * are written as JSON to the results file given as first argument.
+ */
+public final class ConfigurationBenchmark {
+
+    private static final Pattern TOTAL_MILLIS = Pattern.compile("\"totalMillis\": ([\\d.]+)");
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private ConfigurationBenchmark() {
+    }
+
+    record Measurement(double buildMillis, double configurationMillis, double pluginMillis, long retainedHeapBytes) {
+    }
+
+    record Result(Scenario scenario, List<Measurement> measurements) {
+    }
+
+    /**
+     * @param args the results file, the working directory of the generated builds and the maven repository the
+     *             plugin is published to
+     */
+    public static void main(String[] args) throws IOException {
+        var resultsFile = Path.of(args[0]);
+        var workDir = Path.of(args[1]);
+        var pluginRepository = Path.of(args[2]);
+        var pluginVersion = System.getProperty("benchmark.pluginVersion", "");
+        var projectCounts = integers("benchmark.projectCounts", "10,100,1000,3000");
+        var repositoryCounts = integers("benchmark.repositoryCounts", "1,20");
+        var credentialCounts = integers("benchmark.credentialCounts", "0,20");
+        var repositoryModes = Arrays.stream(System.getProperty("benchmark.repositoryModes", "projects,settings").split(","))
+                .map(String::strip)
+                .toList();
+        var warmupIterations = Integer.getInteger("benchmark.warmupIterations", 3);
+        var iterations = Integer.getInteger("benchmark.iterations", 5);
+        var jvmArgs = System.getProperty("benchmark.jvmArgs", "-Xmx2g");
+        var gradleVersion = System.getProperty("benchmark.gradleVersion");
+
+        var initScript = workDir.resolve("benchmark-metrics.gradle");
+        SyntheticBuild.writeMetricsInitScript(initScript);
+        var results = new ArrayList<Result>();
+        for (var projectCount : projectCounts) {
+            var scenarios = new ArrayList<Scenario>();
+            scenarios.add(new Scenario(projectCount, false, 0, 0, false));
+            repositoryCounts.forEach(repositories -> credentialCounts.forEach(credentials ->
+                    repositoryModes.forEach(mode -> scenarios.add(
+                            new Scenario(projectCount, true, repositories, credentials, mode.equals("settings"))))));
+            var testKitDir = workDir.resolve("testkit-" + projectCount);
+            for (var scenario : scenarios) {
+                var projectDir = workDir.resolve(scenario.name());
+                SyntheticBuild.write(projectDir, scenario, jvmArgs, pluginRepository, pluginVersion);
+                var runner = GradleRunner.create()
+                        .withProjectDir(projectDir.toFile())
+                        .withTestKitDir(testKitDir.toFile())
+                        .withArguments("help", "--init-script", initScript.toString());
+                if (gradleVersion != null) {
+                    runner = runner.withGradleVersion(gradleVersion);
+                }
+                for (var iteration = 0; iteration < warmupIterations; iteration++) {
+                    run(runner, projectDir, scenario);
+                }
+                var measurements = new ArrayList<Measurement>();
+                for (var iteration = 0; iteration < iterations; iteration++) {
+                    measurements.add(run(runner, projectDir, scenario));
+                }
+                stopDaemon(projectDir);
+                var result = new Result(scenario, measurements);
+                results.add(result);
+                System.out.printf(Locale.ROOT, "%-50s configuration %10.1f ms, plugin %8.1f ms, retained heap %8.1f MB%n",
+                        scenario.name(), median(result, Measurement::configurationMillis),
+                        median(result, Measurement::pluginMillis),
+                        median(result, measurement -> measurement.retainedHeapBytes()) / 1024 / 1024);
+            }
+        }
+        Files.createDirectories(resultsFile.getParent());
+        Files.writeString(resultsFile, toJson(results, warmupIterations, iterations, jvmArgs, gradleVersion));
+        System.out.println("Results written to " + resultsFile);
+    }
+
+    private static Measurement run(GradleRunner runner, Path projectDir, Scenario scenario) throws IOException {
+        var startNanos = System.nanoTime();
+        runner.build();
+        var buildMillis = (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+        var metrics = new Properties();
+        try (Reader reader = Files.newBufferedReader(projectDir.resolve(SyntheticBuild.METRICS_FILE))) {
+            metrics.load(reader);
+        }
+        var pluginMillis = scenario.plugin() ? pluginMillis(projectDir.resolve(SyntheticBuild.TIMINGS_FILE)) : 0;
+        return new Measurement(buildMillis,
+                Long.parseLong(metrics.getProperty("configurationNanos")) / NANOS_PER_MILLI,
+                pluginMillis,
+                Long.parseLong(metrics.getProperty("retainedHeapBytes")));
+    }
+
+    /**
+     * TestKit keeps its daemons running until the benchmark exits and offers no way to stop them, so the daemon which
+     * ran the scenario is stopped through the process id the metrics recorded.
+     */
+    private static void stopDaemon(Path projectDir) throws IOException {
+        var metrics = new Properties();
+        try (Reader reader = Files.newBufferedReader(projectDir.resolve(SyntheticBuild.METRICS_FILE))) {
+            metrics.load(reader);
+        }
+        ProcessHandle.of(Long.parseLong(metrics.getProperty("daemonPid"))).ifPresent(daemon -> {
+            daemon.destroy();
+            daemon.onExit().join();
+        });
+    }
+
+    /**
+     * The total of all phases in the report of {@code recordTimings()}.
+     */
+    private static double pluginMillis(Path timingsFile) throws IOException {
+        var timings = Files.readString(timingsFile);
+        var phases = timings.substring(0, timings.indexOf("\"projects\""));
+        return TOTAL_MILLIS.matcher(phases).results()
+                .mapToDouble(match -> Double.parseDouble(match.group(1)))
+                .sum();
+    }
+
+    private static double median(Result result, ToDoubleFunction<Measurement> metric) {
+        var values = result.measurements().stream().mapToDouble(metric).sorted().toArray();
+        return values.length % 2 == 1
+                ? values[values.length / 2]
+                : (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+    }
+
+    private static String toJson(List<Result> results, int warmupIterations, int iterations, String jvmArgs,
+                                 String gradleVersion) {
+        var json = new StringBuilder("{\n");
+        json.append("  \"pluginVersion\": \"").append(System.getProperty("benchmark.pluginVersion", "")).append("\",\n");
+        json.append("  \"gradleVersion\": \"").append(gradleVersion == null ? "" : gradleVersion).append("\",\n");
+        json.append("  \"jvmArgs\": \"").append(jvmArgs).append("\",\n");
+        json.append("  \"availableProcessors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"warmupIterations\": ").append(warmupIterations).append(",\n");
+        json.append("  \"iterations\": ").append(iterations).append(",\n");
+        json.append("  \"scenarios\": [");
+        for (var index = 0; index < results.size(); index++) {
+            var result = results.get(index);
+            var scenario = result.scenario();
+            json.append(index == 0 ? "\n" : ",\n")
+                    .append(String.format(Locale.ROOT,
+                            "    {\"name\": \"%s\", \"projects\": %d, \"plugin\": %b, \"repositories\": %d, \"credentials\": %d, \"repositoryMode\": \"%s\",",
+                            scenario.name(), scenario.projectCount(), scenario.plugin(), scenario.repositories(),
+                            scenario.credentials(), scenario.repositoryMode()))
+                    .append("\n      \"buildMillis\": ").append(values(result, Measurement::buildMillis))
+                    .append(",\n      \"configurationMillis\": ").append(values(result, Measurement::configurationMillis))
+                    .append(",\n      \"pluginMillis\": ").append(values(result, Measurement::pluginMillis))
+                    .append(",\n      \"retainedHeapBytes\": ")
+                    .append(values(result, measurement -> measurement.retainedHeapBytes()))
+                    .append('}');
+        }
+        return json.append(results.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+    }
+
+    private static String values(Result result, ToDoubleFunction<Measurement> metric) {
+        var values = result.measurements().stream().mapToDouble(metric).sorted().toArray();
+        return String.format(Locale.ROOT, "{\"median\": %.3f, \"min\": %.3f, \"max\": %.3f}",
+                median(result, metric), values[0], values[values.length - 1]);
+    }
+
+    private static List<Integer> integers(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::strip)
+                .map(Integer::valueOf)
+                .toList();
+    }
+}
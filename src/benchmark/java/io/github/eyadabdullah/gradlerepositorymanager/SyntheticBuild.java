@@ -0,0 +1,150 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Generates a flat multi-project build with one java-library project per {@link Scenario#projectCount()}. With the
+ * plugin applied, the settings declare the scenario's repositories and {@code gradle.properties} its credentials, the
+ * first of which match the repositories. The repositories are added to every project or, with
+ * {@link Scenario#dependencyResolutionManagement()}, once to the settings.
+ */
+final class SyntheticBuild {
+
+    static final String METRICS_FILE = "build/benchmark-metrics.properties";
+    static final String TIMINGS_FILE = "build/reports/repository-manager/configuration-timings.json";
+    private static final int PROJECTS_PER_INCLUDE = 100;
+
+    private SyntheticBuild() {
+    }
+
+    /**
+     * @param plugin      whether the plugin is applied
+     * @param repositories the number of managed repositories
+     * @param credentials the number of credentials defined by system properties
+     * @param dependencyResolutionManagement whether the repositories are registered once in the settings
+     */
+    record Scenario(int projectCount, boolean plugin, int repositories, int credentials,
+                    boolean dependencyResolutionManagement) {
+
+        String name() {
+            return plugin
+                    ? "projects-%d-repositories-%d-credentials-%d-%s".formatted(projectCount, repositories, credentials,
+                    repositoryMode())
+                    : "projects-%d-without-plugin".formatted(projectCount);
+        }
+
+        String repositoryMode() {
+            if (!plugin) {
+                return "none";
+            }
+            return dependencyResolutionManagement ? "settings" : "projects";
+        }
+    }
+
+    /**
+     * @param pluginRepository the maven repository the plugin is resolved from, in the given version
+     */
+    static void write(Path projectDir, Scenario scenario, String jvmArgs, Path pluginRepository, String pluginVersion)
+            throws IOException {
+        Files.createDirectories(projectDir);
+        Files.writeString(projectDir.resolve("settings.gradle"), settings(scenario, pluginRepository, pluginVersion));
+        Files.writeString(projectDir.resolve("gradle.properties"), properties(scenario, jvmArgs));
+        for (var project = 0; project < scenario.projectCount(); project++) {
+            var subprojectDir = Files.createDirectories(projectDir.resolve(projectName(project)));
+            Files.writeString(subprojectDir.resolve("build.gradle"), """
+                    plugins {
+                        id 'java-library'
+                    }
+
+                    dependencies {
+                        implementation 'org.example:library-%d:1.0'
+                    }
+                    """.formatted(project));
+        }
+    }
+
+    /**
+     * Writes an init script recording the configuration time, from before the settings are evaluated until all
+     * projects are evaluated, the heap the daemon retains at that point and the process id of the daemon. The heap
+     * is measured after a full collection, so it holds the configured build and whatever the earlier builds of the
+     * scenario left behind in the daemon.
+     */
+    static void writeMetricsInitScript(Path initScript) throws IOException {
+        Files.createDirectories(initScript.getParent());
+        Files.writeString(initScript, """
+                def startNanos = System.nanoTime()
+                gradle.projectsEvaluated { gradle ->
+                    def configurationNanos = System.nanoTime() - startNanos
+                    System.gc()
+                    def runtime = Runtime.runtime
+                    def retainedHeapBytes = runtime.totalMemory() - runtime.freeMemory()
+                    def metrics = new File(gradle.rootProject.rootDir, '%s')
+                    metrics.parentFile.mkdirs()
+                    metrics.text = "configurationNanos=${configurationNanos}\\nretainedHeapBytes=${retainedHeapBytes}\\n" +
+                            "daemonPid=${ProcessHandle.current().pid()}\\n"
+                }
+                """.formatted(METRICS_FILE));
+    }
+
+    private static String settings(Scenario scenario, Path pluginRepository, String pluginVersion) {
+        var settings = new StringBuilder();
+        if (scenario.plugin()) {
+            // the dependencies of the plugin are resolved from maven central
+            settings.append("""
+                    pluginManagement {
+                        repositories {
+                            maven { url = '%s' }
+                            mavenCentral()
+                        }
+                    }
+
+                    plugins {
+                        id 'io.github.eyadabdullah.gradle-repository-manager' version '%s'
+                    }
+
+                    """.formatted(pluginRepository.toUri(), pluginVersion));
+        }
+        settings.append("rootProject.name = 'synthetic-build'\n");
+        for (var project = 0; project < scenario.projectCount(); project += PROJECTS_PER_INCLUDE) {
+            settings.append("include ");
+            for (var included = project; included < Math.min(project + PROJECTS_PER_INCLUDE, scenario.projectCount()); included++) {
+                settings.append(included == project ? "'" : ", '").append(projectName(included)).append('\'');
+            }
+            settings.append('\n');
+        }
+        if (scenario.plugin()) {
+            settings.append("\nRepositoryManager {\n");
+            for (var repository = 0; repository < scenario.repositories(); repository++) {
+                settings.append("    repository('repository %d', '%s')\n".formatted(repository, repositoryUrl(repository)));
+            }
+            settings.append("    mavenCentral()\n    recordTimings()\n");
+            if (scenario.dependencyResolutionManagement()) {
+                settings.append("    dependencyResolutionManagement()\n");
+            }
+            settings.append("}\n");
+        }
+        return settings.toString();
+    }
+
+    private static String properties(Scenario scenario, String jvmArgs) {
+        var properties = new StringBuilder("org.gradle.jvmargs=%s\norg.gradle.daemon.idletimeout=120000\n".formatted(jvmArgs));
+        for (var credential = 0; credential < scenario.credentials(); credential++) {
+            var prefix = "systemProp.repository_manager_repo_benchmark_%d_".formatted(credential);
+            properties.append(prefix).append("url=").append(repositoryUrl(credential)).append('\n')
+                    .append(prefix).append("token_name=Private-Token\n")
+                    .append(prefix).append("token_value=secret-").append(credential).append('\n');
+        }
+        return properties.toString();
+    }
+
+    private static String repositoryUrl(int repository) {
+        return "https://maven%d.example.com/repository/releases".formatted(repository);
+    }
+
+    private static String projectName(int project) {
+        return String.format(Locale.ROOT, "project-%04d", project);
+    }
+}
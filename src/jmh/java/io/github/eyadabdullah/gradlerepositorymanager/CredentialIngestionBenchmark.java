@@ -0,0 +1,67 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension.REPOSITORY_DEFINITION_PREFIX;
+
+/**
+ * Reading the {@code repository_manager_repo_*} properties into credentials. The properties are mixed with unrelated
+ * ones, which is what the prefixed system properties and environment variables of a CI machine look like.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CredentialIngestionBenchmark {
+
+    private static final String[] PROPERTY_SUFFIXES = {"url", "username", "password", "token_name", "token_value"};
+
+    @Param({"10", "100", "1000"})
+    int propertyCount;
+
+    private Map<String, String> properties;
+
+    @Setup
+    public void setUp() {
+        properties = new HashMap<>();
+        for (var i = 0; properties.size() < propertyCount; i++) {
+            if (i % 10 == 9) {
+                // properties sharing the prefix without being a credential
+                properties.put(REPOSITORY_DEFINITION_PREFIX + "_unrelated_" + i, "value");
+            } else {
+                var identifier = "repo_" + i / PROPERTY_SUFFIXES.length;
+                var suffix = PROPERTY_SUFFIXES[i % PROPERTY_SUFFIXES.length];
+                properties.put(REPOSITORY_DEFINITION_PREFIX + "_" + identifier + "_" + suffix,
+                    "url".equals(suffix) ? "https://maven.example.com/" + identifier : "value");
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, RepositoryCredentials> collectCredentials() {
+        var credentials = new HashMap<String, RepositoryCredentials>();
+        RepositoryManagerService.collectCredentialsInto(credentials, properties);
+        return credentials;
+    }
+
+    @Benchmark
+    public int isValidRepository() {
+        var valid = 0;
+        for (var property : properties.keySet()) {
+            if (RepositoryCredentials.isValidRepository(property)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
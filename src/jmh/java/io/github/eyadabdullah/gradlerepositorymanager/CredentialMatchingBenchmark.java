@@ -0,0 +1,78 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Binding credentials to repository urls. A build creates one matcher and looks up every managed repository once,
+ * so both are measured together. {@code regexPercentage} is the share of credentials with a regex url, the rest
+ * are split between literal urls and {@code .*} prefixes. Both benchmarks bind the same credentials to the same
+ * repositories, once through the {@link CredentialMatcher} and once through the linear scan it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CredentialMatchingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int credentialCount;
+
+    @Param({"0", "50", "100"})
+    int regexPercentage;
+
+    @Param({"5", "35"})
+    int repositoryCount;
+
+    private List<RepositoryCredentials> credentials;
+    private List<String> repositoryUrls;
+
+    @Setup
+    public void setUp() {
+        credentials = new ArrayList<>();
+        var regexCount = credentialCount * regexPercentage / 100;
+        for (var i = 0; i < credentialCount; i++) {
+            var credential = new RepositoryCredentials("repository_manager_repo_credential_" + i + "_url");
+            if (i < regexCount) {
+                credential.setUrl("https://maven\\.example\\.com/groups/" + i + "/[a-z-]+");
+            } else if (i % 2 == 0) {
+                credential.setUrl("https://maven.example.com/groups/" + i + "/releases");
+            } else {
+                credential.setUrl("https://maven.example.com/groups/" + i + "/.*");
+            }
+            credential.setUsername("user");
+            credential.setPassword("secret");
+            credentials.add(credential);
+        }
+        repositoryUrls = new ArrayList<>();
+        for (var i = 0; i < repositoryCount; i++) {
+            // every other repository has no credential at all, which is the most expensive lookup
+            repositoryUrls.add("https://maven.example.com/groups/" + (i % 2 == 0 ? i : credentialCount + i) + "/releases");
+        }
+    }
+
+    @Benchmark
+    public void matchRepositories(Blackhole blackhole) {
+        var matcher = new CredentialMatcher(credentials);
+        repositoryUrls.forEach(url -> blackhole.consume(matcher.findCredential(url)));
+    }
+
+    @Benchmark
+    public void linearScanRepositories(Blackhole blackhole) {
+        // the previous lookup compiled the url of every credential for every repository
+        repositoryUrls.forEach(url -> blackhole.consume(credentials.stream()
+                .filter(credential -> Pattern.compile(credential.getUrl()).matcher(url).matches())
+                .findFirst()));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension;
+
+/**
+ * Adding the managed repositories to a project, which happens once for pluginManagement and once for every project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryApplicationBenchmark {
+
+    @Param({"5", "35", "100"})
+    int repositoryCount;
+
+    private Project project;
+    private RepositoryManagerExtension extension;
+    private RepositoryManagerService service;
+    private List<ManageableRepository> repositories;
+    private RepositoryPlan plan;
+
+    @Setup
+    public void setUp() {
+        project = ProjectBuilder.builder().build();
+        extension = project.getObjects().newInstance(RepositoryManagerExtension.class);
+        var credentials = new ArrayList<RepositoryCredentials>();
+        repositories = new ArrayList<>();
+        for (var i = 0; i < repositoryCount; i++) {
+            var url = "https://maven.example.com/repository/" + i;
+            var repository = new ManageableRepositoryImpl("repository " + i);
+            repository.setUrl(url);
+            repositories.add(repository);
+            if (i % 2 == 0) {
+                var credential = new RepositoryCredentials("repository_manager_repo_repository_" + i + "_url");
+                credential.setUrl(url);
+                credential.setTokenName("Private-Token");
+                credential.setTokenValue("secret");
+                credentials.add(credential);
+            }
+        }
+        service = new RepositoryManagerService();
+        service.setRepositoryCredentials(credentials);
+        plan = service.createRepositoryPlan(extension, repositories);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearRepositories() {
+        project.getRepositories().clear();
+    }
+
+    @Benchmark
+    public RepositoryPlan createRepositoryPlan() {
+        return service.createRepositoryPlan(extension, repositories);
+    }
+
+    @Benchmark
+    public Project applyRepositoryPlan() {
+        plan.applyTo(project.getRepositories());
+        return project;
+    }
+
+    @Benchmark
+    public Project addRepositories() {
+        repositories.forEach(repository -> service.addRepository(project.getRepositories(), repository));
+        return project;
+    }
+}
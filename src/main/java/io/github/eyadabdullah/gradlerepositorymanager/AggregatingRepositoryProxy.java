@@ -0,0 +1,329 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * A local HTTP server which Gradle uses as the only repository in place of several managed repositories. A request is
+ * sent to all of them at once, so a module served by the last repository costs a single round trip instead of one per
+ * repository. The response of the first repository in their order which serves the module is streamed back, as soon as
+ * all repositories before it answered with a miss. Hits and misses are kept in a {@link RepositoryProxyCache}.
+ * <p>
+ * Each build {@link #register registers} its repositories and gets a random token, which Gradle sends in the
+ * {@value #TOKEN_HEADER} header. Requests without a registered token are refused, so other processes on the machine
+ * cannot use the credentials of the repositories. The proxy returned by {@link #forDaemon} runs as long as the Gradle
+ * daemon, so the cache is reused by later builds.
+ */
+public class AggregatingRepositoryProxy implements AutoCloseable {
+
+  public static final String REPOSITORY_NAME = "repositoryManagerProxy";
+  public static final String TOKEN_HEADER = "X-Repository-Manager-Token";
+  private static final Logger logger = Logging.getLogger(AggregatingRepositoryProxy.class);
+  private static final Duration UPSTREAM_TIMEOUT = Duration.ofMinutes(2);
+  private static final List<String> FORWARDED_HEADERS = List.of("Content-Type", "Last-Modified", "ETag");
+  // an upstream refusing the credentials does not serve the module to this build, the others may
+  private static final Set<Integer> MISSES = Set.of(RepositoryProxyCache.Response.MISS, 401, 403);
+  private static final int UPSTREAM_FAILED = 502;
+  private static final int TOKEN_REFUSED = 403;
+  private static final SecureRandom TOKENS = new SecureRandom();
+  private static AggregatingRepositoryProxy daemonProxy;
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final HttpClient client;
+  private final RepositoryProxyCache cache;
+  private final Settings settings;
+  private final Map<String, Upstreams> upstreamsByToken = new ConcurrentHashMap<>();
+
+  private AggregatingRepositoryProxy(HttpServer server, ExecutorService executor, RepositoryProxyCache cache, Settings settings) {
+    this.server = server;
+    this.executor = executor;
+    this.cache = cache;
+    this.settings = settings;
+    this.client = HttpClient.newBuilder()
+        .connectTimeout(UPSTREAM_TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .executor(executor)
+        .build();
+  }
+
+  /**
+   * Returns the proxy of this daemon and starts it, if it is not running yet. A running proxy with other settings is
+   * closed and replaced, unless a build still uses it.
+   *
+   * @param port the local port, 0 picks a free one once per daemon
+   */
+  public static synchronized AggregatingRepositoryProxy forDaemon(int port, long cacheBytes, Duration timeToLive) {
+    var settings = new Settings(port, cacheBytes, timeToLive);
+    if (daemonProxy != null && !daemonProxy.settings.equals(settings)) {
+      if (daemonProxy.upstreamsByToken.isEmpty()) {
+        daemonProxy.close();
+        daemonProxy = null;
+      } else {
+        logger.info("- keeping the settings of the aggregating proxy used by another build");
+      }
+    }
+    if (daemonProxy == null) {
+      daemonProxy = start(settings, new RepositoryProxyCache(cacheBytes, timeToLive));
+    }
+    return daemonProxy;
+  }
+
+  /**
+   * Starts a proxy listening on the loopback interface only.
+   */
+  public static AggregatingRepositoryProxy start(int port, RepositoryProxyCache cache) {
+    return start(new Settings(port, 0, Duration.ZERO), cache);
+  }
+
+  private static AggregatingRepositoryProxy start(Settings settings, RepositoryProxyCache cache) {
+    var threadCount = new AtomicInteger();
+    var executor = Executors.newCachedThreadPool(runnable -> {
+      var thread = new Thread(runnable, "repository-manager-proxy-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.port()), 0);
+      var proxy = new AggregatingRepositoryProxy(server, executor, cache, settings);
+      server.createContext("/", proxy::handle);
+      server.setExecutor(executor);
+      server.start();
+      return proxy;
+    } catch (IOException e) {
+      executor.shutdownNow();
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public URI getUrl() {
+    return URI.create("http://%s:%d/".formatted(
+        server.getAddress().getAddress().getHostAddress(), server.getAddress().getPort()));
+  }
+
+  /**
+   * Lets requests carrying the returned token ask the given repositories, in the order their responses are preferred.
+   * The responses are cached per set of repositories and credentials, so builds asking other repositories, e.g. an
+   * included build, get their own entries.
+   */
+  public String register(List<PlannedRepository> repositories) {
+    var fingerprint = repositories.stream()
+        .map(planned -> planned.repository().getUrl() + "|"
+            + (planned.credential() == null ? "" : planned.credential().getIdentifier()))
+        .collect(Collectors.joining("\n"));
+    var tokenBytes = new byte[32];
+    TOKENS.nextBytes(tokenBytes);
+    var token = HexFormat.of().formatHex(tokenBytes);
+    upstreamsByToken.put(token, new Upstreams(List.copyOf(repositories), sha256(fingerprint) + "/"));
+    return token;
+  }
+
+  public void unregister(String token) {
+    upstreamsByToken.remove(token);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      var method = exchange.getRequestMethod();
+      if (!"GET".equals(method) && !"HEAD".equals(method)) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      var token = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+      var upstreams = token == null ? null : upstreamsByToken.get(token);
+      if (upstreams == null) {
+        exchange.sendResponseHeaders(TOKEN_REFUSED, -1);
+        return;
+      }
+      var head = "HEAD".equals(method);
+      var path = exchange.getRequestURI().getRawPath().substring(1);
+      var cacheKey = upstreams.cacheKeyPrefix() + path;
+      var cached = cache.get(cacheKey).orElse(null);
+      if (cached != null) {
+        cached.headers().forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        if (head || cached.body().length == 0) {
+          exchange.sendResponseHeaders(cached.status(), -1);
+        } else {
+          exchange.sendResponseHeaders(cached.status(), cached.body().length);
+          exchange.getResponseBody().write(cached.body());
+        }
+        return;
+      }
+      forward(exchange, upstreams.repositories(), path, cacheKey, head);
+    }
+  }
+
+  /**
+   * Answers with the preferred hit, a miss if all repositories answered with a miss or a bad gateway if a repository
+   * failed before a hit was found, so a temporary failure is neither cached nor reported as missing module.
+   */
+  private void forward(HttpExchange exchange, List<PlannedRepository> upstreams, String path, String cacheKey,
+                       boolean head) throws IOException {
+    var requests = upstreams.stream().map(upstream -> send(upstream, path, head)).toList();
+    var failed = false;
+    for (var position = 0; position < requests.size(); position++) {
+      var response = requests.get(position).join();
+      if (response != null && response.statusCode() == RepositoryProxyCache.Response.HIT) {
+        requests.subList(position + 1, requests.size()).forEach(pending -> pending.thenAccept(AggregatingRepositoryProxy::discard));
+        respond(exchange, response, cacheKey, head);
+        return;
+      }
+      discard(response);
+      if (response != null && response.statusCode() != RepositoryProxyCache.Response.MISS && MISSES.contains(response.statusCode())) {
+        logger.info("- '{}' refused '{}' with status {}", upstreams.get(position).repository().getName(), path, response.statusCode());
+      }
+      failed |= response == null || !MISSES.contains(response.statusCode());
+    }
+    if (failed) {
+      exchange.sendResponseHeaders(UPSTREAM_FAILED, -1);
+      return;
+    }
+    cache.put(cacheKey, RepositoryProxyCache.Response.miss());
+    exchange.sendResponseHeaders(RepositoryProxyCache.Response.MISS, -1);
+  }
+
+  /**
+   * Streams the hit to Gradle and caches it, unless it is larger than a cache entry may be. A hit of a HEAD request
+   * has no body, so it is not cached.
+   */
+  private void respond(HttpExchange exchange, HttpResponse<InputStream> response, String cacheKey, boolean head) throws IOException {
+    var headers = new LinkedHashMap<String, String>();
+    FORWARDED_HEADERS.forEach(name -> response.headers().firstValue(name).ifPresent(value -> headers.put(name, value)));
+    headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+    var contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    try (var body = response.body()) {
+      if (head) {
+        if (contentLength >= 0) {
+          exchange.getResponseHeaders().set("Content-Length", Long.toString(contentLength));
+        }
+        exchange.sendResponseHeaders(RepositoryProxyCache.Response.HIT, -1);
+        return;
+      }
+      // 0 lets the server send the body in chunks, -1 tells it there is none
+      exchange.sendResponseHeaders(RepositoryProxyCache.Response.HIT, contentLength < 0 ? 0 : contentLength == 0 ? -1 : contentLength);
+      var cached = contentLength <= cache.getMaxEntryBytes() ? new ByteArrayOutputStream() : null;
+      var buffer = new byte[8192];
+      int read;
+      while ((read = body.read(buffer)) >= 0) {
+        exchange.getResponseBody().write(buffer, 0, read);
+        if (cached != null) {
+          cached.write(buffer, 0, read);
+          if (cached.size() > cache.getMaxEntryBytes()) {
+            cached = null;
+          }
+        }
+      }
+      if (cached != null) {
+        cache.put(cacheKey, new RepositoryProxyCache.Response(RepositoryProxyCache.Response.HIT, cached.toByteArray(), headers));
+      }
+    }
+  }
+
+  private CompletableFuture<HttpResponse<InputStream>> send(PlannedRepository upstream, String path, boolean head) {
+    var baseUrl = upstream.repository().getUrl();
+    var url = baseUrl.endsWith("/") ? baseUrl + path : baseUrl + "/" + path;
+    try {
+      var requestBuilder = HttpRequest.newBuilder(URI.create(url)).timeout(UPSTREAM_TIMEOUT);
+      if (head) {
+        requestBuilder.method("HEAD", HttpRequest.BodyPublishers.noBody());
+      } else {
+        requestBuilder.GET();
+      }
+      upstream.authenticate(requestBuilder);
+      return client.sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream())
+          .exceptionally(failure -> {
+            logger.info("- could not request '{}': {}", url, failure.getMessage());
+            return null;
+          });
+    } catch (IllegalArgumentException e) {
+      logger.info("- could not request '{}': {}", url, e.getMessage());
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  /**
+   * Closes the body of a response which is not forwarded, so its connection is released.
+   */
+  private static void discard(HttpResponse<InputStream> response) {
+    if (response == null) {
+      return;
+    }
+    try {
+      response.body().close();
+    } catch (IOException e) {
+      logger.debug("- could not discard a response: {}", e.getMessage());
+    }
+  }
+
+  private static String sha256(String value) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record Settings(int port, long cacheBytes, Duration timeToLive) {
+  }
+
+  private record Upstreams(List<PlannedRepository> repositories, String cacheKeyPrefix) {
+  }
+
+  /**
+   * Unregisters the token of a build from the proxy of the daemon when the build finishes.
+   */
+  public abstract static class Registration implements BuildService<Registration.Params>, AutoCloseable {
+
+    public interface Params extends BuildServiceParameters {
+
+      Property<String> getToken();
+    }
+
+    @Override
+    public void close() {
+      synchronized (AggregatingRepositoryProxy.class) {
+        if (daemonProxy != null) {
+          daemonProxy.unregister(getParameters().getToken().get());
+        }
+      }
+    }
+  }
+}
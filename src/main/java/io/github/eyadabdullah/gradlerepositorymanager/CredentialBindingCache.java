@@ -0,0 +1,108 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which credential a repository url is bound to. Bindings only depend on the identifiers and urls of the
+ * collected credentials, so they are kept by a hash of these and reused as long as no credential url or identifier
+ * changes. Secret values are not part of the hash and not cached.
+ * <p>
+ * {@link #DAEMON} lives as long as the plugin's class loader, which Gradle reuses between the builds of a daemon, so
+ * repeated builds and IDE syncs neither build a {@link CredentialMatcher} nor match any url again.
+ */
+public class CredentialBindingCache {
+
+  public static final CredentialBindingCache DAEMON = new CredentialBindingCache(16);
+  private static final String NO_CREDENTIAL = "";
+
+  private final Map<String, Map<String, String>> bindingsByCredentials;
+
+  public CredentialBindingCache(int maxEntries) {
+    this.bindingsByCredentials = new LinkedHashMap<>(maxEntries, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the bindings of the given credentials, which reuse the url bindings of equal credentials seen before.
+   */
+  public Bindings bind(Collection<RepositoryCredentials> credentials) {
+    Map<String, String> urlBindings;
+    synchronized (bindingsByCredentials) {
+      urlBindings = bindingsByCredentials.computeIfAbsent(fingerprint(credentials), key -> new ConcurrentHashMap<>());
+    }
+    return new Bindings(credentials, urlBindings);
+  }
+
+  private static String fingerprint(Collection<RepositoryCredentials> credentials) {
+    var fingerprint = new StringBuilder();
+    credentials.stream()
+        .sorted(Comparator.comparing(RepositoryCredentials::getIdentifier)
+            .thenComparing(RepositoryCredentials::getUrl, Comparator.nullsFirst(Comparator.naturalOrder())))
+        .forEach(credential -> fingerprint.append(credential.getIdentifier()).append('|').append(credential.getUrl()).append('\n'));
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The credentials of one build. Urls which were not bound before are matched by a {@link CredentialMatcher}, which
+   * is only built when needed.
+   */
+  public static class Bindings {
+
+    private final Collection<RepositoryCredentials> credentials;
+    private final Map<String, RepositoryCredentials> credentialsByIdentifier = new HashMap<>();
+    private final Map<String, String> urlBindings;
+    private final boolean uniqueIdentifiers;
+    private CredentialMatcher credentialMatcher;
+
+    private Bindings(Collection<RepositoryCredentials> credentials, Map<String, String> urlBindings) {
+      this.credentials = credentials;
+      this.urlBindings = urlBindings;
+      credentials.forEach(credential -> credentialsByIdentifier.put(credential.getIdentifier(), credential));
+      // bindings are stored by identifier, which is ambiguous otherwise
+      this.uniqueIdentifiers = credentialsByIdentifier.size() == credentials.size();
+    }
+
+    public Optional<RepositoryCredentials> findCredential(String url) {
+      if (url == null) {
+        return Optional.empty();
+      }
+      if (!uniqueIdentifiers) {
+        return getCredentialMatcher().findCredential(url);
+      }
+      var identifier = urlBindings.computeIfAbsent(url, key -> getCredentialMatcher().findCredential(key)
+          .map(RepositoryCredentials::getIdentifier)
+          .orElse(NO_CREDENTIAL));
+      return Optional.ofNullable(credentialsByIdentifier.get(identifier));
+    }
+
+    boolean isCredentialMatcherBuilt() {
+      return credentialMatcher != null;
+    }
+
+    private synchronized CredentialMatcher getCredentialMatcher() {
+      if (credentialMatcher == null) {
+        credentialMatcher = new CredentialMatcher(credentials);
+      }
+      return credentialMatcher;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Resolves the credential of a repository url. The matcher is built once from all collected credentials and answers
+ * lookups without compiling any regex:
+ * <ul>
+ *   <li>literal urls (no regex operators besides '.') are matched by a hash lookup</li>
+ *   <li>literal prefixes ('https://host/path/.*') are matched by a hash lookup per known prefix length</li>
+ *   <li>every other url is treated as a regex which is compiled once</li>
+ * </ul>
+ * If several credentials match, the most specific one wins: literal urls before literal prefixes (longest first)
+ * before regex urls (longest literal prefix first), ties are broken by the credential identifier.
+ */
+public class CredentialMatcher {
+
+  private static final Logger logger = Logging.getLogger(CredentialMatcher.class);
+  private static final String WILDCARD_SUFFIX = ".*";
+  private static final Pattern REGEX_OPERATORS = Pattern.compile("[\\\\\\[\\](){}*+?^$|]");
+
+  private final Map<String, List<RepositoryCredentials>> literalCredentials = new HashMap<>();
+  private final Map<String, List<RepositoryCredentials>> prefixCredentials = new HashMap<>();
+  private final int[] prefixLengths;
+  private final List<RegexCredential> regexCredentials = new ArrayList<>();
+  private final Map<String, Optional<RepositoryCredentials>> matches = new ConcurrentHashMap<>();
+
+  public CredentialMatcher(Collection<RepositoryCredentials> credentials) {
+    var sortedCredentials = credentials.stream()
+        .filter(credential -> credential.getUrl() != null)
+        .sorted(Comparator.comparing(RepositoryCredentials::getIdentifier))
+        .toList();
+    for (var credential : sortedCredentials) {
+      var url = credential.getUrl();
+      if (isLiteral(url)) {
+        literalCredentials.computeIfAbsent(url, key -> new ArrayList<>()).add(credential);
+      } else if (url.endsWith(WILDCARD_SUFFIX) && isLiteral(url.substring(0, url.length() - WILDCARD_SUFFIX.length()))) {
+        var prefix = url.substring(0, url.length() - WILDCARD_SUFFIX.length());
+        prefixCredentials.computeIfAbsent(prefix, key -> new ArrayList<>()).add(credential);
+      } else {
+        regexCredentials.add(new RegexCredential(credential, Pattern.compile(url), literalPrefixLength(url)));
+      }
+    }
+    this.prefixLengths = prefixCredentials.keySet().stream()
+        .mapToInt(String::length)
+        .distinct()
+        .map(length -> -length)
+        .sorted()
+        .map(length -> -length)
+        .toArray();
+    // the list is already ordered by identifier, a stable sort keeps that order for equally specific patterns
+    regexCredentials.sort(Comparator.comparingInt(RegexCredential::literalPrefixLength).reversed());
+  }
+
+  /**
+   * Returns the most specific credential configured for the given repository url.
+   */
+  public Optional<RepositoryCredentials> findCredential(String url) {
+    if (url == null) {
+      return Optional.empty();
+    }
+    return matches.computeIfAbsent(url, this::resolveCredential);
+  }
+
+  private Optional<RepositoryCredentials> resolveCredential(String url) {
+    var candidates = findAllCredentials(url);
+    if (candidates.isEmpty()) {
+      return Optional.empty();
+    }
+    var credential = candidates.get(0);
+    if (candidates.size() > 1) {
+      var identicalUrls = candidates.stream().filter(it -> it.getUrl().equals(credential.getUrl())).count();
+      if (identicalUrls > 1) {
+        logger.warn("> [Warning] You have more than one credential configured with the url '{}', using '{}'.",
+            credential.getUrl(), credential.getIdentifier());
+      } else {
+        logger.info("- {} credentials match '{}', using the most specific one: '{}'",
+            candidates.size(), url, credential.getIdentifier());
+      }
+    }
+    return Optional.of(credential);
+  }
+
+  /**
+   * Returns all credentials matching the given repository url, ordered from the most to the least specific one.
+   */
+  public List<RepositoryCredentials> findAllCredentials(String url) {
+    var candidates = new ArrayList<RepositoryCredentials>(literalCredentials.getOrDefault(url, List.of()));
+    for (var prefixLength : prefixLengths) {
+      if (prefixLength <= url.length()) {
+        candidates.addAll(prefixCredentials.getOrDefault(url.substring(0, prefixLength), List.of()));
+      }
+    }
+    for (var regexCredential : regexCredentials) {
+      if (regexCredential.pattern().matcher(url).matches()) {
+        candidates.add(regexCredential.credential());
+      }
+    }
+    return candidates;
+  }
+
+  private static boolean isLiteral(String url) {
+    return !REGEX_OPERATORS.matcher(url).find();
+  }
+
+  private static int literalPrefixLength(String url) {
+    var matcher = REGEX_OPERATORS.matcher(url);
+    if (!matcher.find()) {
+      return url.length();
+    }
+    var prefixLength = matcher.start();
+    // the character in front of a quantifier is not matched literally ('https://host/.*', 'https?://')
+    if (prefixLength > 0 && "*+?{".indexOf(url.charAt(prefixLength)) >= 0) {
+      prefixLength--;
+    }
+    return prefixLength;
+  }
+
+  private record RegexCredential(RepositoryCredentials credential, Pattern pattern, int literalPrefixLength) {
+  }
+}
@@ -0,0 +1,60 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.exceptions.UnresolvableDependencies;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
+
+/**
+ * Collects the dependencies which could not be resolved, so that a failing validation reports all of them at once
+ * instead of stopping at the first one.
+ */
+public class DependencyValidationReport {
+
+  private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+  public void addFailure(String projectPath, String configurationName, String dependency, Throwable failure) {
+    failures.add("%s (%s): %s - %s".formatted(projectPath, configurationName, dependency, failure.getMessage()));
+  }
+
+  /**
+   * Adds every dependency of the resolved graph that could not be resolved, including transitive ones.
+   */
+  public void addUnresolvedDependencies(String projectPath, String configurationName, ResolvedComponentResult root) {
+    var visitedComponents = new HashSet<ResolvedComponentResult>();
+    var componentsToVisit = new ArrayDeque<ResolvedComponentResult>();
+    componentsToVisit.add(root);
+    while (!componentsToVisit.isEmpty()) {
+      var component = componentsToVisit.poll();
+      if (!visitedComponents.add(component)) {
+        continue;
+      }
+      for (var dependency : component.getDependencies()) {
+        if (dependency instanceof UnresolvedDependencyResult unresolvedDependency) {
+          addFailure(projectPath, configurationName,
+              unresolvedDependency.getAttempted().getDisplayName(), unresolvedDependency.getFailure());
+        } else if (dependency instanceof ResolvedDependencyResult resolvedDependency) {
+          componentsToVisit.add(resolvedDependency.getSelected());
+        }
+      }
+    }
+  }
+
+  public List<String> getFailures() {
+    return List.copyOf(failures);
+  }
+
+  public void failIfDependenciesAreUnresolvable() {
+    if (failures.isEmpty()) {
+      return;
+    }
+    var report = new StringBuilder("Could not resolve %d dependencies from the configured repositories:".formatted(failures.size()));
+    failures.forEach(failure -> report.append("\n\t- ").append(failure));
+    throw new UnresolvableDependencies(report.toString());
+  }
+}
@@ -0,0 +1,33 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.Serial;
+
+import org.gradle.api.IsolatedAction;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Applies the {@link RepositoryPlan} to each project before it is evaluated. The action only captures an immutable
+ * {@link RepositoryPlanSnapshot} and Gradle isolates it when it is registered, so every project creates its own plan
+ * and never works on state of the settings or of other projects, which lets Gradle configure the projects in parallel
+ * with isolated projects.
+ */
+public class IsolatedProjectRepositories implements IsolatedAction<Project> {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+  private static final Logger logger = Logging.getLogger(IsolatedProjectRepositories.class);
+
+  private final RepositoryPlanSnapshot repositoryPlan;
+
+  public IsolatedProjectRepositories(RepositoryPlan repositoryPlan) {
+    this.repositoryPlan = RepositoryPlanSnapshot.of(repositoryPlan);
+  }
+
+  @Override
+  public void execute(Project project) {
+    logger.debug("- configure project: {}", project.getPath());
+    repositoryPlan.toPlan().applyTo(project.getRepositories(), project.getPath());
+  }
+}
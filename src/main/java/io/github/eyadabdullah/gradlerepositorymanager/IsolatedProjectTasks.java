@@ -0,0 +1,48 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.Serial;
+import java.util.List;
+
+import org.gradle.api.IsolatedAction;
+import org.gradle.api.Project;
+import org.gradle.api.initialization.dsl.ScriptHandler;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Registers the tasks of the plugin in each project once it is evaluated, like the plugin does without isolated
+ * projects. Other projects are only known by their paths taken from the settings, so the root project neither reads
+ * their tasks nor their dependencies. The action only captures immutable strings.
+ */
+public class IsolatedProjectTasks implements IsolatedAction<Project> {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+  private static final Logger logger = Logging.getLogger(IsolatedProjectTasks.class);
+
+  private final boolean validateDependencies;
+  private final String repositoryPlanFingerprint;
+  private final List<String> subprojectPaths;
+
+  /**
+   * @param subprojectPaths the paths of all projects but the root project
+   */
+  public IsolatedProjectTasks(boolean validateDependencies, String repositoryPlanFingerprint, List<String> subprojectPaths) {
+    this.validateDependencies = validateDependencies;
+    this.repositoryPlanFingerprint = repositoryPlanFingerprint;
+    this.subprojectPaths = List.copyOf(subprojectPaths);
+  }
+
+  @Override
+  public void execute(Project project) {
+    var classpath = project.getBuildscript().getConfigurations().getByName(ScriptHandler.CLASSPATH_CONFIGURATION);
+    classpath.getAllDependencies().forEach(dep ->
+        logger.debug("- found classpath: {}:{}:{}:{}", dep.getGroup(), dep.getName(), dep.getVersion(), dep.getReason()));
+    var rootProject = project.getPath().equals(Project.PATH_SEPARATOR);
+    if (validateDependencies) {
+      RepositoryManagerService.registerValidationTasks(project, repositoryPlanFingerprint,
+          rootProject ? subprojectPaths : List.of());
+    }
+    RepositoryCacheWarmup.registerWarmupTask(project);
+  }
+}
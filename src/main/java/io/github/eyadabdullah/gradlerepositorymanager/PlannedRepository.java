@@ -0,0 +1,151 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import org.gradle.api.artifacts.dsl.RepositoryHandler;
+import org.gradle.api.artifacts.repositories.MavenRepositoryContentDescriptor;
+import org.gradle.api.artifacts.repositories.PasswordCredentials;
+import org.gradle.api.credentials.HttpHeaderCredentials;
+import org.gradle.authentication.http.HttpHeaderAuthentication;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+
+/**
+ * A managed repository together with everything that was decided for it while creating the {@link RepositoryPlan}:
+ * the bound credential, the authentication type and the content it serves.
+ */
+public record PlannedRepository(ManageableRepository repository,
+                                RepositoryCredentials credential,
+                                Authentication authentication,
+                                Content content,
+                                RepositoryContentFilter contentFilter) {
+
+  private static final Logger logger = Logging.getLogger(PlannedRepository.class);
+
+  public enum Authentication {
+    NONE,
+    PASSWORD,
+    HTTP_HEADER;
+
+    static Authentication of(RepositoryCredentials credential) {
+      if (credential == null) {
+        return NONE;
+      }
+      if (isDefined(credential.getUsername()) && isDefined(credential.getPassword())) {
+        return PASSWORD;
+      }
+      if (isDefined(credential.getTokenName()) && isDefined(credential.getTokenValue())) {
+        return HTTP_HEADER;
+      }
+      return NONE;
+    }
+
+    private static boolean isDefined(String value) {
+      return value != null && !value.isBlank();
+    }
+  }
+
+  public enum Content {
+    ALL,
+    SNAPSHOTS_ONLY,
+    RELEASES_ONLY;
+
+    static Content of(ManageableRepository repository) {
+      if (repository.isSnapshotsOnly()) {
+        return SNAPSHOTS_ONLY;
+      }
+      if (repository.isReleasesOnly()) {
+        return RELEASES_ONLY;
+      }
+      return ALL;
+    }
+  }
+
+  public PlannedRepository withContentFilter(RepositoryContentFilter contentFilter) {
+    return new PlannedRepository(repository, credential, authentication, content, contentFilter);
+  }
+
+  /**
+   * Adds the bound credential to a request which is sent to the repository outside of Gradle.
+   */
+  public void authenticate(HttpRequest.Builder requestBuilder) {
+    var header = authenticationHeader();
+    if (header != null) {
+      requestBuilder.header(header.getKey(), header.getValue());
+    }
+  }
+
+  /**
+   * The header carrying the bound credential, or {@code null} for a public repository.
+   */
+  public Map.Entry<String, String> authenticationHeader() {
+    return switch (authentication) {
+      case PASSWORD -> {
+        var password = secret(credential.getPasswordProvider(), credential.getPassword());
+        yield Map.entry("Authorization", "Basic " + Base64.getEncoder().encodeToString(
+            (credential.getUsername() + ":" + password).getBytes(StandardCharsets.UTF_8)));
+      }
+      case HTTP_HEADER -> Map.entry(credential.getTokenName(),
+          secret(credential.getTokenValueProvider(), credential.getTokenValue()));
+      case NONE -> null;
+    };
+  }
+
+  static String secret(Provider<String> provider, String value) {
+    return provider == null ? value : provider.getOrElse(value);
+  }
+
+  public void applyTo(RepositoryHandler repoHandler) {
+    var mavenRepository = repoHandler.maven(mavenArtifactRepository -> {
+      // set repo information
+      mavenArtifactRepository.setName(repository.getName());
+      mavenArtifactRepository.setUrl(repository.getUrl());
+      mavenArtifactRepository.setAllowInsecureProtocol(!repository.isSecureProtocol());
+
+      switch (content) {
+        case SNAPSHOTS_ONLY -> mavenArtifactRepository.mavenContent(MavenRepositoryContentDescriptor::snapshotsOnly);
+        case RELEASES_ONLY -> mavenArtifactRepository.mavenContent(MavenRepositoryContentDescriptor::releasesOnly);
+        case ALL -> {
+          // no content restrictions
+        }
+      }
+      if (repository.isExclusive()) {
+        // the includes are defined by the exclusive content below
+        mavenArtifactRepository.content(contentFilter::applyExcludesTo);
+      } else if (!contentFilter.isEmpty()) {
+        mavenArtifactRepository.content(contentFilter::applyTo);
+      }
+
+      // bound secrets are read now, Gradle only accepts the values of credentials
+      switch (authentication) {
+        case PASSWORD -> mavenArtifactRepository.credentials(PasswordCredentials.class, action -> {
+          action.setUsername(credential.getUsername());
+          action.setPassword(secret(credential.getPasswordProvider(), credential.getPassword()));
+        });
+        case HTTP_HEADER -> {
+          mavenArtifactRepository.credentials(HttpHeaderCredentials.class, action -> {
+            action.setName(credential.getTokenName());
+            action.setValue(secret(credential.getTokenValueProvider(), credential.getTokenValue()));
+          });
+          // set an authentication type
+          mavenArtifactRepository.authentication(authentications ->
+              authentications.create("header", HttpHeaderAuthentication.class));
+        }
+        case NONE -> {
+          // public repository
+        }
+      }
+    });
+    if (repository.isExclusive()) {
+      repoHandler.exclusiveContent(exclusiveContent -> exclusiveContent
+          .forRepositories(mavenRepository)
+          .filter(contentFilter::applyIncludesTo));
+    }
+    logger.debug("- configured repository: {}", repository.getName());
+  }
+}
@@ -0,0 +1,152 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.PluginModuleRule;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Finds the {@link PluginModuleRule} of a requested plugin with hash lookups: by the plugin id first, then by its
+ * namespace and then by the wildcard namespaces above it, so a requested plugin costs a lookup per namespace segment
+ * regardless of the number of rules. A later rule replaces an earlier one for the same plugin id or namespace.
+ */
+public class PluginModuleIndex {
+
+  private static final Logger logger = Logging.getLogger(PluginModuleIndex.class);
+  private static final char NAMESPACE_SEPARATOR = '.';
+
+  private final Map<String, PluginModuleRule> pluginRules = new LinkedHashMap<>();
+  private final Map<String, PluginModuleRule> namespaceRules = new LinkedHashMap<>();
+  private final Map<String, PluginModuleRule> wildcardNamespaceRules = new LinkedHashMap<>();
+
+  public static PluginModuleIndex of(List<PluginModuleRule> rules) {
+    var index = new PluginModuleIndex();
+    rules.forEach(rule -> {
+      if (rule.pluginId() != null) {
+        index.pluginRules.put(rule.pluginId(), rule);
+      } else if (rule.isWildcard()) {
+        index.wildcardNamespaceRules.put(wildcardPrefix(rule), rule);
+      } else {
+        index.namespaceRules.put(rule.namespace(), rule);
+      }
+    });
+    return index;
+  }
+
+  public boolean isEmpty() {
+    return pluginRules.isEmpty() && namespaceRules.isEmpty() && wildcardNamespaceRules.isEmpty();
+  }
+
+  /**
+   * @param namespace the namespace of the plugin id, null if it has none
+   * @return the rule of the plugin, null if no rule covers it
+   */
+  public PluginModuleRule find(String pluginId, String namespace) {
+    var rule = pluginRules.get(pluginId);
+    if (rule != null || namespace == null) {
+      return rule;
+    }
+    rule = namespaceRules.get(namespace);
+    if (rule != null || wildcardNamespaceRules.isEmpty()) {
+      return rule;
+    }
+    var candidate = namespace;
+    while (true) {
+      rule = wildcardNamespaceRules.get(candidate);
+      var separator = candidate.lastIndexOf(NAMESPACE_SEPARATOR);
+      if (rule != null || separator < 0) {
+        return rule;
+      }
+      candidate = candidate.substring(0, separator);
+    }
+  }
+
+  /**
+   * The module the plugin is resolved to, null if its version is unknown: plugins requested without a version are
+   * already on the classpath.
+   */
+  public static String moduleNotation(PluginModuleRule rule, String namespace, String pluginName, String version) {
+    if (rule.module() == null) {
+      return version == null ? null : "%s:%s:%s".formatted(namespace, pluginName, version);
+    }
+    if (rule.module().split(":").length >= 3) {
+      return rule.module();
+    }
+    return version == null ? null : rule.module() + ":" + version;
+  }
+
+  /**
+   * Excludes the modules of the rules which are bound to repositories from all other repositories of the plan, so
+   * they are only looked up where they are hosted. Repositories behind the aggregating proxy keep their
+   * content, as the proxy asks all of them at once anyway.
+   */
+  public RepositoryPlan bindRepositories(RepositoryPlan plan) {
+    var managedNames = plan.getRepositories().stream()
+        .map(planned -> planned.repository().getName())
+        .collect(Collectors.toSet());
+    var excludesByRepository = new HashMap<String, List<RepositoryContentFilter.Rule>>();
+    var defaultRepositoryExcludes = new ArrayList<RepositoryContentFilter.Rule>();
+    allRules().stream().filter(rule -> !rule.repositoryNames().isEmpty()).forEach(rule -> {
+      var boundNames = rule.repositoryNames().stream().filter(managedNames::contains).collect(Collectors.toSet());
+      if (boundNames.size() < rule.repositoryNames().size()) {
+        logger.warn("- plugin rule {} is bound to repositories which are not managed: {}", rule,
+            rule.repositoryNames().stream().filter(name -> !managedNames.contains(name)).toList());
+      }
+      if (boundNames.isEmpty()) {
+        return;
+      }
+      var exclude = groupExclude(rule);
+      plan.getRepositories().stream()
+          .filter(planned -> !boundNames.contains(planned.repository().getName()))
+          .filter(planned -> plan.getProxyUrl() == null || !RepositoryPlan.isAggregatable(planned))
+          .forEach(planned -> excludesByRepository
+              .computeIfAbsent(planned.repository().getName(), name -> new ArrayList<>())
+              .add(exclude));
+      defaultRepositoryExcludes.add(exclude);
+    });
+    if (defaultRepositoryExcludes.isEmpty()) {
+      return plan;
+    }
+    return plan.withRepositories(plan.getRepositories().stream()
+            .map(planned -> planned.withContentFilter(planned.contentFilter()
+                .withRules(excludesByRepository.getOrDefault(planned.repository().getName(), List.of()))))
+            .toList())
+        .withDefaultRepositoryRules(defaultRepositoryExcludes);
+  }
+
+  private List<PluginModuleRule> allRules() {
+    var rules = new ArrayList<PluginModuleRule>();
+    rules.addAll(pluginRules.values());
+    rules.addAll(namespaceRules.values());
+    rules.addAll(wildcardNamespaceRules.values());
+    return rules;
+  }
+
+  /**
+   * The plugin modules: the module of a plugin id, the group of a namespace or a namespace and all namespaces below it.
+   * Other modules of a plugin module's group are still looked up everywhere.
+   */
+  static RepositoryContentFilter.Rule groupExclude(PluginModuleRule rule) {
+    if (rule.pluginId() != null) {
+      var coordinates = rule.module().split(":");
+      return new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.MODULE, coordinates[0],
+          coordinates[1], null);
+    }
+    if (rule.isWildcard()) {
+      var groupRegex = wildcardPrefix(rule).replace(".", "\\.") + "(\\..*)?";
+      return new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP_REGEX, groupRegex, null, null);
+    }
+    return new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP, rule.namespace(), null, null);
+  }
+
+  private static String wildcardPrefix(PluginModuleRule rule) {
+    return rule.namespace().substring(0, rule.namespace().length() - PluginModuleRule.NAMESPACE_WILDCARD.length());
+  }
+}
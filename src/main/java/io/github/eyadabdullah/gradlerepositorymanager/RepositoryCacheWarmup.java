@@ -0,0 +1,155 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.tasks.WarmRepositoryCacheTask;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+
+/**
+ * Collects the modules of a project which its {@link WarmRepositoryCacheTask} downloads into Gradle's dependency cache.
+ * Dependency lockfiles list the complete dependency graph, so their modules are resolved without their transitive
+ * dependencies. Without lockfiles, the declared dependencies of all configurations are resolved transitively.
+ * Each project resolves its own modules with its own repositories, so project scopes and repositories declared by a
+ * subproject are respected and no project reads the dependencies of another one.
+ */
+public class RepositoryCacheWarmup {
+
+  public static final List<String> LOCKFILE_NAMES = List.of("gradle.lockfile", "buildscript-gradle.lockfile", "settings-gradle.lockfile");
+  private static final String LEGACY_LOCKFILE_DIRECTORY = "gradle/dependency-locks";
+  private static final String WARMUP_TASK_GROUP = "build setup";
+  private static final String WARMUP_REPORT_PATH = "reports/repository-manager/warmup.txt";
+  private static final String CACHED_MODULES_PATH = "caches/modules-2/files-2.1";
+  private static final List<String> METADATA_EXTENSIONS = List.of(".module", ".pom");
+  private static final String POM_PACKAGING = "<packaging>pom</packaging>";
+
+  private RepositoryCacheWarmup() {
+  }
+
+  /**
+   * Registers the {@link WarmRepositoryCacheTask} in the project, the modules are only collected when the task is
+   * configured.
+   */
+  public static void registerWarmupTask(Project project) {
+    project.getTasks().register(WarmRepositoryCacheTask.TASK_NAME, WarmRepositoryCacheTask.class, task -> {
+      task.setGroup(WARMUP_TASK_GROUP);
+      task.setDescription("Downloads the dependencies of the project into the Gradle dependency cache.");
+      var lockedModules = readLockfiles(List.of(project.getProjectDir().toPath()));
+      var modules = lockedModules.isEmpty() ? declaredModules(project) : lockedModules;
+      var cachedModulesDir = project.getGradle().getGradleUserHomeDir().toPath().resolve(CACHED_MODULES_PATH);
+      var uncachedModules = modules.stream().filter(module -> !isCached(cachedModulesDir, module)).toList();
+
+      var dependencies = uncachedModules.stream()
+          .map(module -> project.getDependencies().create(module))
+          .toArray(Dependency[]::new);
+      var configuration = project.getConfigurations().detachedConfiguration(dependencies);
+      configuration.setTransitive(lockedModules.isEmpty());
+      task.getProjectPath().set(project.getPath());
+      task.getModules().set(uncachedModules);
+      task.getCachedModuleCount().set(modules.size() - uncachedModules.size());
+      task.getResolutionResult().set(configuration.getIncoming().getResolutionResult().getRootComponent());
+      task.getArtifactFiles().from(configuration.getIncoming().artifactView(view -> view.setLenient(true)).getFiles());
+      task.getReport().set(project.getLayout().getBuildDirectory().file(WARMUP_REPORT_PATH));
+    });
+  }
+
+  /**
+   * Reads the modules locked by the lockfiles of the given project directories, formatted as 'group:name:version'.
+   */
+  public static Set<String> readLockfiles(Collection<Path> projectDirs) {
+    var modules = new TreeSet<String>();
+    projectDirs.forEach(projectDir -> lockfiles(projectDir).forEach(lockfile -> {
+      try {
+        modules.addAll(parseLockfile(Files.readAllLines(lockfile)));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }));
+    return modules;
+  }
+
+  static Set<String> parseLockfile(List<String> lines) {
+    var modules = new TreeSet<String>();
+    for (var line : lines) {
+      if (line.isBlank() || line.startsWith("#") || line.startsWith("empty=")) {
+        continue;
+      }
+      var separator = line.indexOf('=');
+      var module = separator < 0 ? line.strip() : line.substring(0, separator).strip();
+      if (module.split(":").length == 3) {
+        modules.add(module);
+      }
+    }
+    return modules;
+  }
+
+  /**
+   * Gradle keeps the files of a module in {@code caches/modules-2/files-2.1/<group>/<name>/<version>/<sha1>}. A module
+   * is resolved once its metadata and, unless it is a pom-only module, its jar were downloaded.
+   */
+  static boolean isCached(Path cachedModulesDir, String module) {
+    var coordinates = module.split(":");
+    var versionDir = cachedModulesDir.resolve(coordinates[0]).resolve(coordinates[1]).resolve(coordinates[2]);
+    if (!Files.isDirectory(versionDir)) {
+      return false;
+    }
+    var baseName = coordinates[1] + "-" + coordinates[2];
+    try (var files = Files.find(versionDir, 2, (file, attributes) -> attributes.isRegularFile())) {
+      var fileNames = files.collect(Collectors.toMap(file -> file.getFileName().toString(), file -> file, (first, second) -> first));
+      var metadata = METADATA_EXTENSIONS.stream()
+          .map(extension -> fileNames.get(baseName + extension))
+          .filter(Objects::nonNull)
+          .findFirst();
+      if (metadata.isEmpty()) {
+        return false;
+      }
+      return fileNames.containsKey(baseName + ".jar") || isPomPackaged(metadata.get());
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static boolean isPomPackaged(Path metadata) throws IOException {
+    return metadata.toString().endsWith(".pom") && Files.readString(metadata).replaceAll("\\s", "").contains(POM_PACKAGING);
+  }
+
+  private static List<Path> lockfiles(Path projectDir) {
+    var lockfiles = LOCKFILE_NAMES.stream()
+        .map(projectDir::resolve)
+        .filter(Files::isRegularFile)
+        .toList();
+    var legacyLockfileDir = projectDir.resolve(LEGACY_LOCKFILE_DIRECTORY);
+    if (!Files.isDirectory(legacyLockfileDir)) {
+      return lockfiles;
+    }
+    try (var legacyLockfiles = Files.list(legacyLockfileDir)) {
+      return Stream.concat(lockfiles.stream(), legacyLockfiles.filter(file -> file.toString().endsWith(".lockfile")).sorted())
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Set<String> declaredModules(Project project) {
+    var modules = new TreeSet<String>();
+    project.getConfigurations().forEach(configuration ->
+        configuration.getDependencies().withType(ExternalModuleDependency.class).forEach(dependency -> {
+          // versions managed by platforms are not known before resolving the project's configuration
+          if (dependency.getGroup() != null && dependency.getVersion() != null && !dependency.getVersion().isBlank()) {
+            modules.add("%s:%s:%s".formatted(dependency.getGroup(), dependency.getName(), dependency.getVersion()));
+          }
+        }));
+    return modules;
+  }
+}
@@ -2,6 +2,8 @@ package io.github.eyadabdullah.gradlerepositorymanager;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
 
 import java.util.regex.Pattern;
 
@@ -28,16 +30,36 @@ public class RepositoryCredentials {
   private String tokenValue;
   private String username;
   private String password;
+  private volatile Pattern urlPattern;
+  private String tokenValueProperty;
+  private String passwordProperty;
+  private Provider<String> tokenValueProvider;
+  private Provider<String> passwordProvider;
 
   public static boolean isValidRepository(String property) {
-    return REPOSITORY_PROPERTY_REGEX.matcher(property).matches();
+    return findIdentifier(property) != null;
+  }
+
+  /**
+   * Returns the identifier of a repository property or null, if the property does not define a repository credential.
+   */
+  static String findIdentifier(String property) {
+    var matcher = REPOSITORY_PROPERTY_REGEX.matcher(property);
+    return matcher.matches() ? matcher.group("identifier") : null;
+  }
+
+  /**
+   * Creates an empty credential, e.g. for a {@link io.github.eyadabdullah.gradlerepositorymanager.credentials.CredentialSource}.
+   *
+   * @param identifier lower case letters, digits and underscores
+   */
+  public static RepositoryCredentials forIdentifier(String identifier) {
+    return new RepositoryCredentials(REPOSITORY_DEFINITION_PREFIX + SPLIT_ELEMENT + identifier + PROP_URL);
   }
 
   RepositoryCredentials(String property) {
-      var matcher = REPOSITORY_PROPERTY_REGEX.matcher(property);
-      if (matcher.matches()) {
-        this.identifier = matcher.group("identifier");
-      } else {
+      this.identifier = findIdentifier(property);
+      if (identifier == null) {
         throw new IllegalArgumentException("Invalid repository property: '%s' (Expecting to match: '%s')".formatted(property, REPOSITORY_PROPERTY_REGEX));
       }
   }
@@ -51,18 +73,38 @@ public class RepositoryCredentials {
       if(value.endsWith("*") && !value.endsWith(".*")) {
         logger.warn("! Warning: You specified a '*' in a credential. You likely want to use '.*' instead. This plugin uses regex, not glob-style matching.");
       }
-      this.url = value;
+      setUrl(value);
     } else if (name.endsWith(PROP_KEY_NAME)) {
       this.tokenName = value;
     } else if (name.endsWith(PROP_KEY_VALUE)) {
-      this.tokenValue = value;
+      setTokenValue(value);
+      this.tokenValueProperty = name;
     } else if (name.endsWith(PROP_USERNAME)) {
       this.username = value;
     } else if (name.endsWith(PROP_PASSWORD)) {
-      this.password = value;
+      setPassword(value);
+      this.passwordProperty = name;
+    }
+  }
+
+  /**
+   * Binds the secrets to the system property or environment variable they were read from, they are queried when a
+   * repository is configured or probed. Environment variables take precedence, as they do while collecting the
+   * credentials.
+   */
+  public void bindSecretProviders(ProviderFactory providers) {
+    if (tokenValueProperty != null) {
+      this.tokenValueProvider = secretProvider(providers, tokenValueProperty);
+    }
+    if (passwordProperty != null) {
+      this.passwordProvider = secretProvider(providers, passwordProperty);
     }
   }
 
+  private static Provider<String> secretProvider(ProviderFactory providers, String property) {
+    return providers.environmentVariable(property).orElse(providers.systemProperty(property));
+  }
+
   public String getIdentifier() {
     return identifier;
   }
@@ -72,7 +114,13 @@ public class RepositoryCredentials {
   }
 
   public Boolean doesUrlMatch(String url) {
-    return Pattern.compile(this.url).matcher(url).matches();
+    if (this.url == null) {
+      return false;
+    }
+    if (urlPattern == null) {
+      urlPattern = Pattern.compile(this.url);
+    }
+    return urlPattern.matcher(url).matches();
   }
 
   public String getTokenName() {
@@ -91,8 +139,23 @@ public class RepositoryCredentials {
     return password;
   }
 
+  /**
+   * The provider of the token value or null, if the token value was not bound with {@link #bindSecretProviders}.
+   */
+  public Provider<String> getTokenValueProvider() {
+    return tokenValueProvider;
+  }
+
+  /**
+   * The provider of the password or null, if the password was not bound with {@link #bindSecretProviders}.
+   */
+  public Provider<String> getPasswordProvider() {
+    return passwordProvider;
+  }
+
   public void setUrl(String url) {
     this.url = url;
+    this.urlPattern = null;
   }
 
   public void setTokenName(String tokenName) {
@@ -101,6 +164,8 @@ public class RepositoryCredentials {
 
   public void setTokenValue(String tokenValue) {
     this.tokenValue = tokenValue;
+    this.tokenValueProperty = null;
+    this.tokenValueProvider = null;
   }
 
   public void setUsername(String username) {
@@ -109,6 +174,8 @@ public class RepositoryCredentials {
 
   public void setPassword(String password) {
     this.password = password;
+    this.passwordProperty = null;
+    this.passwordProvider = null;
   }
 
   @Override
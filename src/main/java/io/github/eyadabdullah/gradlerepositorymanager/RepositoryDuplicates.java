@@ -0,0 +1,144 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finds repositories which are declared more than once, with a trailing slash, a different letter case of the host,
+ * a default port or http instead of https. Each duplicate would be asked for every missing module again, so they are
+ * collapsed into the first declaration, which keeps its url and the strictest flags of all of them.
+ */
+public class RepositoryDuplicates {
+
+  private static final String HTTPS = "https";
+
+  private RepositoryDuplicates() {
+  }
+
+  /**
+   * @param repositories        the managed repositories, they are not changed
+   * @param virtualRepositories the member urls of virtual or group repositories by their url
+   */
+  public static Result collapse(List<ManageableRepository> repositories, Map<String, List<String>> virtualRepositories) {
+    var keptRepositories = new ArrayList<ManageableRepositoryImpl>();
+    var collapsed = new ArrayList<String>();
+    for (var repository : repositories) {
+      var duplicate = keptRepositories.stream()
+          .filter(kept -> isDuplicate(kept, repository))
+          .findFirst();
+      if (duplicate.isPresent()) {
+        merge(duplicate.get(), repository);
+        collapsed.add("%s (%s) into %s".formatted(repository.getName(), repository.getUrl(), duplicate.get().getName()));
+      } else {
+        keptRepositories.add(ManageableRepositoryImpl.copyOf(repository));
+      }
+    }
+    var covered = new ArrayList<String>();
+    virtualRepositories.forEach((virtualUrl, memberUrls) -> {
+      var memberKeys = memberUrls.stream().map(RepositoryDuplicates::duplicateKey).collect(Collectors.toSet());
+      keptRepositories.stream()
+          .filter(kept -> kept.getUrl() != null && duplicateKey(kept.getUrl()).equals(duplicateKey(virtualUrl)))
+          .findFirst()
+          .ifPresent(virtualRepository -> covered.addAll(coveredBy(virtualRepository, memberKeys, keptRepositories)));
+    });
+    return new Result(List.copyOf(keptRepositories), collapsed, covered);
+  }
+
+  /**
+   * Lower cases scheme and host, removes default ports, duplicate and trailing slashes and the fragment. The path is
+   * kept as it is, as repository paths may be case-sensitive.
+   */
+  public static String canonicalUrl(String url) {
+    try {
+      var uri = new URI(url.strip());
+      if (uri.getScheme() == null || uri.getHost() == null) {
+        return url.strip();
+      }
+      var scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+      var port = uri.getPort() == defaultPort(scheme) ? -1 : uri.getPort();
+      var path = uri.getRawPath() == null ? "" : uri.getRawPath().replaceAll("/{2,}", "/").replaceAll("/+$", "");
+      var canonicalUrl = new StringBuilder(scheme).append("://").append(uri.getHost().toLowerCase(Locale.ROOT));
+      if (port >= 0) {
+        canonicalUrl.append(':').append(port);
+      }
+      canonicalUrl.append(path);
+      if (uri.getRawQuery() != null) {
+        canonicalUrl.append('?').append(uri.getRawQuery());
+      }
+      return canonicalUrl.toString();
+    } catch (URISyntaxException e) {
+      return url.strip();
+    }
+  }
+
+  // http and https variants of an url are the same repository
+  private static String duplicateKey(String url) {
+    var canonicalUrl = canonicalUrl(url);
+    var schemeEnd = canonicalUrl.indexOf("://");
+    return schemeEnd < 0 ? canonicalUrl : canonicalUrl.substring(schemeEnd + 3);
+  }
+
+  private static int defaultPort(String scheme) {
+    return HTTPS.equals(scheme) ? 443 : 80;
+  }
+
+  /**
+   * Duplicates are only collapsed if they ask for the same content in the same projects, so no module is looked up in
+   * fewer repositories.
+   */
+  private static boolean isDuplicate(ManageableRepository kept, ManageableRepository repository) {
+    if (kept.getUrl() == null || repository.getUrl() == null
+        || !duplicateKey(kept.getUrl()).equals(duplicateKey(repository.getUrl()))) {
+      return false;
+    }
+    var conflictingVersions = (kept.isSnapshotsOnly() && repository.isReleasesOnly())
+        || (kept.isReleasesOnly() && repository.isSnapshotsOnly());
+    return !conflictingVersions
+        && kept.isExclusive() == repository.isExclusive()
+        && kept.getContentFilter().getRules().equals(repository.getContentFilter().getRules())
+        && kept.getProjectScope().getIncludes().equals(repository.getProjectScope().getIncludes())
+        && kept.getProjectScope().getExcludes().equals(repository.getProjectScope().getExcludes());
+  }
+
+  /**
+   * The kept repository keeps its declared url, so credentials bound to it still match. An http url stays allowed,
+   * even if an https duplicate requires a secure protocol.
+   */
+  private static void merge(ManageableRepositoryImpl kept, ManageableRepository duplicate) {
+    kept.setSecureProtocol(kept.isSecureProtocol() || (isHttps(kept.getUrl()) && duplicate.isSecureProtocol()));
+    kept.setSnapshotsOnly(kept.isSnapshotsOnly() || duplicate.isSnapshotsOnly());
+    kept.setReleasesOnly(kept.isReleasesOnly() || duplicate.isReleasesOnly());
+    kept.setRequireAuthentication(kept.requireAuthentication() || duplicate.requireAuthentication());
+    kept.setRequired(kept.isRequired() || duplicate.isRequired());
+    kept.setPinned(kept.isPinned() || duplicate.isPinned());
+  }
+
+  private static boolean isHttps(String url) {
+    return canonicalUrl(url).startsWith(HTTPS + "://");
+  }
+
+  private static List<String> coveredBy(ManageableRepository virtualRepository, Set<String> memberKeys,
+                                        List<ManageableRepositoryImpl> repositories) {
+    return repositories.stream()
+        .filter(repository -> repository != virtualRepository)
+        .filter(repository -> repository.getUrl() != null && memberKeys.contains(duplicateKey(repository.getUrl())))
+        .map(repository -> "%s is already served by %s".formatted(repository.getName(), virtualRepository.getName()))
+        .toList();
+  }
+
+  /**
+   * @param repositories the repositories without duplicates, in their declared order
+   * @param collapsed    a description of each collapsed duplicate
+   * @param covered      a description of each repository which is a member of a managed virtual repository
+   */
+  public record Result(List<ManageableRepository> repositories, List<String> collapsed, List<String> covered) {
+  }
+}
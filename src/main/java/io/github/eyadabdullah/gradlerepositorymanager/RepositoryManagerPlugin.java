@@ -1,11 +1,26 @@
 package io.github.eyadabdullah.gradlerepositorymanager;
 
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.CredentialSourceCache;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
 import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension;
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.inject.Inject;
 import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.initialization.ProjectDescriptor;
 import org.gradle.api.initialization.Settings;
 import org.gradle.api.initialization.dsl.ScriptHandler;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.configuration.BuildFeatures;
+import org.gradle.api.provider.Provider;
 
 import static io.github.eyadabdullah.gradlerepositorymanager.RepositoryManagerService.BANNER;
 import static io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension.EXTENSION_NAME;
@@ -13,71 +28,343 @@ import static io.github.eyadabdullah.gradlerepositorymanager.extension.Repositor
 public class RepositoryManagerPlugin implements Plugin<Settings> {
 
   private static final Logger logger = Logging.getLogger(RepositoryManagerPlugin.class);
-  private final RepositoryManagerService repositoryManagerService = new RepositoryManagerService();
+  private static final String PROBE_CACHE_FILE = ".gradle/repository-manager/reachability.properties";
+  private static final String ROUTING_INDEX_FILE = ".gradle/repository-manager/routing-index.properties";
+  private static final String STATISTICS_FILE = ".gradle/repository-manager/repository-statistics.properties";
+  private static final String TIMINGS_REPORT_FILE = "build/reports/repository-manager/configuration-timings.json";
+  private static final String CONFIGURATION_REPORT_FILE = "build/reports/repository-manager/configuration.txt";
+  private static final String ISOLATED_PROJECTS_PROPERTY = "org.gradle.unsafe.isolated-projects";
 
+  private final BuildFeatures buildFeatures;
+
+  @Inject
+  public RepositoryManagerPlugin(BuildFeatures buildFeatures) {
+    this.buildFeatures = buildFeatures;
+  }
+
+  /**
+   * The plugin keeps no state between the callbacks: everything the project hooks need is captured in the immutable
+   * {@link RepositoryPlan}. Its only inputs are the extension and the {@code repository_manager_repo_*} system
+   * properties and environment variables, which keeps the configuration cache valid as long as those don't change.
+   * <p>
+   * What was found and configured is collected in a {@link RepositoryManagerReport} and printed once as a summary when
+   * all projects are evaluated, the details are only logged at info level and written to
+   * {@value #CONFIGURATION_REPORT_FILE}.
+   */
   @Override
   public void apply(Settings settings) {
-    logger.quiet(BANNER);
     // apply plugin extension
     settings.getExtensions().create(EXTENSION_NAME, RepositoryManagerExtension.class);
     settings.getGradle().settingsEvaluated(evaluatedSettings -> {
       var repositoryExtension = evaluatedSettings.getExtensions().getByType(RepositoryManagerExtension.class);
-      var repositoriesList = repositoryExtension.getManageableRepositories().stream().toList();
+      var declaredRepositories = repositoryExtension.getManageableRepositories().stream().toList();
       // get configured repos
-      logger.quiet("\n> RepositoryManager - settings.gradle repositories: ");
-      repositoriesList.forEach(repository -> {
-        var repositoryLog = String.format("%s\t- %s", repository.getName(), repository.getUrl());
-        logger.quiet("- found repository: " + repositoryLog);
-      });
+      var report = new RepositoryManagerReport();
+      report.addRepositories(declaredRepositories);
+      declaredRepositories.forEach(repository ->
+          logger.info("- found repository: {}\t- {}", repository.getName(), repository.getUrl()));
+      var repositoriesList = collapseDuplicateRepositories(repositoryExtension, declaredRepositories, report);
 
       var settingsProvider = evaluatedSettings.getProviders();
       var settingsRepoHandler = evaluatedSettings.getPluginManagement().getRepositories();
+      var isolatedProjects = repositoryExtension.isIsolatedProjects() || settingsProvider.gradleProperty(ISOLATED_PROJECTS_PROPERTY)
+          .orElse(settingsProvider.systemProperty(ISOLATED_PROJECTS_PROPERTY))
+          .map(Boolean::parseBoolean)
+          .getOrElse(false);
 
-      logger.quiet("\n> RepositoryManager - collected credentials: ");
+      var timings = repositoryExtension.isRecordTimings()
+          ? registerTimingsReporter(evaluatedSettings).get().getTimings()
+          : RepositoryManagerTimings.DISABLED;
+      var repositoryManagerService = new RepositoryManagerService(timings, CredentialBindingCache.DAEMON);
+      var mirrors = RepositoryMirrors.load(settingsProvider, repositoryExtension.getMirrorRules());
+      // credentials are looked up for the mirror urls as well
+      var repositoryUrls = repositoriesList.stream()
+          .map(ManageableRepository::getUrl)
+          .filter(Objects::nonNull)
+          .flatMap(url -> mirrors.candidates(url).stream())
+          .distinct()
+          .toList();
+      repositoryManagerService.findRepositoryCredentialsFromSources(repositoryExtension, repositoryUrls, CredentialSourceCache.DAEMON);
       repositoryManagerService.findRepositoryCredentialsFromGradleProperties(settingsProvider);
+      report.addCredentials(repositoryManagerService.getRepositoryCredentials());
+      var mirroredRepositories = applyMirrors(evaluatedSettings, repositoryExtension, repositoryManagerService,
+          repositoriesList, mirrors, report, timings);
+      // resolve credentials and authentication once for all projects
+      var repositoryPlan = createRepositoryPlan(evaluatedSettings, repositoryExtension, repositoryManagerService, mirroredRepositories,
+          timings, buildFeatures.getConfigurationCache().getActive().getOrElse(false));
+      if (repositoryExtension.isProbeRepositories() || !mirrors.isEmpty()) {
+        trackReachabilityCache(evaluatedSettings, repositoryExtension);
+      }
+      report.setPlan(repositoryPlan);
       // add plugin specific repositories
       logger.debug("\n> RepositoryManager - PluginManagement repositories: ");
-      repositoryManagerService.addRepositories(settingsRepoHandler, repositoriesList);
-      repositoryManagerService.addMavenLocalRepoIfEnabled(repositoryExtension, settingsRepoHandler);
-      repositoryManagerService.addMavenCentralRepoIfEnabled(repositoryExtension, settingsRepoHandler);
-      repositoryManagerService.addGradlePluginPortalRepoIfEnabled(repositoryExtension, settingsRepoHandler);
+      var pluginModuleIndex = PluginModuleIndex.of(repositoryExtension.getPluginModuleRules());
+      timings.time(RepositoryManagerTimings.APPLY_REPOSITORIES, RepositoryManagerTimings.SETTINGS,
+          () -> pluginModuleIndex.bindRepositories(repositoryPlan).applyTo(settingsRepoHandler));
       // consume all specified Gradle plugins (could be prevented if the plugins published their marker)
-      repositoryExtension.getGradlePluginsToSetupForLoadingInResolutionStrategy().forEach(gradlePlugin -> {
-        setupResolutionStrategyToLoadGradlePlugins(evaluatedSettings, gradlePlugin);
-      });
-      // define project repos to download dependencies for all projects from
-      evaluatedSettings.getGradle().allprojects(project -> {
-        var projectRepoHandler = project.getRepositories();
-        // add dependency specific repos
-        logger.debug(""); // Add empty line so that we get nicer output
-        logger.quiet("> RepositoryManager - configure {}", project.getName());
-        repositoryManagerService.addRepositories(projectRepoHandler, repositoriesList);
-        repositoryManagerService.addMavenLocalRepoIfEnabled(repositoryExtension, projectRepoHandler);
-        repositoryManagerService.addMavenCentralRepoIfEnabled(repositoryExtension, projectRepoHandler);
-        repositoryManagerService.addGradlePluginPortalRepoIfEnabled(repositoryExtension, projectRepoHandler);
-      });
-      // log configured classpath for more details
-      evaluatedSettings.getGradle().afterProject(project -> {
-        var classpath = project.getBuildscript().getConfigurations().getByName(ScriptHandler.CLASSPATH_CONFIGURATION);
-        classpath.getAllDependencies().forEach(dep ->
-            logger.debug("- found classpath: {}:{}:{}:{}",
-                dep.getGroup(), dep.getName(), dep.getVersion(), dep.getReason()));
-        // try to resolve all dependencies to validate configured repositories
-        repositoryManagerService.validateDependenciesIfEnabled(repositoryExtension, project);
+      if (!pluginModuleIndex.isEmpty()) {
+        setupResolutionStrategyToLoadGradlePlugins(evaluatedSettings, pluginModuleIndex, timings);
+      }
+      if (repositoryExtension.isDependencyResolutionManagement()) {
+        // define the repos once for all projects
+        logger.debug("\n> RepositoryManager - DependencyResolutionManagement repositories: ");
+        var dependencyResolutionManagement = evaluatedSettings.getDependencyResolutionManagement();
+        if (repositoryPlan.hasProjectScopes()) {
+          logger.warn("- all projects share the repositories of dependencyResolutionManagement, includeProjects() and excludeProjects() are ignored");
+        }
+        timings.time(RepositoryManagerTimings.APPLY_REPOSITORIES, RepositoryManagerTimings.SETTINGS,
+            () -> repositoryPlan.applyTo(dependencyResolutionManagement.getRepositories()));
+        dependencyResolutionManagement.getRepositoriesMode().set(repositoryExtension.getRepositoriesMode());
+      } else if (isolatedProjects) {
+        // every project applies its own copy of the plan, so they can be configured in parallel
+        evaluatedSettings.getGradle().getLifecycle().beforeProject(new IsolatedProjectRepositories(repositoryPlan));
+      } else {
+        // define project repos to download dependencies for all projects from
+        evaluatedSettings.getGradle().allprojects(project -> {
+          // add dependency specific repos
+          logger.debug("- configure project: {}", project.getPath());
+          timings.time(RepositoryManagerTimings.APPLY_REPOSITORIES, project.getPath(),
+              () -> repositoryPlan.applyTo(project.getRepositories(), project.getPath()));
+          if (repositoryPlan.hasProjectScopes()) {
+            report.addProjectRepositories(project.getPath(), repositoryPlan.getRepositoryNames(project.getPath()));
+          }
+        });
+      }
+      var validateDependencies = repositoryExtension.isValidateDependencies();
+      var repositoryPlanFingerprint = repositoryPlan.getFingerprint();
+      var routingRecorder = !isolatedProjects
+          && (repositoryExtension.isLearnRepositoryRouting() || repositoryExtension.isAdaptiveRepositoryOrder())
+          ? registerRoutingRecorder(evaluatedSettings, repositoryExtension, repositoryPlan, repositoryManagerService)
+          : null;
+      if (isolatedProjects) {
+        registerIsolatedProjectTasks(evaluatedSettings, repositoryExtension, repositoryPlan, report);
+      } else {
+        evaluatedSettings.getGradle().afterProject(project -> {
+          // log configured classpath for more details
+          report.addConfiguredProject(project.getPath());
+          var classpath = project.getBuildscript().getConfigurations().getByName(ScriptHandler.CLASSPATH_CONFIGURATION);
+          classpath.getAllDependencies().forEach(dep ->
+              logger.debug("- found classpath: {}:{}:{}:{}",
+                  dep.getGroup(), dep.getName(), dep.getVersion(), dep.getReason()));
+          // register tasks which resolve all dependencies to validate configured repositories
+          if (validateDependencies) {
+            timings.time(RepositoryManagerTimings.REGISTER_VALIDATION, project.getPath(),
+                () -> RepositoryManagerService.registerValidationTasks(project, repositoryPlanFingerprint,
+                    project.getSubprojects().stream().map(Project::getPath).toList()));
+          }
+          // register the task which downloads the dependencies of the project
+          RepositoryCacheWarmup.registerWarmupTask(project);
+          // remember which repositories served the resolved modules
+          if (routingRecorder != null) {
+            project.getConfigurations().configureEach(configuration -> configuration.getIncoming().afterResolve(
+                resolvableDependencies -> routingRecorder.get().record(resolvableDependencies.getResolutionResult())));
+          }
+        });
+      }
+      var reportFile = settingsFile(evaluatedSettings, CONFIGURATION_REPORT_FILE);
+      evaluatedSettings.getGradle().projectsEvaluated(gradle -> {
+        report.writeDetails(reportFile.toPath());
+        if (logger.isQuietEnabled()) {
+          logger.quiet(BANNER);
+          logger.quiet(report.toSummary());
+          logger.quiet("> RepositoryManager - details written to {}", reportFile);
+        }
       });
     });
   }
 
-  private void setupResolutionStrategyToLoadGradlePlugins(Settings target, String gradlePluginNamespace) {
-    target.getPluginManagement().getResolutionStrategy().eachPlugin(plugin -> {
-      var pluginModule = String.format("%s:%s:%s",
-          plugin.getRequested().getId().getNamespace(),
-          plugin.getRequested().getId().getName(),
-          plugin.getRequested().getVersion());
-      logger.debug("- found gradle plugin: " + pluginModule);
-      if (gradlePluginNamespace.equals(plugin.getRequested().getId().getNamespace())) {
-        plugin.useModule(pluginModule);
+  private static RepositoryPlan createRepositoryPlan(Settings settings, RepositoryManagerExtension extension,
+                                                    RepositoryManagerService service, List<ManageableRepository> repositories,
+                                                    RepositoryManagerTimings timings, boolean configurationCache) {
+    var createdPlan = service.createRepositoryPlan(extension, repositories);
+    var probedPlan = !extension.isProbeRepositories() ? createdPlan
+        : timings.time(RepositoryManagerTimings.PROBE_REPOSITORIES, RepositoryManagerTimings.SETTINGS,
+            () -> service.probeRepositories(extension, createdPlan, settingsFile(settings, PROBE_CACHE_FILE).toPath()));
+    var catalogRoutedPlan = extension.getCatalogGroupRepositories().isEmpty() ? probedPlan
+        : timings.time(RepositoryManagerTimings.ROUTE_CATALOG_GROUPS, RepositoryManagerTimings.SETTINGS,
+            () -> VersionCatalogRouting.of(extension.getCatalogGroupRepositories())
+                .apply(probedPlan, readCatalogGroups(settings, extension)));
+    var orderedPlan = !extension.isAdaptiveRepositoryOrder() ? catalogRoutedPlan
+        : timings.time(RepositoryManagerTimings.ORDER_REPOSITORIES, RepositoryManagerTimings.SETTINGS, () -> {
+          var statistics = RepositoryStatistics.load(settingsFile(settings, STATISTICS_FILE).toPath());
+          service.getProbeLatencyMillis().forEach(statistics::recordLatency);
+          return service.applyRepositoryStatistics(catalogRoutedPlan, statistics);
+        });
+    // the learned routing depends on the order the repositories are asked in
+    var routedPlan = !extension.isLearnRepositoryRouting() ? orderedPlan
+        : timings.time(RepositoryManagerTimings.APPLY_ROUTING_INDEX, RepositoryManagerTimings.SETTINGS,
+            () -> service.applyRoutingIndex(orderedPlan,
+                RepositoryRoutingIndex.load(settingsFile(settings, ROUTING_INDEX_FILE).toPath())));
+    if (extension.isAggregateRepositories() && configurationCache) {
+      // a build reusing the cache entry would ask a proxy which is not running
+      logger.warn("> RepositoryManager - aggregateRepositories() is ignored with the configuration cache");
+    } else if (extension.isAggregateRepositories()) {
+      var proxy = AggregatingRepositoryProxy.forDaemon(extension.getAggregatingProxyPort(),
+          extension.getAggregatingProxyCacheMegabytes() * 1024 * 1024,
+          Duration.ofMinutes(extension.getAggregatingProxyTtlMinutes()));
+      var aggregatedPlan = service.aggregateRepositories(routedPlan, proxy);
+      if (aggregatedPlan.getProxyToken() != null) {
+        registerProxyRegistration(settings, aggregatedPlan.getProxyToken());
+      }
+      return aggregatedPlan;
+    }
+    return routedPlan;
+  }
+
+  /**
+   * Makes the configuration cache entry depend on the probe results it was configured with, see
+   * {@link RepositoryReachabilityCache}.
+   */
+  private static void trackReachabilityCache(Settings settings, RepositoryManagerExtension extension) {
+    settings.getProviders().of(RepositoryReachabilityCache.class, spec -> {
+      spec.getParameters().getCacheFile().set(settingsFile(settings, PROBE_CACHE_FILE));
+      spec.getParameters().getTimeToLiveMinutes().set(extension.getProbeCacheTtlMinutes());
+    }).get();
+  }
+
+  /**
+   * With isolated projects nothing is collected from the projects: they are only known by their descriptors, and the
+   * resolved modules are not recorded for the routing index and the repository statistics.
+   */
+  private static void registerIsolatedProjectTasks(Settings settings, RepositoryManagerExtension extension,
+                                                   RepositoryPlan repositoryPlan, RepositoryManagerReport report) {
+    if (extension.isLearnRepositoryRouting() || extension.isAdaptiveRepositoryOrder()) {
+      logger.warn("- resolved modules are not recorded with isolated projects, the routing index and statistics are not updated");
+    }
+    var projectPaths = new TreeSet<String>();
+    collectProjectPaths(settings.getRootProject(), projectPaths);
+    projectPaths.forEach(projectPath -> {
+      report.addConfiguredProject(projectPath);
+      if (!extension.isDependencyResolutionManagement() && repositoryPlan.hasProjectScopes()) {
+        report.addProjectRepositories(projectPath, repositoryPlan.getRepositoryNames(projectPath));
+      }
+    });
+    settings.getGradle().getLifecycle().afterProject(
+        new IsolatedProjectTasks(extension.isValidateDependencies(), repositoryPlan.getFingerprint(),
+            projectPaths.stream().filter(projectPath -> !projectPath.equals(Project.PATH_SEPARATOR)).toList()));
+  }
+
+  private static void collectProjectPaths(ProjectDescriptor project, Set<String> projectPaths) {
+    projectPaths.add(project.getPath());
+    project.getChildren().forEach(child -> collectProjectPaths(child, projectPaths));
+  }
+
+  private static List<ManageableRepository> applyMirrors(Settings settings, RepositoryManagerExtension extension,
+                                                        RepositoryManagerService service, List<ManageableRepository> repositories,
+                                                        RepositoryMirrors mirrors, RepositoryManagerReport report,
+                                                        RepositoryManagerTimings timings) {
+    if (mirrors.isEmpty()) {
+      return repositories;
+    }
+    var mirroredRepositories = timings.time(RepositoryManagerTimings.MIRROR_REPOSITORIES, RepositoryManagerTimings.SETTINGS,
+        () -> service.applyMirrors(extension, repositories, mirrors, settingsFile(settings, PROBE_CACHE_FILE).toPath()));
+    for (var index = 0; index < repositories.size(); index++) {
+      if (!Objects.equals(repositories.get(index).getUrl(), mirroredRepositories.get(index).getUrl())) {
+        report.addMirroredRepository(mirroredRepositories.get(index));
+      }
+    }
+    return mirroredRepositories;
+  }
+
+  private static List<ManageableRepository> collapseDuplicateRepositories(RepositoryManagerExtension extension,
+                                                                         List<ManageableRepository> repositories,
+                                                                         RepositoryManagerReport report) {
+    if (!extension.isCollapseDuplicateRepositories()) {
+      return repositories;
+    }
+    var duplicates = RepositoryDuplicates.collapse(repositories, extension.getVirtualRepositories());
+    report.addCollapsedRepositories(duplicates.collapsed());
+    duplicates.covered().forEach(covered -> logger.warn("- repository {}", covered));
+    return duplicates.repositories();
+  }
+
+  /**
+   * The catalogs are read as file contents, so changing them invalidates the configuration cache.
+   */
+  private static Set<String> readCatalogGroups(Settings settings, RepositoryManagerExtension extension) {
+    var catalogs = new ArrayList<RegularFile>();
+    catalogs.add(settings.getLayout().getSettingsDirectory().file(VersionCatalogRouting.DEFAULT_VERSION_CATALOG));
+    extension.getVersionCatalogs().forEach(catalog ->
+        catalogs.add(settings.getLayout().getSettingsDirectory().file(catalog.getPath())));
+    var groups = new TreeSet<String>();
+    catalogs.forEach(catalog -> {
+      var contents = settings.getProviders().fileContents(catalog).getAsText().getOrNull();
+      if (contents != null) {
+        try {
+          groups.addAll(VersionCatalogRouting.parseLibraryGroups(contents));
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Invalid version catalog '%s': %s".formatted(catalog.getAsFile(), e.getMessage()), e);
+        }
       }
     });
+    return groups;
+  }
+
+  private static File settingsFile(Settings settings, String path) {
+    return new File(settings.getSettingsDir(), path);
+  }
+
+  private static Provider<RepositoryManagerTimingsReporter> registerTimingsReporter(Settings settings) {
+    return settings.getGradle().getSharedServices().registerIfAbsent(RepositoryManagerTimingsReporter.SERVICE_NAME,
+        RepositoryManagerTimingsReporter.class, spec ->
+            spec.getParameters().getReportFile().set(settingsFile(settings, TIMINGS_REPORT_FILE)));
+  }
+
+  /**
+   * The proxy accepts the token of this build until the build finishes.
+   */
+  private static void registerProxyRegistration(Settings settings, String token) {
+    settings.getGradle().getSharedServices().registerIfAbsent(
+        AggregatingRepositoryProxy.REPOSITORY_NAME + " " + settings.getSettingsDir(),
+        AggregatingRepositoryProxy.Registration.class, spec -> spec.getParameters().getToken().set(token)).get();
+  }
+
+  private static Provider<RepositoryRoutingRecorder> registerRoutingRecorder(Settings settings, RepositoryManagerExtension extension,
+                                                                           RepositoryPlan plan, RepositoryManagerService service) {
+    return settings.getGradle().getSharedServices().registerIfAbsent(RepositoryRoutingRecorder.SERVICE_NAME,
+        RepositoryRoutingRecorder.class, spec -> {
+          // the statistics look up which repository serves a group in the index as well
+          spec.getParameters().getIndexFile().set(settingsFile(settings, ROUTING_INDEX_FILE));
+          if (extension.isAdaptiveRepositoryOrder()) {
+            spec.getParameters().getStatisticsFile().set(settingsFile(settings, STATISTICS_FILE));
+            spec.getParameters().getLatencyMillis().set(service.getProbeLatencyMillis());
+          }
+          spec.getParameters().getOffline().set(settings.getStartParameter().isOffline());
+          plan.getRepositories().forEach(planned -> {
+            var repositoryName = planned.repository().getName();
+            spec.getParameters().getRepositoryNames().add(repositoryName);
+            spec.getParameters().getRepositoryUrls().put(repositoryName, planned.repository().getUrl());
+            var header = planned.authenticationHeader();
+            if (header != null) {
+              spec.getParameters().getAuthenticationHeaderNames().put(repositoryName, header.getKey());
+              spec.getParameters().getAuthenticationHeaderValues().put(repositoryName, header.getValue());
+            }
+            if (planned.repository().isExclusive()) {
+              spec.getParameters().getExclusiveRepositoryNames().add(repositoryName);
+            }
+            if (plan.getProxyUrl() != null && RepositoryPlan.isAggregatable(planned)) {
+              spec.getParameters().getAggregatedRepositoryNames().add(repositoryName);
+            }
+          });
+        });
+  }
+
+  private void setupResolutionStrategyToLoadGradlePlugins(Settings target, PluginModuleIndex pluginModuleIndex,
+                                                          RepositoryManagerTimings timings) {
+    target.getPluginManagement().getResolutionStrategy().eachPlugin(plugin -> {
+      timings.time(RepositoryManagerTimings.RESOLVE_PLUGIN, RepositoryManagerTimings.SETTINGS, () -> {
+        var pluginId = plugin.getRequested().getId();
+        var rule = pluginModuleIndex.find(pluginId.getId(), pluginId.getNamespace());
+        if (rule == null) {
+          return;
+        }
+        var module = PluginModuleIndex.moduleNotation(rule, pluginId.getNamespace(), pluginId.getName(),
+            plugin.getRequested().getVersion());
+        if (module != null) {
+          logger.debug("- resolving gradle plugin {} with module {}", pluginId, module);
+          plugin.useModule(module);
+        }
+      });
+    });
   }
 }
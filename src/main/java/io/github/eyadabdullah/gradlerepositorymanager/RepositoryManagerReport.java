@@ -0,0 +1,143 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Collects what the plugin found and configured during the configuration phase, instead of logging every repository,
+ * credential and project. The console only gets a compact summary table once all projects are evaluated, the full
+ * details are written to a file.
+ */
+public class RepositoryManagerReport {
+
+  private static final String NOT_DEFINED = "-";
+  private static final String[] HEADER = {"repository", "authentication", "credential", "url"};
+
+  private final Queue<String> repositories = new ConcurrentLinkedQueue<>();
+  private final Queue<String> credentials = new ConcurrentLinkedQueue<>();
+  private final Queue<String> projects = new ConcurrentLinkedQueue<>();
+  private final Queue<String> collapsedRepositories = new ConcurrentLinkedQueue<>();
+  private final Queue<String> mirroredRepositories = new ConcurrentLinkedQueue<>();
+  private final Queue<String> projectRepositories = new ConcurrentLinkedQueue<>();
+  private volatile RepositoryPlan plan;
+
+  public void addRepositories(Collection<ManageableRepository> manageableRepositories) {
+    manageableRepositories.forEach(repository -> repositories.add(repository.getName() + "\t- " + repository.getUrl()));
+  }
+
+  public void addCredentials(Collection<RepositoryCredentials> repositoryCredentials) {
+    repositoryCredentials.forEach(credential -> credentials.add(credential.toString()));
+  }
+
+  public void addCollapsedRepositories(Collection<String> collapsed) {
+    collapsedRepositories.addAll(collapsed);
+  }
+
+  public void addMirroredRepository(ManageableRepository mirror) {
+    mirroredRepositories.add(mirror.getName() + "\t- " + mirror.getUrl());
+  }
+
+  public void addConfiguredProject(String projectPath) {
+    projects.add(projectPath);
+  }
+
+  /**
+   * The effective repositories of a project, in the order Gradle asks them.
+   */
+  public void addProjectRepositories(String projectPath, List<String> repositoryNames) {
+    projectRepositories.add(projectPath + "\t- " + String.join(", ", repositoryNames));
+  }
+
+  public void setPlan(RepositoryPlan plan) {
+    this.plan = plan;
+  }
+
+  /**
+   * One line for the counts followed by one row per planned repository.
+   */
+  public String toSummary() {
+    var rows = new ArrayList<String[]>();
+    rows.add(HEADER);
+    if (plan != null) {
+      plan.getRepositories().forEach(planned -> rows.add(new String[]{
+          planned.repository().getName(),
+          planned.authentication().name(),
+          planned.credential() == null ? NOT_DEFINED : planned.credential().getIdentifier(),
+          String.valueOf(planned.repository().getUrl())}));
+      addDefaultRepository(rows, plan.isMavenLocal(), "mavenLocal");
+      addDefaultRepository(rows, plan.isMavenCentral(), "mavenCentral");
+      addDefaultRepository(rows, plan.isGradlePluginPortal(), "gradlePluginPortal");
+    }
+    var summary = new StringBuilder("> RepositoryManager - %d repositories, %d credentials, %d projects configured"
+        .formatted(rows.size() - 1, credentials.size(), projects.size()));
+    if (!collapsedRepositories.isEmpty()) {
+      summary.append("\n> RepositoryManager - collapsed duplicate repositories: ")
+          .append(String.join(", ", collapsedRepositories));
+    }
+    if (plan != null && plan.hasProjectScopes()) {
+      summary.append("\n> RepositoryManager - repositories scoped to projects: ").append(plan.getRepositories().stream()
+          .filter(planned -> !planned.repository().getProjectScope().isAll())
+          .map(planned -> "%s (%s)".formatted(planned.repository().getName(), planned.repository().getProjectScope()))
+          .collect(Collectors.joining(", ")));
+    }
+    appendTable(summary, rows);
+    return summary.toString();
+  }
+
+  /**
+   * Every found repository, collapsed duplicate, mirrored repository, found credential, configured project and the
+   * repositories of each project, one per line.
+   */
+  public List<String> toDetails() {
+    var details = new ArrayList<String>();
+    repositories.forEach(repository -> details.add("- found repository: " + repository));
+    collapsedRepositories.forEach(collapsed -> details.add("- collapsed repository: " + collapsed));
+    mirroredRepositories.forEach(mirrored -> details.add("- mirrored repository: " + mirrored));
+    credentials.forEach(credential -> details.add("- found credential: " + credential));
+    projects.forEach(project -> details.add("- configured project: " + project));
+    projectRepositories.forEach(project -> details.add("- project repositories: " + project));
+    return details;
+  }
+
+  public void writeDetails(Path reportFile) {
+    try {
+      Files.createDirectories(reportFile.getParent());
+      Files.write(reportFile, toDetails());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void addDefaultRepository(List<String[]> rows, boolean enabled, String name) {
+    if (enabled) {
+      rows.add(new String[]{name, PlannedRepository.Authentication.NONE.name(), NOT_DEFINED, NOT_DEFINED});
+    }
+  }
+
+  private static void appendTable(StringBuilder summary, List<String[]> rows) {
+    var widths = new int[HEADER.length];
+    rows.forEach(row -> {
+      for (var column = 0; column < row.length; column++) {
+        widths[column] = Math.max(widths[column], row[column].length());
+      }
+    });
+    rows.forEach(row -> {
+      summary.append("\n ");
+      for (var column = 0; column < row.length; column++) {
+        summary.append(' ').append(row[column]);
+        if (column < row.length - 1) {
+          summary.append(" ".repeat(widths[column] - row[column].length() + 1));
+        }
+      }
+    });
+  }
+}
@@ -1,22 +1,34 @@
 package io.github.eyadabdullah.gradlerepositorymanager;
 
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.CredentialSource;
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.CredentialSourceCache;
 import io.github.eyadabdullah.gradlerepositorymanager.exceptions.MissingRepositoryCredentials;
 import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
 import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension;
-import java.util.ArrayList;
+import io.github.eyadabdullah.gradlerepositorymanager.tasks.AggregateRepositoryValidationTask;
+import io.github.eyadabdullah.gradlerepositorymanager.tasks.ValidateRepositoriesTask;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.NamedDomainObjectProvider;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.attributes.Category;
 import org.gradle.api.artifacts.dsl.RepositoryHandler;
-import org.gradle.api.artifacts.repositories.MavenRepositoryContentDescriptor;
-import org.gradle.api.artifacts.repositories.PasswordCredentials;
-import org.gradle.api.credentials.HttpHeaderCredentials;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.provider.ProviderFactory;
-import org.gradle.internal.authentication.DefaultHttpHeaderAuthentication;
+import org.gradle.api.tasks.TaskProvider;
 
 import static io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension.REPOSITORY_DEFINITION_PREFIX;
 
@@ -24,7 +36,19 @@ public class RepositoryManagerService {
 
   private static final Logger logger = Logging.getLogger(RepositoryManagerService.class);
   private static final String REPOSITORY_CONFIGURATION_DOCUMENTATION_URL = "https://github.com/EyadAbdullah/gradle-repository-manager/#configure-repository-credentials";
-  private List<RepositoryCredentials> repositoryCredentials = new ArrayList<>();
+  private static final String VALIDATION_TASK_GROUP = "verification";
+  private static final String VALIDATION_REPORT_PATH = "reports/repository-manager/validation.txt";
+  private static final String AGGREGATED_VALIDATION_REPORT_PATH = "reports/repository-manager/validation-all-projects.txt";
+  private static final String VALIDATION_REPORT_CATEGORY = "repository-validation-report";
+  private static final String VALIDATION_REPORT_ELEMENTS = "repositoryValidationReportElements";
+  private static final String VALIDATION_REPORT_DEPENDENCIES = "repositoryValidationReportDependencies";
+  private static final String VALIDATION_REPORTS = "repositoryValidationReports";
+  private final RepositoryManagerTimings timings;
+  private final CredentialBindingCache bindingCache;
+  // replaced as a whole, so the credentials and their bindings are never seen out of sync
+  private volatile BoundCredentials boundCredentials;
+  private volatile List<RepositoryCredentials> sourceCredentials = List.of();
+  private volatile Map<String, Long> probeLatencyMillis = Map.of();
 
   // Font Name: ANSI Shadow
   // ref: https://patorjk.com/software/taag/#p=display&v=1&f=ANSI%20Shadow&t=Repository%20Manager
@@ -36,132 +60,331 @@ public class RepositoryManagerService {
       >>==================================================================<<
       """;
 
+  public RepositoryManagerService() {
+    this(RepositoryManagerTimings.DISABLED, new CredentialBindingCache(1));
+  }
+
+  public RepositoryManagerService(RepositoryManagerTimings timings, CredentialBindingCache bindingCache) {
+    this.timings = timings;
+    this.bindingCache = bindingCache;
+    this.boundCredentials = new BoundCredentials(List.of(), bindingCache.bind(List.of()));
+  }
+
   /**
    * We are surpassing UnstableApiUsage as the systemPropertiesPrefixedBy feature is still a work in progress and my change in the future.
+   * <p>
+   * Only properties starting with {@link RepositoryManagerExtension#REPOSITORY_DEFINITION_PREFIX} are read, so these
+   * are the only system properties and environment variables tracked as configuration cache inputs.
    */
   public void findRepositoryCredentialsFromGradleProperties(ProviderFactory provider) {
     var repositoryCredentialsToConfigure = new HashMap<String, RepositoryCredentials>();
-    var repositorySystemProperties = provider.systemPropertiesPrefixedBy(REPOSITORY_DEFINITION_PREFIX).get();
-    collectCredentialsInto(repositoryCredentialsToConfigure, repositorySystemProperties);
+    timings.time(RepositoryManagerTimings.FIND_CREDENTIALS, RepositoryManagerTimings.SETTINGS, () -> {
+      var repositorySystemProperties = provider.systemPropertiesPrefixedBy(REPOSITORY_DEFINITION_PREFIX).get();
+      collectCredentialsInto(repositoryCredentialsToConfigure, repositorySystemProperties);
 
-    var repositoryEnvProperties = provider.environmentVariablesPrefixedBy(REPOSITORY_DEFINITION_PREFIX).get();
-    collectCredentialsInto(repositoryCredentialsToConfigure, repositoryEnvProperties);
+      var repositoryEnvProperties = provider.environmentVariablesPrefixedBy(REPOSITORY_DEFINITION_PREFIX).get();
+      collectCredentialsInto(repositoryCredentialsToConfigure, repositoryEnvProperties);
+    });
 
-    repositoryCredentialsToConfigure.values().forEach(repo ->
-      logger.quiet("- found credential: {}", repo.toString())
-    );
+    repositoryCredentialsToConfigure.values().forEach(repo -> {
+      repo.bindSecretProviders(provider);
+      logger.info("- found credential: {}", repo);
+    });
+    // system properties and environment variables take precedence over credential sources
+    sourceCredentials.forEach(repo -> repositoryCredentialsToConfigure.putIfAbsent(repo.getIdentifier(), repo));
     if(repositoryCredentialsToConfigure.isEmpty()) {
       logger.warn("- no credentials configured! Please visit " + REPOSITORY_CONFIGURATION_DOCUMENTATION_URL + " if you need help configuring them.");
     }
     setRepositoryCredentials(repositoryCredentialsToConfigure.values().stream().toList());
   }
 
+  /**
+   * Loads the credentials of the configured {@link CredentialSource}s, they are added by
+   * {@link #findRepositoryCredentialsFromGradleProperties(ProviderFactory)}.
+   */
+  public void findRepositoryCredentialsFromSources(RepositoryManagerExtension extension, Collection<String> repositoryUrls,
+                                                   CredentialSourceCache cache) {
+    if (extension.getCredentialSources().isEmpty()) {
+      return;
+    }
+    sourceCredentials = timings.time(RepositoryManagerTimings.FIND_CREDENTIALS, RepositoryManagerTimings.SETTINGS,
+        () -> cache.load(extension.getCredentialSources(), repositoryUrls,
+            Duration.ofMinutes(extension.getCredentialSourceCacheTtlMinutes())));
+    sourceCredentials.forEach(repo -> logger.info("- found credential: {}", repo));
+  }
+
   public void setRepositoryCredentials(List<RepositoryCredentials> repositoryCredentials) {
-    this.repositoryCredentials = repositoryCredentials;
+    var credentials = List.copyOf(repositoryCredentials);
+    this.boundCredentials = new BoundCredentials(credentials, bindingCache.bind(credentials));
+  }
+
+  public List<RepositoryCredentials> getRepositoryCredentials() {
+    return boundCredentials.credentials();
+  }
+
+  /**
+   * Creates the credentials defined by {@code repository_manager_repo_*} properties.
+   */
+  public static Collection<RepositoryCredentials> collectCredentials(Map<String, String> repositoryProperties) {
+    var credentials = new HashMap<String, RepositoryCredentials>();
+    collectCredentialsInto(credentials, repositoryProperties);
+    return credentials.values();
   }
 
-  private static void collectCredentialsInto(HashMap<String, RepositoryCredentials> repositoriesToConfigure, Map<String, String> repositoryProperties) {
+  static void collectCredentialsInto(Map<String, RepositoryCredentials> repositoriesToConfigure, Map<String, String> repositoryProperties) {
     repositoryProperties.forEach((propertyName, propertyValue) -> {
-      if (RepositoryCredentials.isValidRepository(propertyName)) {
-        var repository = new RepositoryCredentials(propertyName);
-        repository = repositoriesToConfigure.getOrDefault(repository.getIdentifier(), repository);
-        repository.setProperty(propertyName, propertyValue);
-        repositoriesToConfigure.put(repository.getIdentifier(), repository);
+      // the property is only parsed once, a credential is only created for the first property of an identifier
+      var identifier = RepositoryCredentials.findIdentifier(propertyName);
+      if (identifier != null) {
+        repositoriesToConfigure.computeIfAbsent(identifier, key -> new RepositoryCredentials(propertyName))
+            .setProperty(propertyName, propertyValue);
       }
     });
   }
 
-  public void addRepositories(RepositoryHandler repoHandler, List<ManageableRepository> repositories) {
-    repositories.forEach(repo -> addRepository(repoHandler, repo));
+  /**
+   * Resolves credential, authentication and content of all repositories once, see {@link RepositoryPlan}.
+   */
+  public RepositoryPlan createRepositoryPlan(RepositoryManagerExtension extension, List<ManageableRepository> repositories) {
+    var plannedRepositories = repositories.stream()
+        .map(this::planRepository)
+        .toList();
+    return new RepositoryPlan(plannedRepositories,
+        extension.isMavenLocal(), extension.isMavenCentral(), extension.isGradlePluginPortal());
   }
 
-  public void addRepository(RepositoryHandler repoHandler, ManageableRepository repository) {
-    repoHandler.maven(mavenArtifactRepository -> {
-      // set repo information
-      mavenArtifactRepository.setName(repository.getName());
-      mavenArtifactRepository.setUrl(repository.getUrl());
-      mavenArtifactRepository.setAllowInsecureProtocol(!repository.isSecureProtocol());
-
-      if (repository.isSnapshotsOnly()) {
-        mavenArtifactRepository.mavenContent(MavenRepositoryContentDescriptor::snapshotsOnly);
-      } else if (repository.isReleasesOnly()) {
-        mavenArtifactRepository.mavenContent(MavenRepositoryContentDescriptor::releasesOnly);
+  /**
+   * Moves each repository matching a mirror rule to the first of its mirrors which is reachable, see
+   * {@link RepositoryMirrors#candidates(String)}. Credentials are matched against the mirror urls, a mirror without
+   * credentials for a repository which requires authentication is skipped. If no candidate is reachable, the first
+   * one is kept, so the build fails at the mirror expected on this machine.
+   */
+  public List<ManageableRepository> applyMirrors(RepositoryManagerExtension extension, List<ManageableRepository> repositories,
+                                                 RepositoryMirrors mirrors, Path cacheFile) {
+    var candidatesByRepository = new LinkedHashMap<ManageableRepository, List<PlannedRepository>>();
+    repositories.forEach(repository -> {
+      var candidateUrls = repository.getUrl() == null ? List.<String>of() : mirrors.candidates(repository.getUrl());
+      if (candidateUrls.size() > 1) {
+        candidatesByRepository.put(repository, candidateUrls.stream()
+            .map(url -> planMirror(repository, url))
+            .filter(Objects::nonNull)
+            .toList());
       }
-
-      var repositoryCredentialList = repositoryCredentials.stream()
-          .filter(it -> it.doesUrlMatch(repository.getUrl()))
-          .toList();
-
-      if (repositoryCredentialList.size() > 1) {
-        logger.warn("> [Warning] You have more than one configured credential for '{}', using the first one.", repository.getUrl());
+    });
+    if (candidatesByRepository.isEmpty()) {
+      return repositories;
+    }
+    var probe = new RepositoryReachabilityProbe(cacheFile,
+        Duration.ofMinutes(extension.getProbeCacheTtlMinutes()), Duration.ofSeconds(extension.getProbeTimeoutSeconds()));
+    var reachability = probe.probe(candidatesByRepository.values().stream().flatMap(List::stream).toList());
+    return repositories.stream().map(repository -> {
+      var candidates = candidatesByRepository.get(repository);
+      if (candidates == null || candidates.isEmpty()) {
+        return repository;
       }
-
-      var repositoryCredential = repositoryCredentialList.stream().findFirst();
-      if (repositoryCredential.isPresent()) {
-        var username = repositoryCredential.get().getUsername();
-        var password = repositoryCredential.get().getPassword();
-        var tokenName = repositoryCredential.get().getTokenName();
-        var tokenValue = repositoryCredential.get().getTokenValue();
-        if (username != null && !username.isBlank() && password != null && !password.isBlank()) {
-          mavenArtifactRepository.credentials(PasswordCredentials.class, action -> {
-            action.setUsername(username);
-            action.setPassword(password);
-          });
-        } else if (tokenName != null && !tokenName.isBlank() && tokenValue != null && !tokenValue.isBlank()) {
-          mavenArtifactRepository.credentials(HttpHeaderCredentials.class, action -> {
-            action.setName(tokenName);
-            action.setValue(tokenValue);
+      var mirror = candidates.stream()
+          .filter(candidate -> reachability.getOrDefault(candidate.repository().getUrl(), false))
+          .findFirst()
+          .orElseGet(() -> {
+            logger.warn("- no mirror of repository {} is reachable, using {}", repository.getName(),
+                candidates.get(0).repository().getUrl());
+            return candidates.get(0);
           });
-          // set an authentication type
-          mavenArtifactRepository.authentication(authentications ->
-              authentications.add(new DefaultHttpHeaderAuthentication("header")));
-        } else if (repository.requireAuthentication()) {
-          throw new MissingRepositoryCredentials("Credentials found for '%s' but neither username/password nor tokenName/tokenValue are defined, please visit %s if you need help configuring them.".formatted(repository.getUrl(), REPOSITORY_CONFIGURATION_DOCUMENTATION_URL));
-        }
-      } else if (repository.requireAuthentication()) {
-        throw new MissingRepositoryCredentials("No credentials configured for '%s' but the repository defines that it requires authentication, please visit %s if you need help configuring them.".formatted(repository.getUrl(), REPOSITORY_CONFIGURATION_DOCUMENTATION_URL));
+      if (mirror != candidates.get(0)) {
+        logger.warn("- mirror '{}' of repository {} is unreachable, using {}", candidates.get(0).repository().getUrl(),
+            repository.getName(), mirror.repository().getUrl());
       }
-    });
-    logger.debug("- configured repository: {}", repository.getName());
+      logger.info("- mirroring repository: {}\t- {}", repository.getName(), mirror.repository().getUrl());
+      return mirror.repository();
+    }).toList();
   }
 
-  public void addMavenLocalRepoIfEnabled(RepositoryManagerExtension extension, RepositoryHandler repoHandler) {
-    if (extension.isMavenLocal()) {
-      repoHandler.mavenLocal();
-      logger.debug("- configured repository: mavenLocal");
+  private PlannedRepository planMirror(ManageableRepository repository, String url) {
+    var mirror = ManageableRepositoryImpl.copyOf(repository);
+    mirror.setUrl(url);
+    try {
+      return planRepository(mirror);
+    } catch (MissingRepositoryCredentials e) {
+      logger.info("- skipping mirror '{}' of repository {}: {}", url, repository.getName(), e.getMessage());
+      return null;
     }
   }
 
-  public void addMavenCentralRepoIfEnabled(RepositoryManagerExtension extension, RepositoryHandler repoHandler) {
-    if (extension.isMavenCentral()) {
-      repoHandler.mavenCentral();
-      logger.debug("- configured repository: mavenCentral");
+  /**
+   * Probes all planned repositories concurrently and, if enabled, drops the unreachable ones which are not required.
+   */
+  public RepositoryPlan probeRepositories(RepositoryManagerExtension extension, RepositoryPlan plan, Path cacheFile) {
+    var probe = new RepositoryReachabilityProbe(cacheFile,
+        Duration.ofMinutes(extension.getProbeCacheTtlMinutes()), Duration.ofSeconds(extension.getProbeTimeoutSeconds()));
+    var reachability = probe.probe(plan.getRepositories());
+    var latencyMillis = probe.getLatencyMillis();
+    probeLatencyMillis = plan.getRepositories().stream()
+        .filter(planned -> latencyMillis.containsKey(planned.repository().getUrl()))
+        .collect(Collectors.toMap(planned -> planned.repository().getName(),
+            planned -> latencyMillis.get(planned.repository().getUrl()), (first, second) -> first));
+    var unreachableRepositories = plan.getRepositories().stream()
+        .filter(planned -> !reachability.getOrDefault(planned.repository().getUrl(), true))
+        .toList();
+    if (unreachableRepositories.isEmpty()) {
+      logger.quiet("> RepositoryManager - all {} repositories are reachable", plan.getRepositories().size());
+      return plan;
     }
+    var prunedRepositories = extension.isPruneUnreachableRepositories()
+        ? unreachableRepositories.stream().filter(planned -> !planned.repository().isRequired()).toList()
+        : List.<PlannedRepository>of();
+    logger.warn("> RepositoryManager - {} of {} repositories are unreachable: {}{}",
+        unreachableRepositories.size(), plan.getRepositories().size(),
+        unreachableRepositories.stream().map(planned -> planned.repository().getName()).collect(Collectors.joining(", ")),
+        prunedRepositories.isEmpty() ? "" : " (removed: %d)".formatted(prunedRepositories.size()));
+    if (prunedRepositories.isEmpty()) {
+      return plan;
+    }
+    return plan.withRepositories(plan.getRepositories().stream()
+        .filter(planned -> !prunedRepositories.contains(planned))
+        .toList());
+  }
+
+  /**
+   * Excludes the groups from each repository which is asked before the repositories known to serve them, see
+   * {@link RepositoryRoutingIndex#getExcludes}. Apply it to the final order of the plan.
+   */
+  public RepositoryPlan applyRoutingIndex(RepositoryPlan plan, RepositoryRoutingIndex index) {
+    var orderedRepositoryNames = plan.getRepositories().stream()
+        .map(planned -> planned.repository().getName())
+        .toList();
+    // groups served by a repository which only some projects use are still looked up everywhere else
+    var managedRepositoryNames = plan.getRepositories().stream()
+        .filter(planned -> planned.repository().getProjectScope().isAll())
+        .map(planned -> planned.repository().getName())
+        .toList();
+    var routedRepositories = plan.getRepositories().stream()
+        .map(planned -> planned.withContentFilter(planned.contentFilter().withRules(
+            index.getExcludes(planned.repository().getName(), orderedRepositoryNames, managedRepositoryNames))))
+        .toList();
+    logger.info("- routing {} known groups to their repositories", index.getGroups().size());
+    return plan.withRepositories(routedRepositories);
   }
 
-  public void addGradlePluginPortalRepoIfEnabled(RepositoryManagerExtension extension, RepositoryHandler repoHandler) {
-    if (extension.isGradlePluginPortal()) {
-      repoHandler.gradlePluginPortal();
-      logger.debug("- configured repository: gradlePluginPortal");
+  /**
+   * The latency of each repository measured by the last {@link #probeRepositories}, by repository name.
+   */
+  public Map<String, Long> getProbeLatencyMillis() {
+    return probeLatencyMillis;
+  }
+
+  /**
+   * Asks the repositories with the lowest expected cost first, see {@link RepositoryStatistics#order(List)}.
+   */
+  public RepositoryPlan applyRepositoryStatistics(RepositoryPlan plan, RepositoryStatistics statistics) {
+    var orderedRepositories = statistics.order(plan.getRepositories());
+    if (!orderedRepositories.equals(plan.getRepositories()) && logger.isInfoEnabled()) {
+      logger.info("- ordering repositories by expected cost: {}", orderedRepositories.stream()
+          .map(planned -> planned.repository().getName())
+          .collect(Collectors.joining(", ")));
     }
+    return plan.withRepositories(orderedRepositories);
   }
 
-  public void validateDependenciesIfEnabled(RepositoryManagerExtension extension, Project project) {
-    if (!extension.isValidateDependencies()) {
-      return;
+  /**
+   * Lets Gradle ask the aggregatable repositories through the proxy, see {@link RepositoryPlan#withAggregatingProxy}.
+   */
+  public RepositoryPlan aggregateRepositories(RepositoryPlan plan, AggregatingRepositoryProxy proxy) {
+    var aggregatableRepositories = plan.getAggregatableRepositories();
+    if (aggregatableRepositories.size() < 2) {
+      logger.info("- not aggregating {} repositories", aggregatableRepositories.size());
+      return plan;
     }
-    for (var config : project.getConfigurations()) {
-      if (config.getName().equals("mainSourceElements") ||
-          config.getName().equals("testResultsElementsForTest")) {
-        continue;
+    var token = proxy.register(aggregatableRepositories);
+    logger.info("- aggregating {} repositories behind {}", aggregatableRepositories.size(), proxy.getUrl());
+    return plan.withAggregatingProxy(proxy.getUrl(), token);
+  }
+
+  public PlannedRepository planRepository(ManageableRepository repository) {
+    var repositoryCredential = timings.time(RepositoryManagerTimings.MATCH_CREDENTIALS, RepositoryManagerTimings.SETTINGS,
+        () -> boundCredentials.bindings().findCredential(repository.getUrl()).orElse(null));
+    var authentication = PlannedRepository.Authentication.of(repositoryCredential);
+    if (authentication == PlannedRepository.Authentication.NONE && repository.requireAuthentication()) {
+      if (repositoryCredential != null) {
+        throw new MissingRepositoryCredentials("Credentials found for '%s' but neither username/password nor tokenName/tokenValue are defined, please visit %s if you need help configuring them.".formatted(repository.getUrl(), REPOSITORY_CONFIGURATION_DOCUMENTATION_URL));
       }
-      logger.quiet("- Validating dependencies: {}", config.getName());
-      config.setCanBeResolved(true);
-      config.getDependencies().forEach(dependency -> {
-        logger.quiet("\t* resolve dependency: {}:{}:{}:{}",
-            dependency.getGroup(), dependency.getName(), dependency.getVersion(), dependency.getReason());
-        project.getConfigurations().detachedConfiguration(dependency).resolve();
+      throw new MissingRepositoryCredentials("No credentials configured for '%s' but the repository defines that it requires authentication, please visit %s if you need help configuring them.".formatted(repository.getUrl(), REPOSITORY_CONFIGURATION_DOCUMENTATION_URL));
+    }
+    if (repository.isExclusive() && !repository.getContentFilter().hasIncludes()) {
+      throw new InvalidUserDataException("The repository '%s' is exclusive but does not include any content.".formatted(repository.getName()));
+    }
+    return new PlannedRepository(repository, repositoryCredential, authentication,
+        PlannedRepository.Content.of(repository), repository.getContentFilter());
+  }
+
+  public void addRepository(RepositoryHandler repoHandler, ManageableRepository repository) {
+    planRepository(repository).applyTo(repoHandler);
+  }
+
+  /**
+   * Registers a {@link ValidateRepositoriesTask} for the project and, for the root project, the aggregating
+   * {@link AggregateRepositoryValidationTask}. Each configuration is resolved at once in a detached configuration
+   * when the task runs. The report of every project is published as a variant of the project, the root project
+   * depends on the subprojects to read them, so it neither accesses their tasks nor their build directories, which
+   * also works with isolated projects.
+   *
+   * @param subprojectPaths the paths of all subprojects, only used for the root project
+   */
+  public static void registerValidationTasks(Project project, String repositoryPlanFingerprint, Collection<String> subprojectPaths) {
+    var validationTask = registerValidationTask(project, repositoryPlanFingerprint);
+    var reportCategory = project.getObjects().named(Category.class, VALIDATION_REPORT_CATEGORY);
+    project.getConfigurations().consumable(VALIDATION_REPORT_ELEMENTS, configuration -> {
+      configuration.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, reportCategory);
+      configuration.getOutgoing().artifact(validationTask.flatMap(ValidateRepositoriesTask::getReport));
+    });
+    if (project.getPath().equals(Project.PATH_SEPARATOR)) {
+      var reportDependencies = project.getConfigurations().dependencyScope(VALIDATION_REPORT_DEPENDENCIES, configuration ->
+          subprojectPaths.forEach(path -> configuration.getDependencies().add(
+              project.getDependencies().project(Map.of("path", path)))));
+      var subprojectReports = project.getConfigurations().resolvable(VALIDATION_REPORTS, configuration -> {
+        configuration.extendsFrom(reportDependencies.get());
+        configuration.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, reportCategory);
       });
+      registerAggregateValidationTask(project, validationTask, subprojectReports);
     }
   }
+
+  private static TaskProvider<ValidateRepositoriesTask> registerValidationTask(Project project, String repositoryPlanFingerprint) {
+    return project.getTasks().register(ValidateRepositoriesTask.TASK_NAME, ValidateRepositoriesTask.class, task -> {
+      task.setGroup(VALIDATION_TASK_GROUP);
+      task.setDescription("Validates that all declared dependencies can be resolved from the managed repositories.");
+      task.getProjectPath().set(project.getPath());
+      task.getRepositoryPlanFingerprint().set(repositoryPlanFingerprint);
+      task.getReport().set(project.getLayout().getBuildDirectory().file(VALIDATION_REPORT_PATH));
+      for (var config : project.getConfigurations()) {
+        if (config.getName().equals("mainSourceElements") ||
+            config.getName().equals("testResultsElementsForTest") ||
+            config.getName().equals(VALIDATION_REPORT_DEPENDENCIES) ||
+            config.getDependencies().isEmpty()) {
+          continue;
+        }
+        config.getDependencies().forEach(dependency -> task.getDependencyCoordinates().add(
+            "%s:%s:%s:%s".formatted(config.getName(), dependency.getGroup(), dependency.getName(), dependency.getVersion())));
+        if (config.getDependencies().stream().anyMatch(dependency -> ValidateRepositoriesTask.isDynamicVersion(dependency.getVersion()))) {
+          task.doNotTrackState("Dependencies with dynamic versions resolve against the current content of the repositories");
+        }
+        var dependencies = config.getDependencies().toArray(Dependency[]::new);
+        var detachedConfiguration = project.getConfigurations().detachedConfiguration(dependencies);
+        task.getResolutionResults().put(config.getName(), detachedConfiguration.getIncoming().getResolutionResult().getRootComponent());
+      }
+    });
+  }
+
+  private static void registerAggregateValidationTask(Project rootProject, TaskProvider<ValidateRepositoriesTask> validationTask,
+                                                      NamedDomainObjectProvider<? extends Configuration> subprojectReports) {
+    rootProject.getTasks().register(AggregateRepositoryValidationTask.TASK_NAME, AggregateRepositoryValidationTask.class, task -> {
+      task.setGroup(VALIDATION_TASK_GROUP);
+      task.setDescription("Validates the dependencies of all projects against the managed repositories.");
+      task.getReport().set(rootProject.getLayout().getBuildDirectory().file(AGGREGATED_VALIDATION_REPORT_PATH));
+      task.getReports().from(validationTask.flatMap(ValidateRepositoriesTask::getReport));
+      task.getReports().from(subprojectReports);
+    });
+  }
+
+  private record BoundCredentials(List<RepositoryCredentials> credentials, CredentialBindingCache.Bindings bindings) {
+  }
 }
@@ -0,0 +1,207 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long the plugin spends in its configuration phases. Spans are aggregated per phase and per project and
+ * written as a JSON report. {@link #DISABLED} records nothing and returns the same span for every call, so disabled
+ * timings neither read the clock nor allocate.
+ */
+public class RepositoryManagerTimings {
+
+  public static final RepositoryManagerTimings DISABLED = new RepositoryManagerTimings(false, System::nanoTime);
+  public static final String SETTINGS = "settings";
+
+  public static final String FIND_CREDENTIALS = "findCredentials";
+  public static final String MATCH_CREDENTIALS = "matchCredentials";
+  public static final String MIRROR_REPOSITORIES = "mirrorRepositories";
+  public static final String PROBE_REPOSITORIES = "probeRepositories";
+  public static final String APPLY_ROUTING_INDEX = "applyRoutingIndex";
+  public static final String ROUTE_CATALOG_GROUPS = "routeCatalogGroups";
+  public static final String ORDER_REPOSITORIES = "orderRepositories";
+  public static final String APPLY_REPOSITORIES = "applyRepositories";
+  public static final String RESOLVE_PLUGIN = "resolvePlugin";
+  public static final String REGISTER_VALIDATION = "registerValidation";
+
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final boolean enabled;
+  private final LongSupplier nanoTime;
+  private final Map<Key, Queue<Long>> durations = new ConcurrentHashMap<>();
+  private final Span noopSpan = new Span(null, 0);
+
+  public RepositoryManagerTimings() {
+    this(true, System::nanoTime);
+  }
+
+  RepositoryManagerTimings(boolean enabled, LongSupplier nanoTime) {
+    this.enabled = enabled;
+    this.nanoTime = nanoTime;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts a span which is recorded when it is closed.
+   *
+   * @param phase   one of the phase constants
+   * @param project the project path or {@link #SETTINGS}
+   */
+  public Span start(String phase, String project) {
+    if (!enabled) {
+      return noopSpan;
+    }
+    return new Span(new Key(phase, project), nanoTime.getAsLong());
+  }
+
+  /**
+   * Runs the action in a span.
+   *
+   * @param phase   one of the phase constants
+   * @param project the project path or {@link #SETTINGS}
+   */
+  public void time(String phase, String project, Runnable action) {
+    var span = start(phase, project);
+    try {
+      action.run();
+    } finally {
+      span.close();
+    }
+  }
+
+  /**
+   * Computes the result of the action in a span.
+   *
+   * @param phase   one of the phase constants
+   * @param project the project path or {@link #SETTINGS}
+   */
+  public <T> T time(String phase, String project, Supplier<T> action) {
+    var span = start(phase, project);
+    try {
+      return action.get();
+    } finally {
+      span.close();
+    }
+  }
+
+  public boolean isEmpty() {
+    return durations.isEmpty();
+  }
+
+  public Map<String, Statistics> getPhaseStatistics() {
+    return aggregate(true);
+  }
+
+  public Map<String, Statistics> getProjectStatistics() {
+    return aggregate(false);
+  }
+
+  public String toJson() {
+    var json = new StringBuilder("{\n  \"phases\": ");
+    appendStatistics(json, getPhaseStatistics());
+    json.append(",\n  \"projects\": ");
+    appendStatistics(json, getProjectStatistics());
+    return json.append("\n}\n").toString();
+  }
+
+  public void writeReport(Path reportFile) {
+    try {
+      Files.createDirectories(reportFile.getParent());
+      Files.writeString(reportFile, toJson());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void record(Key key, long startNanos) {
+    durations.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(nanoTime.getAsLong() - startNanos);
+  }
+
+  private Map<String, Statistics> aggregate(boolean byPhase) {
+    var grouped = new TreeMap<String, List<Long>>();
+    durations.forEach((key, values) ->
+        grouped.computeIfAbsent(byPhase ? key.phase() : key.project(), k -> new ArrayList<>()).addAll(values));
+    var statistics = new TreeMap<String, Statistics>();
+    grouped.forEach((name, values) -> statistics.put(name, Statistics.of(values)));
+    return statistics;
+  }
+
+  private static void appendStatistics(StringBuilder json, Map<String, Statistics> statistics) {
+    json.append('{');
+    var first = true;
+    for (var entry : statistics.entrySet()) {
+      var value = entry.getValue();
+      json.append(first ? "\n" : ",\n")
+          .append("    \"").append(escape(entry.getKey())).append("\": ")
+          .append(String.format(Locale.ROOT,
+              "{\"count\": %d, \"totalMillis\": %.3f, \"p50Millis\": %.3f, \"p95Millis\": %.3f, \"maxMillis\": %.3f}",
+              value.count(), millis(value.totalNanos()), millis(value.p50Nanos()), millis(value.p95Nanos()),
+              millis(value.maxNanos())));
+      first = false;
+    }
+    json.append(first ? "}" : "\n  }");
+  }
+
+  private static double millis(long nanos) {
+    return nanos / NANOS_PER_MILLI;
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  public final class Span implements AutoCloseable {
+
+    private final Key key;
+    private final long startNanos;
+
+    private Span(Key key, long startNanos) {
+      this.key = key;
+      this.startNanos = startNanos;
+    }
+
+    @Override
+    public void close() {
+      if (key != null) {
+        record(key, startNanos);
+      }
+    }
+  }
+
+  public record Statistics(int count, long totalNanos, long p50Nanos, long p95Nanos, long maxNanos) {
+
+    static Statistics of(List<Long> durations) {
+      var sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+      var total = 0L;
+      for (var duration : sorted) {
+        total += duration;
+      }
+      return new Statistics(sorted.length, total,
+          percentile(sorted, 0.5), percentile(sorted, 0.95), sorted[sorted.length - 1]);
+    }
+
+    // nearest-rank percentile
+    private static long percentile(long[] sorted, double percentile) {
+      var rank = (int) Math.ceil(percentile * sorted.length);
+      return sorted[Math.max(rank, 1) - 1];
+    }
+  }
+
+  private record Key(String phase, String project) {
+  }
+}
@@ -0,0 +1,37 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Owns the {@link RepositoryManagerTimings} of a build and writes them as JSON report when the build finishes.
+ */
+public abstract class RepositoryManagerTimingsReporter implements BuildService<RepositoryManagerTimingsReporter.Params>, AutoCloseable {
+
+  public static final String SERVICE_NAME = "repositoryManagerTimings";
+  private static final Logger logger = Logging.getLogger(RepositoryManagerTimingsReporter.class);
+
+  public interface Params extends BuildServiceParameters {
+
+    RegularFileProperty getReportFile();
+  }
+
+  private final RepositoryManagerTimings timings = new RepositoryManagerTimings();
+
+  public RepositoryManagerTimings getTimings() {
+    return timings;
+  }
+
+  @Override
+  public void close() {
+    if (timings.isEmpty()) {
+      return;
+    }
+    var reportFile = getParameters().getReportFile().get().getAsFile().toPath();
+    timings.writeReport(reportFile);
+    logger.quiet("> RepositoryManager - configuration timings written to {}", reportFile);
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryMirrorRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.gradle.api.provider.ProviderFactory;
+
+import static io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension.SPLIT_ELEMENT;
+
+/**
+ * The active {@link RepositoryMirrorRule}s, declared in the settings or by {@code repository_manager_mirror_*} system
+ * properties and environment variables. Rules of a mirror set are only active if the set is selected by
+ * {@value #MIRROR_SET_PROPERTY}, rules of the properties without a set are always active. The rules of the properties
+ * are tried before the rules of the settings, the first rule matching a repository url is used.
+ */
+public class RepositoryMirrors {
+
+  public static final String MIRROR_DEFINITION_PREFIX = "repository_manager" + SPLIT_ELEMENT + "mirror";
+  public static final String MIRROR_SET_PROPERTY = MIRROR_DEFINITION_PREFIX + SPLIT_ELEMENT + "set";
+  public static final RepositoryMirrors NONE = new RepositoryMirrors(List.of());
+
+  private static final Pattern MIRROR_PROPERTY_REGEX = Pattern.compile(
+      "^" + MIRROR_DEFINITION_PREFIX + SPLIT_ELEMENT + "(?<identifier>[a-z_\\d]+)" + SPLIT_ELEMENT + "(?<key>pattern|urls|set)$");
+  private static final String URL_SEPARATOR = ",";
+
+  private final List<CompiledRule> rules;
+
+  private RepositoryMirrors(List<CompiledRule> rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * Only properties starting with {@value #MIRROR_DEFINITION_PREFIX} are read, environment variables take precedence
+   * over system properties.
+   */
+  public static RepositoryMirrors load(ProviderFactory providers, List<RepositoryMirrorRule> settingsRules) {
+    var properties = new HashMap<>(providers.systemPropertiesPrefixedBy(MIRROR_DEFINITION_PREFIX).get());
+    properties.putAll(providers.environmentVariablesPrefixedBy(MIRROR_DEFINITION_PREFIX).get());
+    return of(settingsRules, properties);
+  }
+
+  public static RepositoryMirrors of(List<RepositoryMirrorRule> settingsRules, Map<String, String> properties) {
+    var activeMirrorSet = properties.get(MIRROR_SET_PROPERTY);
+    var activeRules = Stream.concat(collectRules(properties).stream(), settingsRules.stream())
+        .filter(rule -> rule.mirrorSet() == null || rule.mirrorSet().equals(activeMirrorSet))
+        .map(rule -> new CompiledRule(Pattern.compile(rule.urlRegex()), rule.mirrorUrls()))
+        .toList();
+    return activeRules.isEmpty() ? NONE : new RepositoryMirrors(activeRules);
+  }
+
+  /**
+   * Creates the rules defined by {@code repository_manager_mirror_<identifier>_pattern}, {@code _urls} (comma
+   * separated) and the optional {@code _set} properties, ordered by their identifier.
+   */
+  static List<RepositoryMirrorRule> collectRules(Map<String, String> properties) {
+    var rulesProperties = new TreeMap<String, Map<String, String>>();
+    properties.forEach((name, value) -> {
+      var matcher = MIRROR_PROPERTY_REGEX.matcher(name);
+      if (matcher.matches()) {
+        rulesProperties.computeIfAbsent(matcher.group("identifier"), identifier -> new HashMap<>())
+            .put(matcher.group("key"), value.strip());
+      }
+    });
+    var rules = new ArrayList<RepositoryMirrorRule>();
+    rulesProperties.forEach((identifier, ruleProperties) -> {
+      var urlRegex = ruleProperties.get("pattern");
+      var mirrorUrls = ruleProperties.getOrDefault("urls", "");
+      if (urlRegex != null && !mirrorUrls.isBlank()) {
+        rules.add(new RepositoryMirrorRule(ruleProperties.get("set"), urlRegex, Arrays.stream(mirrorUrls.split(URL_SEPARATOR))
+            .map(String::strip)
+            .filter(url -> !url.isEmpty())
+            .toList()));
+      }
+    });
+    return rules;
+  }
+
+  public boolean isEmpty() {
+    return rules.isEmpty();
+  }
+
+  /**
+   * The urls a repository is tried at: the mirrors of the first matching rule in their order, followed by the url
+   * itself as last fallback.
+   */
+  public List<String> candidates(String url) {
+    for (var rule : rules) {
+      if (rule.pattern().matcher(url).matches()) {
+        return Stream.concat(rule.mirrorUrls().stream().map(mirrorUrl -> rewrite(rule.pattern(), url, mirrorUrl)), Stream.of(url))
+            .distinct()
+            .toList();
+      }
+    }
+    return List.of(url);
+  }
+
+  private static String rewrite(Pattern pattern, String url, String mirrorUrl) {
+    var matcher = pattern.matcher(url);
+    matcher.matches();
+    var rewrittenUrl = new StringBuilder();
+    matcher.appendReplacement(rewrittenUrl, mirrorUrl);
+    return rewrittenUrl.toString();
+  }
+
+  private record CompiledRule(Pattern pattern, List<String> mirrorUrls) {
+  }
+}
@@ -0,0 +1,260 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryProjectScope;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.gradle.api.artifacts.dsl.RepositoryHandler;
+import org.gradle.api.artifacts.repositories.ArtifactRepository;
+import org.gradle.api.credentials.HttpHeaderCredentials;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.authentication.http.HttpHeaderAuthentication;
+
+/**
+ * The resolved repository setup of a build. It is created once after the settings have been evaluated, so configuring
+ * pluginManagement or a project only applies the planned repositories without matching credentials again.
+ */
+public class RepositoryPlan {
+
+  public static final String MAVEN_LOCAL = "mavenLocal";
+  public static final String MAVEN_CENTRAL = "mavenCentral";
+  public static final String GRADLE_PLUGIN_PORTAL = "gradlePluginPortal";
+  public static final List<String> DEFAULT_REPOSITORY_NAMES = List.of(MAVEN_LOCAL, MAVEN_CENTRAL, GRADLE_PLUGIN_PORTAL);
+
+  private static final Logger logger = Logging.getLogger(RepositoryPlan.class);
+
+  private final List<PlannedRepository> repositories;
+  private final boolean mavenLocal;
+  private final boolean mavenCentral;
+  private final boolean gradlePluginPortal;
+  private final URI proxyUrl;
+  private final String proxyToken;
+  private final Map<String, RepositoryContentFilter> defaultRepositoryFilters;
+
+  public RepositoryPlan(List<PlannedRepository> repositories, boolean mavenLocal, boolean mavenCentral, boolean gradlePluginPortal) {
+    this(repositories, mavenLocal, mavenCentral, gradlePluginPortal, null, null, Map.of());
+  }
+
+  private RepositoryPlan(List<PlannedRepository> repositories, boolean mavenLocal, boolean mavenCentral,
+                         boolean gradlePluginPortal, URI proxyUrl, String proxyToken,
+                         Map<String, RepositoryContentFilter> defaultRepositoryFilters) {
+    this.repositories = List.copyOf(repositories);
+    this.mavenLocal = mavenLocal;
+    this.mavenCentral = mavenCentral;
+    this.gradlePluginPortal = gradlePluginPortal;
+    this.proxyUrl = proxyUrl;
+    this.proxyToken = proxyToken;
+    this.defaultRepositoryFilters = Map.copyOf(defaultRepositoryFilters);
+  }
+
+  public List<PlannedRepository> getRepositories() {
+    return repositories;
+  }
+
+  public RepositoryPlan withRepositories(List<PlannedRepository> repositories) {
+    return new RepositoryPlan(repositories, mavenLocal, mavenCentral, gradlePluginPortal, proxyUrl, proxyToken, defaultRepositoryFilters);
+  }
+
+  /**
+   * Replaces the {@link #isAggregatable aggregatable} repositories by a single repository for the given
+   * {@link AggregatingRepositoryProxy} url, at the position of the first of them. Gradle sends the token the proxy
+   * registered the repositories with.
+   */
+  public RepositoryPlan withAggregatingProxy(URI proxyUrl, String proxyToken) {
+    return new RepositoryPlan(repositories, mavenLocal, mavenCentral, gradlePluginPortal, proxyUrl, proxyToken, defaultRepositoryFilters);
+  }
+
+  /**
+   * Filters the content of one of the {@link #DEFAULT_REPOSITORY_NAMES default repositories}.
+   */
+  public RepositoryPlan withDefaultRepositoryFilter(String repositoryName, RepositoryContentFilter defaultRepositoryFilter) {
+    var defaultRepositoryFilters = new LinkedHashMap<>(this.defaultRepositoryFilters);
+    defaultRepositoryFilters.put(repositoryName, defaultRepositoryFilter);
+    return new RepositoryPlan(repositories, mavenLocal, mavenCentral, gradlePluginPortal, proxyUrl, proxyToken, defaultRepositoryFilters);
+  }
+
+  /**
+   * Adds the rules to the content filters of mavenLocal, mavenCentral and the Gradle plugin portal.
+   */
+  public RepositoryPlan withDefaultRepositoryRules(List<RepositoryContentFilter.Rule> rules) {
+    var plan = this;
+    for (var repositoryName : DEFAULT_REPOSITORY_NAMES) {
+      plan = plan.withDefaultRepositoryFilter(repositoryName, getDefaultRepositoryFilter(repositoryName).withRules(rules));
+    }
+    return plan;
+  }
+
+  public RepositoryContentFilter getDefaultRepositoryFilter(String repositoryName) {
+    return defaultRepositoryFilters.getOrDefault(repositoryName, RepositoryContentFilter.EMPTY);
+  }
+
+  public URI getProxyUrl() {
+    return proxyUrl;
+  }
+
+  public String getProxyToken() {
+    return proxyToken;
+  }
+
+  public List<PlannedRepository> getAggregatableRepositories() {
+    return repositories.stream().filter(RepositoryPlan::isAggregatable).toList();
+  }
+
+  /**
+   * Repositories which serve all modules to all projects can be asked through the proxy. Gradle has to ask the others itself, as the
+   * proxy does not know their content filters.
+   */
+  public static boolean isAggregatable(PlannedRepository planned) {
+    return !planned.repository().isExclusive()
+        && planned.repository().getProjectScope().isAll()
+        && planned.contentFilter().isEmpty()
+        && planned.content() == PlannedRepository.Content.ALL;
+  }
+
+  public boolean isMavenLocal() {
+    return mavenLocal;
+  }
+
+  public boolean isMavenCentral() {
+    return mavenCentral;
+  }
+
+  public boolean isGradlePluginPortal() {
+    return gradlePluginPortal;
+  }
+
+  /**
+   * A hash of everything that affects which repositories are used and how they are accessed. Credential values are
+   * not part of it, only the identifier of the bound credential.
+   */
+  public String getFingerprint() {
+    var fingerprint = new StringBuilder();
+    repositories.forEach(planned -> fingerprint
+        .append(planned.repository().getName()).append('|')
+        .append(planned.repository().getUrl()).append('|')
+        .append(planned.repository().isSecureProtocol()).append('|')
+        .append(planned.content()).append('|')
+        .append(planned.repository().isExclusive()).append('|')
+        .append(planned.contentFilter()).append('|')
+        .append(planned.repository().getProjectScope()).append('|')
+        .append(planned.authentication()).append('|')
+        .append(planned.credential() == null ? "" : planned.credential().getIdentifier()).append('\n'));
+    fingerprint.append(mavenLocal).append('|').append(mavenCentral).append('|').append(gradlePluginPortal)
+        .append('|').append(DEFAULT_REPOSITORY_NAMES.stream().map(this::getDefaultRepositoryFilter).toList());
+    if (proxyUrl != null) {
+      fingerprint.append("|aggregated");
+    }
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Whether some repositories are only added to the projects in their {@link RepositoryProjectScope}.
+   */
+  public boolean hasProjectScopes() {
+    return repositories.stream().anyMatch(planned -> !planned.repository().getProjectScope().isAll());
+  }
+
+  /**
+   * The names of the repositories {@link #applyTo(RepositoryHandler, String)} adds to the given project, in order.
+   */
+  public List<String> getRepositoryNames(String projectPath) {
+    var names = new ArrayList<String>();
+    var proxyAdded = false;
+    for (var repository : repositories) {
+      if (!repository.repository().getProjectScope().matches(projectPath)) {
+        continue;
+      }
+      if (proxyUrl == null || !isAggregatable(repository)) {
+        names.add(repository.repository().getName());
+      } else if (!proxyAdded) {
+        names.add(AggregatingRepositoryProxy.REPOSITORY_NAME);
+        proxyAdded = true;
+      }
+    }
+    if (mavenLocal) {
+      names.add("mavenLocal");
+    }
+    if (mavenCentral) {
+      names.add("mavenCentral");
+    }
+    if (gradlePluginPortal) {
+      names.add("gradlePluginPortal");
+    }
+    return names;
+  }
+
+  /**
+   * Adds all planned repositories, regardless of their {@link RepositoryProjectScope}.
+   */
+  public void applyTo(RepositoryHandler repoHandler) {
+    applyTo(repoHandler, repository -> true);
+  }
+
+  /**
+   * Adds the planned repositories whose {@link RepositoryProjectScope} matches the given project.
+   */
+  public void applyTo(RepositoryHandler repoHandler, String projectPath) {
+    applyTo(repoHandler, repository -> repository.repository().getProjectScope().matches(projectPath));
+  }
+
+  private void applyTo(RepositoryHandler repoHandler, Predicate<PlannedRepository> inScope) {
+    var proxyApplied = false;
+    for (var repository : repositories) {
+      if (!inScope.test(repository)) {
+        continue;
+      }
+      if (proxyUrl == null || !isAggregatable(repository)) {
+        repository.applyTo(repoHandler);
+      } else if (!proxyApplied) {
+        repoHandler.maven(mavenArtifactRepository -> {
+          mavenArtifactRepository.setName(AggregatingRepositoryProxy.REPOSITORY_NAME);
+          mavenArtifactRepository.setUrl(proxyUrl);
+          // the proxy only listens on the loopback interface
+          mavenArtifactRepository.setAllowInsecureProtocol(true);
+          mavenArtifactRepository.credentials(HttpHeaderCredentials.class, credentials -> {
+            credentials.setName(AggregatingRepositoryProxy.TOKEN_HEADER);
+            credentials.setValue(proxyToken);
+          });
+          mavenArtifactRepository.authentication(authentications ->
+              authentications.create("header", HttpHeaderAuthentication.class));
+        });
+        proxyApplied = true;
+        logger.debug("- configured repository: {}", AggregatingRepositoryProxy.REPOSITORY_NAME);
+      }
+    }
+    if (mavenLocal) {
+      repoHandler.mavenLocal(repository -> applyDefaultRepositoryFilter(repository, MAVEN_LOCAL));
+      logger.debug("- configured repository: mavenLocal");
+    }
+    if (mavenCentral) {
+      repoHandler.mavenCentral(repository -> applyDefaultRepositoryFilter(repository, MAVEN_CENTRAL));
+      logger.debug("- configured repository: mavenCentral");
+    }
+    if (gradlePluginPortal) {
+      repoHandler.gradlePluginPortal(repository -> applyDefaultRepositoryFilter(repository, GRADLE_PLUGIN_PORTAL));
+      logger.debug("- configured repository: gradlePluginPortal");
+    }
+  }
+
+  private void applyDefaultRepositoryFilter(ArtifactRepository repository, String repositoryName) {
+    var defaultRepositoryFilter = getDefaultRepositoryFilter(repositoryName);
+    if (!defaultRepositoryFilter.isEmpty()) {
+      repository.content(defaultRepositoryFilter::applyTo);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import java.io.Serial;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of a {@link RepositoryPlan} which the isolated actions of the projects capture. It only holds
+ * names, urls, flags, content filter rules and the values of the bound credentials, so Gradle can serialize it
+ * without touching the mutable repositories of the extension. Each project creates its own plan from it.
+ */
+final class RepositoryPlanSnapshot implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private final List<Repository> repositories;
+  private final boolean mavenLocal;
+  private final boolean mavenCentral;
+  private final boolean gradlePluginPortal;
+  private final String proxyUrl;
+  private final String proxyToken;
+  private final Map<String, List<RepositoryContentFilter.Rule>> defaultRepositoryRules;
+
+  private RepositoryPlanSnapshot(RepositoryPlan plan) {
+    this.repositories = plan.getRepositories().stream().map(Repository::of).toList();
+    this.mavenLocal = plan.isMavenLocal();
+    this.mavenCentral = plan.isMavenCentral();
+    this.gradlePluginPortal = plan.isGradlePluginPortal();
+    this.proxyUrl = plan.getProxyUrl() == null ? null : plan.getProxyUrl().toString();
+    this.proxyToken = plan.getProxyToken();
+    var defaultRepositoryRules = new LinkedHashMap<String, List<RepositoryContentFilter.Rule>>();
+    RepositoryPlan.DEFAULT_REPOSITORY_NAMES.forEach(repositoryName ->
+        defaultRepositoryRules.put(repositoryName, List.copyOf(plan.getDefaultRepositoryFilter(repositoryName).getRules())));
+    this.defaultRepositoryRules = Map.copyOf(defaultRepositoryRules);
+  }
+
+  static RepositoryPlanSnapshot of(RepositoryPlan plan) {
+    return new RepositoryPlanSnapshot(plan);
+  }
+
+  RepositoryPlan toPlan() {
+    var plan = new RepositoryPlan(repositories.stream().map(Repository::toPlannedRepository).toList(),
+        mavenLocal, mavenCentral, gradlePluginPortal);
+    for (var defaultRepository : defaultRepositoryRules.entrySet()) {
+      plan = plan.withDefaultRepositoryFilter(defaultRepository.getKey(),
+          RepositoryContentFilter.EMPTY.withRules(defaultRepository.getValue()));
+    }
+    return proxyUrl == null ? plan : plan.withAggregatingProxy(URI.create(proxyUrl), proxyToken);
+  }
+
+  private static final class Repository implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final String url;
+    private final boolean secureProtocol;
+    private final boolean exclusive;
+    private final boolean pinned;
+    private final List<String> includedProjects;
+    private final List<String> excludedProjects;
+    private final PlannedRepository.Content content;
+    private final List<RepositoryContentFilter.Rule> contentRules;
+    private final PlannedRepository.Authentication authentication;
+    private final String credentialIdentifier;
+    private final String credentialUrl;
+    private final String username;
+    private final String password;
+    private final String tokenName;
+    private final String tokenValue;
+
+    private Repository(PlannedRepository planned) {
+      var repository = planned.repository();
+      var credential = planned.credential();
+      this.name = repository.getName();
+      this.url = repository.getUrl();
+      this.secureProtocol = repository.isSecureProtocol();
+      this.exclusive = repository.isExclusive();
+      this.pinned = repository.isPinned();
+      this.includedProjects = List.copyOf(repository.getProjectScope().getIncludes());
+      this.excludedProjects = List.copyOf(repository.getProjectScope().getExcludes());
+      this.content = planned.content();
+      this.contentRules = List.copyOf(planned.contentFilter().getRules());
+      this.authentication = planned.authentication();
+      this.credentialIdentifier = credential == null ? null : credential.getIdentifier();
+      this.credentialUrl = credential == null ? null : credential.getUrl();
+      this.username = credential == null ? null : credential.getUsername();
+      this.password = credential == null ? null
+          : PlannedRepository.secret(credential.getPasswordProvider(), credential.getPassword());
+      this.tokenName = credential == null ? null : credential.getTokenName();
+      this.tokenValue = credential == null ? null
+          : PlannedRepository.secret(credential.getTokenValueProvider(), credential.getTokenValue());
+    }
+
+    static Repository of(PlannedRepository planned) {
+      return new Repository(planned);
+    }
+
+    PlannedRepository toPlannedRepository() {
+      ManageableRepository repository = new ManageableRepositoryImpl(name);
+      repository.setUrl(url);
+      repository.setSecureProtocol(secureProtocol);
+      repository.setExclusive(exclusive);
+      repository.setPinned(pinned);
+      repository.includeProjects(includedProjects.toArray(String[]::new));
+      repository.excludeProjects(excludedProjects.toArray(String[]::new));
+      RepositoryCredentials credential = null;
+      if (credentialIdentifier != null) {
+        credential = RepositoryCredentials.forIdentifier(credentialIdentifier);
+        credential.setUrl(credentialUrl);
+        credential.setUsername(username);
+        credential.setPassword(password);
+        credential.setTokenName(tokenName);
+        credential.setTokenValue(tokenValue);
+      }
+      return new PlannedRepository(repository, credential, authentication, content,
+          RepositoryContentFilter.EMPTY.withRules(contentRules));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The responses of the {@link AggregatingRepositoryProxy} by request path, evicting the least recently used ones once
+ * they take more than the configured number of bytes. Released artifacts don't change, so they are kept until evicted.
+ * Metadata, snapshots and misses expire after the configured time to live, so new versions are found.
+ */
+public class RepositoryProxyCache {
+
+  private final long maxBytes;
+  private final Duration timeToLive;
+  private final Clock clock;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long cachedBytes;
+
+  public RepositoryProxyCache(long maxBytes, Duration timeToLive) {
+    this(maxBytes, timeToLive, Clock.systemUTC());
+  }
+
+  RepositoryProxyCache(long maxBytes, Duration timeToLive, Clock clock) {
+    this.maxBytes = maxBytes;
+    this.timeToLive = timeToLive;
+    this.clock = clock;
+  }
+
+  public synchronized Optional<Response> get(String path) {
+    var entry = entries.get(path);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (clock.millis() >= entry.expiresAt()) {
+      remove(path);
+      return Optional.empty();
+    }
+    return Optional.of(entry.response());
+  }
+
+  /**
+   * Caches hits and misses, responses larger than a quarter of the cache are not cached.
+   */
+  public synchronized void put(String path, Response response) {
+    if (response.body().length > getMaxEntryBytes()) {
+      return;
+    }
+    remove(path);
+    var expiresAt = response.status() == Response.HIT && !isChanging(path)
+        ? Long.MAX_VALUE
+        : clock.millis() + timeToLive.toMillis();
+    entries.put(path, new Entry(response, expiresAt));
+    cachedBytes += response.body().length;
+    var eldest = entries.entrySet().iterator();
+    while (cachedBytes > maxBytes && eldest.hasNext()) {
+      cachedBytes -= eldest.next().getValue().response().body().length;
+      eldest.remove();
+    }
+  }
+
+  /**
+   * The size of the largest response which is cached.
+   */
+  public long getMaxEntryBytes() {
+    return maxBytes / 4;
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    cachedBytes = 0;
+  }
+
+  public synchronized long getCachedBytes() {
+    return cachedBytes;
+  }
+
+  private void remove(String path) {
+    var removed = entries.remove(path);
+    if (removed != null) {
+      cachedBytes -= removed.response().body().length;
+    }
+  }
+
+  private static boolean isChanging(String path) {
+    return path.contains("maven-metadata.xml") || path.contains("-SNAPSHOT");
+  }
+
+  /**
+   * A response of the proxy, the headers are the ones Gradle uses to detect changed artifacts.
+   */
+  public record Response(int status, byte[] body, Map<String, String> headers) {
+
+    public static final int HIT = 200;
+    public static final int MISS = 404;
+
+    public static Response miss() {
+      return new Response(MISS, new byte[0], Map.of());
+    }
+  }
+
+  private record Entry(Response response, long expiresAt) {
+  }
+}
@@ -0,0 +1,32 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+
+/**
+ * The results of the {@link RepositoryReachabilityProbe} which are still fresh. The plugin obtains them after probing,
+ * so the configuration cache entry depends on them: once one of the results expires or the cache file is deleted, the
+ * entry is discarded and the next build probes the repositories again instead of reusing the plan of the build which
+ * stored the entry.
+ */
+public abstract class RepositoryReachabilityCache implements ValueSource<Map<String, String>, RepositoryReachabilityCache.Params> {
+
+  public interface Params extends ValueSourceParameters {
+
+    RegularFileProperty getCacheFile();
+
+    Property<Long> getTimeToLiveMinutes();
+  }
+
+  @Override
+  public Map<String, String> obtain() {
+    return RepositoryReachabilityProbe.readFreshResults(getParameters().getCacheFile().get().getAsFile().toPath(),
+        Duration.ofMinutes(getParameters().getTimeToLiveMinutes().get()), Clock.systemUTC().millis());
+  }
+}
@@ -0,0 +1,166 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Checks concurrently whether the planned repositories respond at all, using their bound credentials. Results are
+ * cached in a properties file for the configured time to live, so repositories are not probed on every build.
+ * A repository counts as reachable if it answers with any status below 500, e.g. a 404 for its root url.
+ */
+public class RepositoryReachabilityProbe {
+
+  private static final Logger logger = Logging.getLogger(RepositoryReachabilityProbe.class);
+  private static final String CACHE_VALUE_SEPARATOR = "|";
+
+  private final Path cacheFile;
+  private final Duration timeToLive;
+  private final Duration timeout;
+  private final Clock clock;
+  private final Map<String, Long> latencyMillis = new ConcurrentHashMap<>();
+
+  public RepositoryReachabilityProbe(Path cacheFile, Duration timeToLive, Duration timeout) {
+    this(cacheFile, timeToLive, timeout, Clock.systemUTC());
+  }
+
+  RepositoryReachabilityProbe(Path cacheFile, Duration timeToLive, Duration timeout, Clock clock) {
+    this.cacheFile = cacheFile;
+    this.timeToLive = timeToLive;
+    this.timeout = timeout;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns for each repository url whether the repository is reachable.
+   */
+  public Map<String, Boolean> probe(Collection<PlannedRepository> repositories) {
+    var cache = readCache(cacheFile);
+    var now = clock.millis();
+    var reachability = new HashMap<String, Boolean>();
+    var probes = new HashMap<String, CompletableFuture<Boolean>>();
+    var client = HttpClient.newBuilder()
+        .connectTimeout(timeout)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+    for (var repository : repositories) {
+      var url = repository.repository().getUrl();
+      var cachedValue = cache.getProperty(url);
+      if (cachedValue != null && isFresh(cachedValue, timeToLive, now)) {
+        reachability.put(url, cachedValue.startsWith(Boolean.TRUE.toString()));
+      } else if (!probes.containsKey(url)) {
+        probes.put(url, probe(client, repository));
+      }
+    }
+    probes.forEach((url, probe) -> {
+      var reachable = probe.join();
+      reachability.put(url, reachable);
+      cache.setProperty(url, reachable + CACHE_VALUE_SEPARATOR + now);
+    });
+    if (!probes.isEmpty()) {
+      writeCache(cache);
+    }
+    return reachability;
+  }
+
+  /**
+   * The response time of each repository url probed by the last {@link #probe(Collection)}, cached results are not
+   * measured again.
+   */
+  public Map<String, Long> getLatencyMillis() {
+    return Map.copyOf(latencyMillis);
+  }
+
+  private CompletableFuture<Boolean> probe(HttpClient client, PlannedRepository repository) {
+    var url = repository.repository().getUrl();
+    HttpRequest request;
+    try {
+      var requestBuilder = HttpRequest.newBuilder(URI.create(url))
+          .timeout(timeout)
+          .method("HEAD", HttpRequest.BodyPublishers.noBody());
+      repository.authenticate(requestBuilder);
+      request = requestBuilder.build();
+    } catch (IllegalArgumentException e) {
+      logger.info("- could not probe '{}': {}", url, e.getMessage());
+      return CompletableFuture.completedFuture(false);
+    }
+    var startNanos = System.nanoTime();
+    return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .thenApply(response -> {
+          latencyMillis.put(url, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+          return response.statusCode() < 500;
+        })
+        .exceptionally(failure -> {
+          logger.info("- could not reach '{}': {}", url, failure.getMessage());
+          return false;
+        });
+  }
+
+  /**
+   * The cached results of the cache file which are not older than the time to live, as the cached value by url.
+   */
+  public static Map<String, String> readFreshResults(Path cacheFile, Duration timeToLive, long now) {
+    var freshResults = new TreeMap<String, String>();
+    readCache(cacheFile).forEach((url, cachedValue) -> {
+      if (isFresh((String) cachedValue, timeToLive, now)) {
+        freshResults.put((String) url, (String) cachedValue);
+      }
+    });
+    return freshResults;
+  }
+
+  private static boolean isFresh(String cachedValue, Duration timeToLive, long now) {
+    var separator = cachedValue.indexOf(CACHE_VALUE_SEPARATOR);
+    if (separator < 0) {
+      return false;
+    }
+    try {
+      var probedAt = Long.parseLong(cachedValue.substring(separator + 1));
+      return now - probedAt < timeToLive.toMillis();
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static Properties readCache(Path cacheFile) {
+    var cache = new Properties();
+    if (Files.isRegularFile(cacheFile)) {
+      try (Reader reader = Files.newBufferedReader(cacheFile)) {
+        cache.load(reader);
+      } catch (IOException e) {
+        logger.info("- ignoring unreadable repository probe cache '{}': {}", cacheFile, e.getMessage());
+      }
+    }
+    return cache;
+  }
+
+  private void writeCache(Properties cache) {
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      try (Writer writer = Files.newBufferedWriter(cacheFile)) {
+        cache.store(writer, "Gradle Repository Manager - repository reachability");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
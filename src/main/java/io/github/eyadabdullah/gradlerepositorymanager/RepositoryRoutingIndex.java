@@ -0,0 +1,106 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Remembers which managed repositories served the modules of a group in previous builds. It is stored as a properties
+ * file with one line per group: {@code com.example=repository 1,repository 2}.
+ */
+public class RepositoryRoutingIndex {
+
+  private static final Logger logger = Logging.getLogger(RepositoryRoutingIndex.class);
+  private static final String REPOSITORY_SEPARATOR = ",";
+
+  private final Map<String, Set<String>> repositoriesByGroup = new TreeMap<>();
+
+  public static RepositoryRoutingIndex load(Path indexFile) {
+    var index = new RepositoryRoutingIndex();
+    if (!Files.isRegularFile(indexFile)) {
+      return index;
+    }
+    var properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(indexFile)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      logger.info("- ignoring unreadable repository routing index '{}': {}", indexFile, e.getMessage());
+      return index;
+    }
+    properties.stringPropertyNames().forEach(group ->
+        Arrays.stream(properties.getProperty(group).split(REPOSITORY_SEPARATOR))
+            .filter(repositoryName -> !repositoryName.isBlank())
+            .forEach(repositoryName -> index.record(group, repositoryName)));
+    return index;
+  }
+
+  public void save(Path indexFile) {
+    var properties = new Properties();
+    repositoriesByGroup.forEach((group, repositoryNames) ->
+        properties.setProperty(group, String.join(REPOSITORY_SEPARATOR, repositoryNames)));
+    try {
+      Files.createDirectories(indexFile.getParent());
+      try (Writer writer = Files.newBufferedWriter(indexFile)) {
+        properties.store(writer, "Gradle Repository Manager - repositories serving a group");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void record(String group, String repositoryName) {
+    repositoriesByGroup.computeIfAbsent(group, key -> new TreeSet<>()).add(repositoryName);
+  }
+
+  public void forget(String group) {
+    repositoriesByGroup.remove(group);
+  }
+
+  public Set<String> getRepositories(String group) {
+    return repositoriesByGroup.getOrDefault(group, Set.of());
+  }
+
+  public Set<String> getGroups() {
+    return repositoriesByGroup.keySet();
+  }
+
+  /**
+   * Excludes every known group from the given repository which is asked before all managed repositories serving it.
+   * Repositories asked after them are kept, so Gradle still falls back to them if the group moved. Groups which are
+   * unknown, or served by a repository that is no longer managed, are not excluded anywhere.
+   *
+   * @param orderedRepositoryNames all planned repositories in the order Gradle asks them
+   * @param managedRepositoryNames the repositories whose groups may be routed, i.e. which all projects use
+   */
+  public List<RepositoryContentFilter.Rule> getExcludes(String repositoryName, List<String> orderedRepositoryNames,
+                                                        Collection<String> managedRepositoryNames) {
+    var position = orderedRepositoryNames.indexOf(repositoryName);
+    var excludes = new ArrayList<RepositoryContentFilter.Rule>();
+    if (position < 0) {
+      return excludes;
+    }
+    repositoriesByGroup.forEach((group, repositoryNames) -> {
+      if (managedRepositoryNames.containsAll(repositoryNames) && repositoryNames.stream()
+          .allMatch(servingRepositoryName -> orderedRepositoryNames.indexOf(servingRepositoryName) > position)) {
+        excludes.add(new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP, group, null, null));
+      }
+    });
+    return excludes;
+  }
+}
@@ -0,0 +1,244 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.ResolutionResult;
+import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Records the modules resolved during a build. When the build finishes, the groups which are not in the
+ * {@link RepositoryRoutingIndex} yet are looked up in the managed repositories in the order Gradle asks them, the same
+ * way Gradle does, and the first repository serving the module of a group is merged into the index. Depending on which
+ * of the files is set, the hits and misses of each managed repository are recorded in the {@link RepositoryStatistics}.
+ * Groups which failed to resolve are removed from the index, so the next build looks them up in all repositories again.
+ * <p>
+ * Gradle does not tell through its public API which repository served a module, hence the lookup. It only sends one
+ * request per repository for each group seen for the first time, with the credentials bound to the repository.
+ */
+public abstract class RepositoryRoutingRecorder implements BuildService<RepositoryRoutingRecorder.Params>, AutoCloseable {
+
+  public static final String SERVICE_NAME = "repositoryManagerRoutingRecorder";
+
+  private static final Logger logger = Logging.getLogger(RepositoryRoutingRecorder.class);
+  private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(10);
+  private static final String SNAPSHOT_VERSION = "-SNAPSHOT";
+
+  public interface Params extends BuildServiceParameters {
+
+    RegularFileProperty getIndexFile();
+
+    RegularFileProperty getStatisticsFile();
+
+    /**
+     * The managed repositories in the order they are asked.
+     */
+    ListProperty<String> getRepositoryNames();
+
+    /**
+     * The url of each managed repository, by repository name.
+     */
+    MapProperty<String, String> getRepositoryUrls();
+
+    /**
+     * The name and value of the header carrying the bound credential, by repository name.
+     */
+    MapProperty<String, String> getAuthenticationHeaderNames();
+
+    MapProperty<String, String> getAuthenticationHeaderValues();
+
+    /**
+     * The managed repositories which are only asked for their own content.
+     */
+    SetProperty<String> getExclusiveRepositoryNames();
+
+    /**
+     * The managed repositories which are asked at once through the aggregating proxy.
+     */
+    SetProperty<String> getAggregatedRepositoryNames();
+
+    /**
+     * The latency of the managed repositories measured while configuring the build.
+     */
+    MapProperty<String, Long> getLatencyMillis();
+
+    /**
+     * Whether the build runs offline, so no repository is looked up.
+     */
+    Property<Boolean> getOffline();
+  }
+
+  private final Set<ResolvedModule> resolvedModules = ConcurrentHashMap.newKeySet();
+  private final Set<String> unresolvedGroups = ConcurrentHashMap.newKeySet();
+
+  public void record(ResolutionResult resolutionResult) {
+    resolutionResult.getAllComponents().forEach(component -> {
+      if (component.getId() instanceof ModuleComponentIdentifier module) {
+        resolvedModules.add(new ResolvedModule(module.getGroup(), module.getModule(), module.getVersion()));
+      }
+    });
+    resolutionResult.getAllDependencies().forEach(dependency -> {
+      if (dependency instanceof UnresolvedDependencyResult unresolvedDependency
+          && unresolvedDependency.getAttempted() instanceof ModuleComponentSelector selector) {
+        unresolvedGroups.add(selector.getGroup());
+      }
+    });
+  }
+
+  @Override
+  public void close() {
+    if (resolvedModules.isEmpty() && unresolvedGroups.isEmpty() && getParameters().getLatencyMillis().get().isEmpty()) {
+      return;
+    }
+    var repositoryNames = getParameters().getRepositoryNames().get();
+    var indexFile = getParameters().getIndexFile().get().getAsFile().toPath();
+    var index = RepositoryRoutingIndex.load(indexFile);
+    if (!getParameters().getOffline().getOrElse(false)) {
+      lookUpUnknownGroups(index, repositoryNames);
+    }
+    unresolvedGroups.forEach(index::forget);
+    index.save(indexFile);
+    if (getParameters().getStatisticsFile().isPresent()) {
+      var statisticsFile = getParameters().getStatisticsFile().get().getAsFile().toPath();
+      var statistics = RepositoryStatistics.load(statisticsFile);
+      getParameters().getLatencyMillis().get().forEach(statistics::recordLatency);
+      recordLookups(statistics, index, repositoryNames, getParameters().getExclusiveRepositoryNames().get());
+      statistics.save(statisticsFile);
+    }
+  }
+
+  /**
+   * Looks up one module of each group which no managed repository is known to serve, concurrently for all groups.
+   */
+  private void lookUpUnknownGroups(RepositoryRoutingIndex index, List<String> repositoryNames) {
+    var modulesByUnknownGroup = new LinkedHashMap<String, ResolvedModule>();
+    resolvedModules.stream()
+        .filter(module -> !unresolvedGroups.contains(module.group()))
+        .filter(module -> servingRepository(index, module.group(), repositoryNames) == null)
+        .forEach(module -> modulesByUnknownGroup.putIfAbsent(module.group(), module));
+    if (modulesByUnknownGroup.isEmpty()) {
+      return;
+    }
+    var client = HttpClient.newBuilder()
+        .connectTimeout(LOOKUP_TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+    var lookups = new HashMap<String, CompletableFuture<String>>();
+    modulesByUnknownGroup.forEach((group, module) -> lookups.put(group, lookUp(client, module, repositoryNames, 0)));
+    lookups.forEach((group, lookup) -> {
+      var repositoryName = lookup.join();
+      if (repositoryName != null) {
+        index.record(group, repositoryName);
+      }
+    });
+    logger.info("- looked up {} new groups in the managed repositories", lookups.size());
+  }
+
+  /**
+   * Asks the repositories from the given position on until one serves the module, as Gradle does.
+   */
+  private CompletableFuture<String> lookUp(HttpClient client, ResolvedModule module, List<String> repositoryNames, int position) {
+    if (position >= repositoryNames.size()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    var repositoryName = repositoryNames.get(position);
+    var url = getParameters().getRepositoryUrls().get().get(repositoryName);
+    URI uri;
+    try {
+      uri = URI.create(url.endsWith("/") ? url : url + "/").resolve(module.path());
+    } catch (RuntimeException e) {
+      logger.info("- could not look up '{}' in '{}': {}", module.group(), repositoryName, e.getMessage());
+      return lookUp(client, module, repositoryNames, position + 1);
+    }
+    CompletableFuture<Boolean> served;
+    if ("file".equals(uri.getScheme())) {
+      served = CompletableFuture.completedFuture(Files.isRegularFile(Path.of(uri)));
+    } else {
+      var requestBuilder = HttpRequest.newBuilder(uri)
+          .timeout(LOOKUP_TIMEOUT)
+          .method("HEAD", HttpRequest.BodyPublishers.noBody());
+      var headerName = getParameters().getAuthenticationHeaderNames().get().get(repositoryName);
+      if (headerName != null) {
+        requestBuilder.header(headerName, getParameters().getAuthenticationHeaderValues().get().get(repositoryName));
+      }
+      served = client.sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.discarding())
+          .handle((response, failure) -> failure == null && response.statusCode() / 100 == 2);
+    }
+    return served.thenCompose(isServed -> isServed
+        ? CompletableFuture.completedFuture(repositoryName)
+        : lookUp(client, module, repositoryNames, position + 1));
+  }
+
+  /**
+   * The first managed repository in the order they are asked which is known to serve the group.
+   */
+  private static String servingRepository(RepositoryRoutingIndex index, String group, List<String> repositoryNames) {
+    var servingRepositoryNames = index.getRepositories(group);
+    return repositoryNames.stream()
+        .filter(servingRepositoryNames::contains)
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * A module served by a repository is a hit for it and a miss for every non-exclusive repository asked before it.
+   * Modules served by repositories which are not managed, e.g. mavenCentral, are a miss for all managed ones.
+   */
+  private void recordLookups(RepositoryStatistics statistics, RepositoryRoutingIndex index, List<String> repositoryNames,
+                             Set<String> exclusiveRepositoryNames) {
+    var aggregatedRepositoryNames = getParameters().getAggregatedRepositoryNames().get();
+    var hits = new HashMap<String, Long>();
+    var misses = new HashMap<String, Long>();
+    resolvedModules.forEach(module -> {
+      var repositoryName = servingRepository(index, module.group(), repositoryNames);
+      if (repositoryName != null && aggregatedRepositoryNames.contains(repositoryName)) {
+        // all aggregated repositories were asked at once
+        return;
+      }
+      var position = repositoryName == null ? repositoryNames.size() : repositoryNames.indexOf(repositoryName);
+      if (repositoryName != null) {
+        hits.merge(repositoryName, 1L, Long::sum);
+      }
+      repositoryNames.subList(0, position).stream()
+          .filter(name -> !exclusiveRepositoryNames.contains(name))
+          .forEach(name -> misses.merge(name, 1L, Long::sum));
+    });
+    repositoryNames.forEach(repositoryName ->
+        statistics.recordLookups(repositoryName, hits.getOrDefault(repositoryName, 0L), misses.getOrDefault(repositoryName, 0L)));
+  }
+
+  private record ResolvedModule(String group, String module, String version) {
+
+    /**
+     * The path of the module in a maven repository, the metadata for snapshots as their files are timestamped.
+     */
+    String path() {
+      var versionPath = "%s/%s/%s/".formatted(group.replace('.', '/'), module, version);
+      return version.endsWith(SNAPSHOT_VERSION)
+          ? versionPath + "maven-metadata.xml"
+          : versionPath + "%s-%s.pom".formatted(module, version);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Remembers across builds how often a managed repository served a module (hit) or was asked in vain because a later
+ * repository served it (miss), and how long it takes to answer. It is stored as a properties file with one line per
+ * repository: {@code repository 1=hits,misses,latencyMillis}.
+ * <p>
+ * Gradle asks the repositories in order until one serves the module, so {@link #order(List)} puts the repositories
+ * with the best ratio of hit rate to latency first, which minimizes the expected number and time of lookups.
+ */
+public class RepositoryStatistics {
+
+  private static final Logger logger = Logging.getLogger(RepositoryStatistics.class);
+  private static final String VALUE_SEPARATOR = ",";
+  // older lookups are halved once a repository has seen this many, so the statistics follow changes
+  private static final long MAX_LOOKUPS = 10_000;
+  private static final double LATENCY_WEIGHT = 0.3;
+
+  private final Map<String, Entry> entries = new TreeMap<>();
+
+  public static RepositoryStatistics load(Path statisticsFile) {
+    var statistics = new RepositoryStatistics();
+    if (!Files.isRegularFile(statisticsFile)) {
+      return statistics;
+    }
+    var properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(statisticsFile)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      logger.info("- ignoring unreadable repository statistics '{}': {}", statisticsFile, e.getMessage());
+      return statistics;
+    }
+    properties.stringPropertyNames().forEach(repositoryName -> {
+      var values = properties.getProperty(repositoryName).split(VALUE_SEPARATOR);
+      try {
+        statistics.entries.put(repositoryName, new Entry(
+            Long.parseLong(values[0]), Long.parseLong(values[1]), Double.parseDouble(values[2])));
+      } catch (RuntimeException e) {
+        logger.info("- ignoring unreadable statistics of repository '{}'", repositoryName);
+      }
+    });
+    return statistics;
+  }
+
+  public void save(Path statisticsFile) {
+    var properties = new Properties();
+    entries.forEach((repositoryName, entry) -> properties.setProperty(repositoryName, String.format(Locale.ROOT,
+        "%d,%d,%.1f", entry.hits(), entry.misses(), entry.latencyMillis())));
+    try {
+      Files.createDirectories(statisticsFile.getParent());
+      try (Writer writer = Files.newBufferedWriter(statisticsFile)) {
+        properties.store(writer, "Gradle Repository Manager - repository hits, misses and latency");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void recordLookups(String repositoryName, long hits, long misses) {
+    entries.compute(repositoryName, (name, entry) -> {
+      var current = entry == null ? Entry.UNKNOWN : entry;
+      var updated = new Entry(current.hits() + hits, current.misses() + misses, current.latencyMillis());
+      if (updated.hits() + updated.misses() > MAX_LOOKUPS) {
+        updated = new Entry(updated.hits() / 2, updated.misses() / 2, updated.latencyMillis());
+      }
+      return updated;
+    });
+  }
+
+  /**
+   * Adds a measured latency to the moving average of the repository.
+   */
+  public void recordLatency(String repositoryName, double latencyMillis) {
+    entries.compute(repositoryName, (name, entry) -> {
+      var current = entry == null ? Entry.UNKNOWN : entry;
+      var average = current.latencyMillis() <= 0
+          ? latencyMillis
+          : LATENCY_WEIGHT * latencyMillis + (1 - LATENCY_WEIGHT) * current.latencyMillis();
+      return new Entry(current.hits(), current.misses(), average);
+    });
+  }
+
+  public long getHits(String repositoryName) {
+    return entries.getOrDefault(repositoryName, Entry.UNKNOWN).hits();
+  }
+
+  public long getMisses(String repositoryName) {
+    return entries.getOrDefault(repositoryName, Entry.UNKNOWN).misses();
+  }
+
+  public double getLatencyMillis(String repositoryName) {
+    return entries.getOrDefault(repositoryName, Entry.UNKNOWN).latencyMillis();
+  }
+
+  /**
+   * The smoothed share of lookups the repository answered, 0.5 for a repository without statistics.
+   */
+  public double getHitRate(String repositoryName) {
+    var entry = entries.getOrDefault(repositoryName, Entry.UNKNOWN);
+    return (entry.hits() + 1d) / (entry.hits() + entry.misses() + 2d);
+  }
+
+  /**
+   * Orders the repositories by hit rate per millisecond of latency, repositories without a measured latency count
+   * with the average one. Pinned and exclusive repositories keep their position, the others are only moved between
+   * the remaining positions. Repositories with equal expected cost keep their declared order.
+   */
+  public List<PlannedRepository> order(List<PlannedRepository> repositories) {
+    var averageLatency = repositories.stream()
+        .mapToDouble(planned -> getLatencyMillis(planned.repository().getName()))
+        .filter(latency -> latency > 0)
+        .average()
+        .orElse(1);
+    var movableRepositories = repositories.stream()
+        .filter(planned -> !isFixed(planned))
+        .sorted(Comparator.comparingDouble((PlannedRepository planned) ->
+            getHitRate(planned.repository().getName()) / latency(planned, averageLatency)).reversed())
+        .iterator();
+    return repositories.stream()
+        .map(planned -> isFixed(planned) ? planned : movableRepositories.next())
+        .toList();
+  }
+
+  private double latency(PlannedRepository planned, double averageLatency) {
+    var latency = getLatencyMillis(planned.repository().getName());
+    return latency > 0 ? latency : averageLatency;
+  }
+
+  private static boolean isFixed(PlannedRepository planned) {
+    return planned.repository().isPinned() || planned.repository().isExclusive();
+  }
+
+  private record Entry(long hits, long misses, double latencyMillis) {
+
+    private static final Entry UNKNOWN = new Entry(0, 0, 0);
+  }
+}
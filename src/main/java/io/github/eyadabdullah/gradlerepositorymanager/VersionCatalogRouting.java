@@ -0,0 +1,170 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Routes the library groups of the version catalogs to the repository which owns them: every other repository, the
+ * default repositories included, excludes the group, so a catalog dependency is only requested from its owner. The
+ * owner of a group is declared by its name, by {@code com.example.*} for a namespace of groups or by {@code *} for all
+ * other groups, and may be one of the default repositories {@code mavenCentral}, {@code mavenLocal} or
+ * {@code gradlePluginPortal}; each default repository has its own content filter, so the other two still exclude the
+ * group. Only the {@code [libraries]} of a catalog are read.
+ */
+public class VersionCatalogRouting {
+
+  public static final String DEFAULT_VERSION_CATALOG = "gradle/libs.versions.toml";
+  public static final String ALL_GROUPS = "*";
+  private static final String GROUP_WILDCARD = ".*";
+  private static final String LIBRARIES = "libraries";
+
+  private static final Logger logger = Logging.getLogger(VersionCatalogRouting.class);
+
+  private final Map<String, String> groupRepositories = new HashMap<>();
+  private final Map<String, String> wildcardGroupRepositories = new HashMap<>();
+  private String otherGroupsRepository;
+
+  /**
+   * @param groupRepositories the name of the owning repository by group
+   */
+  public static VersionCatalogRouting of(Map<String, String> groupRepositories) {
+    var routing = new VersionCatalogRouting();
+    groupRepositories.forEach((group, repositoryName) -> {
+      if (ALL_GROUPS.equals(group)) {
+        routing.otherGroupsRepository = repositoryName;
+      } else if (group.endsWith(GROUP_WILDCARD)) {
+        routing.wildcardGroupRepositories.put(group.substring(0, group.length() - GROUP_WILDCARD.length()), repositoryName);
+      } else {
+        routing.groupRepositories.put(group, repositoryName);
+      }
+    });
+    return routing;
+  }
+
+  /**
+   * The groups of all libraries of a version catalog, declared as {@code "group:name:version"}, with
+   * {@code module = "group:name"} or with {@code group = "group"}, in any TOML notation.
+   *
+   * @throws IllegalArgumentException if the catalog is no valid TOML document
+   */
+  public static Set<String> parseLibraryGroups(String catalog) {
+    var groups = new TreeSet<String>();
+    VersionCatalogToml.readStrings(catalog).forEach((key, value) -> {
+      if (!key.get(0).equals(LIBRARIES)) {
+        return;
+      }
+      if (key.size() == 2 || key.size() == 3 && key.get(2).equals("module")) {
+        var separator = value.indexOf(':');
+        if (separator > 0) {
+          groups.add(value.substring(0, separator).strip());
+        }
+      } else if (key.size() == 3 && key.get(2).equals("group")) {
+        groups.add(value.strip());
+      }
+    });
+    return groups;
+  }
+
+  /**
+   * @return the name of the repository owning the group, null if it is not routed
+   */
+  public String findRepository(String group) {
+    var repositoryName = groupRepositories.get(group);
+    if (repositoryName != null) {
+      return repositoryName;
+    }
+    var candidate = group;
+    while (!wildcardGroupRepositories.isEmpty()) {
+      repositoryName = wildcardGroupRepositories.get(candidate);
+      var separator = candidate.lastIndexOf('.');
+      if (repositoryName != null) {
+        return repositoryName;
+      }
+      if (separator < 0) {
+        break;
+      }
+      candidate = candidate.substring(0, separator);
+    }
+    return otherGroupsRepository;
+  }
+
+  /**
+   * Excludes each catalog group from all repositories but its owner and warns about the groups without an owner.
+   * Groups a repository includes by its own content filter are claimed by it, but not routed.
+   */
+  public RepositoryPlan apply(RepositoryPlan plan, Set<String> catalogGroups) {
+    var managedNames = plan.getRepositories().stream()
+        .map(planned -> planned.repository().getName())
+        .collect(Collectors.toSet());
+    var excludesByRepository = new HashMap<String, List<RepositoryContentFilter.Rule>>();
+    var defaultRepositoryExcludes = new HashMap<String, List<RepositoryContentFilter.Rule>>();
+    var unclaimedGroups = new TreeSet<String>();
+    var unmanagedOwners = new TreeMap<String, String>();
+    var routedGroups = new LinkedHashMap<String, String>();
+    for (var group : catalogGroups) {
+      var owner = findRepository(group);
+      if (owner == null) {
+        if (!isIncludedByRepository(plan, group)) {
+          unclaimedGroups.add(group);
+        }
+        continue;
+      }
+      if (!managedNames.contains(owner) && !RepositoryPlan.DEFAULT_REPOSITORY_NAMES.contains(owner)) {
+        unmanagedOwners.put(group, owner);
+        continue;
+      }
+      var exclude = new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP, group, null, null);
+      plan.getRepositories().stream()
+          .filter(planned -> !planned.repository().getName().equals(owner))
+          .forEach(planned -> excludesByRepository
+              .computeIfAbsent(planned.repository().getName(), name -> new ArrayList<>())
+              .add(exclude));
+      RepositoryPlan.DEFAULT_REPOSITORY_NAMES.stream()
+          .filter(repositoryName -> !repositoryName.equals(owner))
+          .forEach(repositoryName -> defaultRepositoryExcludes
+              .computeIfAbsent(repositoryName, name -> new ArrayList<>())
+              .add(exclude));
+      routedGroups.put(group, owner);
+    }
+    if (!unmanagedOwners.isEmpty()) {
+      logger.warn("- catalog groups are routed to repositories which are not managed: {}", unmanagedOwners);
+    }
+    if (!unclaimedGroups.isEmpty()) {
+      logger.warn("- catalog groups are not claimed by any managed repository: {}", String.join(", ", unclaimedGroups));
+    }
+    logger.info("- routing {} catalog groups to their repositories: {}", routedGroups.size(), routedGroups);
+    if (routedGroups.isEmpty()) {
+      return plan;
+    }
+    var routedPlan = plan.withRepositories(plan.getRepositories().stream()
+        .map(planned -> planned.withContentFilter(planned.contentFilter()
+            .withRules(excludesByRepository.getOrDefault(planned.repository().getName(), List.of()))))
+        .toList());
+    for (var defaultRepository : defaultRepositoryExcludes.entrySet()) {
+      routedPlan = routedPlan.withDefaultRepositoryFilter(defaultRepository.getKey(),
+          routedPlan.getDefaultRepositoryFilter(defaultRepository.getKey()).withRules(defaultRepository.getValue()));
+    }
+    return routedPlan;
+  }
+
+  private static boolean isIncludedByRepository(RepositoryPlan plan, String group) {
+    return plan.getRepositories().stream()
+        .flatMap(planned -> planned.contentFilter().getRules().stream())
+        .filter(RepositoryContentFilter.Rule::include)
+        .anyMatch(rule -> switch (rule.type()) {
+          case GROUP, MODULE -> group.equals(rule.group());
+          case GROUP_REGEX, VERSION_REGEX -> group.matches(rule.group());
+        });
+  }
+}
@@ -0,0 +1,384 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the string values of a version catalog by their full key, e.g. {@code [libraries, guava, module]}. A catalog
+ * is a TOML document, so all notations Gradle accepts are read the same way: bare, quoted and dotted keys, tables,
+ * inline tables, arrays, basic, literal and multi-line strings and comments. Values which are no strings are skipped,
+ * the elements of arrays are keyed by their index. The plugin API does not offer a TOML parser to plugins, and Gradle
+ * only exposes the catalog model to the projects, after the repositories are planned.
+ */
+final class VersionCatalogToml {
+
+  private final String toml;
+  private final Map<List<String>, String> strings = new LinkedHashMap<>();
+  private final Map<List<String>, Integer> arrayTableSizes = new HashMap<>();
+  private int position;
+  private int line = 1;
+
+  private VersionCatalogToml(String toml) {
+    this.toml = toml;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the catalog is no valid TOML document
+   */
+  static Map<List<String>, String> readStrings(String toml) {
+    var reader = new VersionCatalogToml(toml);
+    reader.readDocument();
+    return reader.strings;
+  }
+
+  private void readDocument() {
+    List<String> table = List.of();
+    while (true) {
+      skipWhitespaceAndComments(true);
+      if (isAtEnd()) {
+        return;
+      }
+      if (peek() == '[') {
+        table = readTableHeader();
+      } else {
+        readKeyValue(table);
+      }
+      skipWhitespace();
+      skipComment();
+      if (!isAtEnd() && !skipNewline()) {
+        throw invalid("expected the end of the line");
+      }
+    }
+  }
+
+  private List<String> readTableHeader() {
+    position++;
+    var arrayTable = peek() == '[';
+    if (arrayTable) {
+      position++;
+    }
+    skipWhitespace();
+    var key = readKey();
+    expect(']');
+    if (!arrayTable) {
+      return key;
+    }
+    expect(']');
+    var index = arrayTableSizes.merge(key, 1, Integer::sum) - 1;
+    return append(key, String.valueOf(index));
+  }
+
+  private void readKeyValue(List<String> table) {
+    var key = readKey();
+    expect('=');
+    skipWhitespace();
+    readValue(concat(table, key));
+  }
+
+  /**
+   * A dotted key, the whitespace after it is skipped.
+   */
+  private List<String> readKey() {
+    var key = new ArrayList<String>();
+    while (true) {
+      key.add(readSimpleKey());
+      skipWhitespace();
+      if (isAtEnd() || peek() != '.') {
+        return key;
+      }
+      position++;
+      skipWhitespace();
+    }
+  }
+
+  private String readSimpleKey() {
+    if (isAtEnd()) {
+      throw invalid("expected a key");
+    }
+    if (peek() == '"') {
+      return readBasicString();
+    }
+    if (peek() == '\'') {
+      return readLiteralString();
+    }
+    var start = position;
+    while (!isAtEnd() && isBareKeyCharacter(peek())) {
+      position++;
+    }
+    if (start == position) {
+      throw invalid("expected a key");
+    }
+    return toml.substring(start, position);
+  }
+
+  private void readValue(List<String> key) {
+    if (isAtEnd()) {
+      throw invalid("expected a value");
+    }
+    switch (peek()) {
+      case '"' -> strings.put(key, startsWith("\"\"\"") ? readMultiLineBasicString() : readBasicString());
+      case '\'' -> strings.put(key, startsWith("'''") ? readMultiLineLiteralString() : readLiteralString());
+      case '{' -> readInlineTable(key);
+      case '[' -> readArray(key);
+      default -> readScalar();
+    }
+  }
+
+  private void readInlineTable(List<String> key) {
+    position++;
+    while (true) {
+      skipWhitespaceAndComments(true);
+      if (isAtEnd()) {
+        throw invalid("unterminated inline table");
+      }
+      if (peek() == '}') {
+        position++;
+        return;
+      }
+      readKeyValue(key);
+      skipWhitespaceAndComments(true);
+      if (!isAtEnd() && peek() == ',') {
+        position++;
+      } else if (isAtEnd() || peek() != '}') {
+        throw invalid("expected ',' or '}' in inline table");
+      }
+    }
+  }
+
+  private void readArray(List<String> key) {
+    position++;
+    var index = 0;
+    while (true) {
+      skipWhitespaceAndComments(true);
+      if (isAtEnd()) {
+        throw invalid("unterminated array");
+      }
+      if (peek() == ']') {
+        position++;
+        return;
+      }
+      readValue(append(key, String.valueOf(index++)));
+      skipWhitespaceAndComments(true);
+      if (!isAtEnd() && peek() == ',') {
+        position++;
+      } else if (isAtEnd() || peek() != ']') {
+        throw invalid("expected ',' or ']' in array");
+      }
+    }
+  }
+
+  /**
+   * A number, boolean or date, which is not needed to route the catalog.
+   */
+  private void readScalar() {
+    var start = position;
+    // a date and its time may be separated by a space
+    while (!isAtEnd() && (isBareKeyCharacter(peek()) || "+.:".indexOf(peek()) >= 0
+        || peek() == ' ' && position - start == 10 && position + 1 < toml.length() && Character.isDigit(toml.charAt(position + 1)))) {
+      position++;
+    }
+    if (start == position) {
+      throw invalid("unexpected character '%s'".formatted(peek()));
+    }
+  }
+
+  private String readBasicString() {
+    position++;
+    var value = new StringBuilder();
+    while (true) {
+      if (isAtEnd() || peek() == '\n') {
+        throw invalid("unterminated string");
+      }
+      var character = toml.charAt(position++);
+      if (character == '"') {
+        return value.toString();
+      }
+      if (character == '\\') {
+        readEscape(value);
+      } else {
+        value.append(character);
+      }
+    }
+  }
+
+  private String readMultiLineBasicString() {
+    position += 3;
+    skipNewline();
+    var value = new StringBuilder();
+    while (true) {
+      if (isAtEnd()) {
+        throw invalid("unterminated string");
+      }
+      if (startsWith("\"\"\"")) {
+        // up to two quotes may precede the closing delimiter
+        while (startsWith("\"\"\"\"")) {
+          value.append('"');
+          position++;
+        }
+        position += 3;
+        return value.toString();
+      }
+      var character = toml.charAt(position++);
+      if (character == '\\') {
+        var escapedLineEnd = position;
+        skipWhitespace();
+        if (skipNewline()) {
+          // a backslash at the end of a line trims the line break and the whitespace after it
+          do {
+            skipWhitespace();
+          } while (skipNewline());
+        } else {
+          position = escapedLineEnd;
+          readEscape(value);
+        }
+      } else {
+        if (character == '\n') {
+          line++;
+        }
+        value.append(character);
+      }
+    }
+  }
+
+  private String readLiteralString() {
+    position++;
+    var end = toml.indexOf('\'', position);
+    var lineEnd = toml.indexOf('\n', position);
+    if (end < 0 || lineEnd >= 0 && lineEnd < end) {
+      throw invalid("unterminated string");
+    }
+    var value = toml.substring(position, end);
+    position = end + 1;
+    return value;
+  }
+
+  private String readMultiLineLiteralString() {
+    position += 3;
+    skipNewline();
+    var end = toml.indexOf("'''", position);
+    if (end < 0) {
+      throw invalid("unterminated string");
+    }
+    // up to two quotes may precede the closing delimiter
+    while (toml.startsWith("''''", end)) {
+      end++;
+    }
+    var value = toml.substring(position, end);
+    line += (int) value.chars().filter(character -> character == '\n').count();
+    position = end + 3;
+    return value;
+  }
+
+  private void readEscape(StringBuilder value) {
+    if (isAtEnd()) {
+      throw invalid("unterminated string");
+    }
+    var escaped = toml.charAt(position++);
+    switch (escaped) {
+      case 'b' -> value.append('\b');
+      case 't' -> value.append('\t');
+      case 'n' -> value.append('\n');
+      case 'f' -> value.append('\f');
+      case 'r' -> value.append('\r');
+      case 'e' -> value.append('\u001b');
+      case '"' -> value.append('"');
+      case '\\' -> value.append('\\');
+      case 'x' -> value.appendCodePoint(readCodePoint(2));
+      case 'u' -> value.appendCodePoint(readCodePoint(4));
+      case 'U' -> value.appendCodePoint(readCodePoint(8));
+      default -> throw invalid("invalid escape '\\%s'".formatted(escaped));
+    }
+  }
+
+  private int readCodePoint(int digits) {
+    if (position + digits > toml.length()) {
+      throw invalid("invalid unicode escape");
+    }
+    try {
+      var codePoint = Integer.parseInt(toml, position, position + digits, 16);
+      position += digits;
+      return codePoint;
+    } catch (NumberFormatException e) {
+      throw invalid("invalid unicode escape");
+    }
+  }
+
+  private void skipWhitespaceAndComments(boolean newlines) {
+    while (true) {
+      skipWhitespace();
+      skipComment();
+      if (!newlines || !skipNewline()) {
+        return;
+      }
+    }
+  }
+
+  private void skipWhitespace() {
+    while (!isAtEnd() && (peek() == ' ' || peek() == '\t')) {
+      position++;
+    }
+  }
+
+  private void skipComment() {
+    if (!isAtEnd() && peek() == '#') {
+      while (!isAtEnd() && peek() != '\n' && peek() != '\r') {
+        position++;
+      }
+    }
+  }
+
+  private boolean skipNewline() {
+    if (startsWith("\r\n")) {
+      position += 2;
+    } else if (!isAtEnd() && peek() == '\n') {
+      position++;
+    } else {
+      return false;
+    }
+    line++;
+    return true;
+  }
+
+  private void expect(char expected) {
+    skipWhitespace();
+    if (isAtEnd() || peek() != expected) {
+      throw invalid("expected '%s'".formatted(expected));
+    }
+    position++;
+  }
+
+  private boolean startsWith(String prefix) {
+    return toml.startsWith(prefix, position);
+  }
+
+  private char peek() {
+    return toml.charAt(position);
+  }
+
+  private boolean isAtEnd() {
+    return position >= toml.length();
+  }
+
+  private IllegalArgumentException invalid(String reason) {
+    return new IllegalArgumentException("line %d: %s".formatted(line, reason));
+  }
+
+  private static boolean isBareKeyCharacter(char character) {
+    return character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z'
+        || character >= '0' && character <= '9' || character == '_' || character == '-';
+  }
+
+  private static List<String> append(List<String> key, String element) {
+    return concat(key, List.of(element));
+  }
+
+  private static List<String> concat(List<String> first, List<String> second) {
+    var key = new ArrayList<String>(first.size() + second.size());
+    key.addAll(first);
+    key.addAll(second);
+    return List.copyOf(key);
+  }
+}
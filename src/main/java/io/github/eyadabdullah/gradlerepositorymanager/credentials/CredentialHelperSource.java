@@ -0,0 +1,127 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryCredentials;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Asks a credential helper for the credential of each repository url, concurrently. The helper speaks the
+ * <a href="https://git-scm.com/docs/git-credential#IOFMT">git credential</a> format: it gets {@code url=<url>} on
+ * stdin and answers with {@code username=} and {@code password=} lines, or {@code token_name=} and
+ * {@code token_value=} for header authentication. For example {@code git credential fill} can be used as helper.
+ */
+public class CredentialHelperSource implements CredentialSource {
+
+  private static final Logger logger = Logging.getLogger(CredentialHelperSource.class);
+
+  private final List<String> command;
+  private final Supplier<Duration> timeout;
+
+  public CredentialHelperSource(List<String> command, Duration timeout) {
+    this(command, () -> timeout);
+  }
+
+  /**
+   * @param timeout queried each time the helper runs, so a timeout configured later still applies
+   */
+  public CredentialHelperSource(List<String> command, Supplier<Duration> timeout) {
+    this.command = List.copyOf(command);
+    this.timeout = timeout;
+  }
+
+  @Override
+  public String getFingerprint(Collection<String> repositoryUrls) {
+    return String.join(" ", command) + "|" + repositoryUrls.stream().sorted().toList();
+  }
+
+  @Override
+  public List<RepositoryCredentials> loadCredentials(Collection<String> repositoryUrls, Executor executor) {
+    var requests = repositoryUrls.stream()
+        .distinct()
+        .map(url -> CompletableFuture.supplyAsync(() -> requestCredential(url, executor), executor))
+        .toList();
+    return requests.stream()
+        .map(CompletableFuture::join)
+        .flatMap(Optional::stream)
+        .toList();
+  }
+
+  private Optional<RepositoryCredentials> requestCredential(String url, Executor executor) {
+    try {
+      var process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+      // the answer is read while the helper runs, a helper blocked on a full pipe would never exit
+      var output = CompletableFuture.supplyAsync(() -> readOutput(process), executor);
+      try (var stdin = process.getOutputStream()) {
+        stdin.write("url=%s%n%n".formatted(url).getBytes(StandardCharsets.UTF_8));
+      }
+      if (!process.waitFor(timeout.get().toMillis(), TimeUnit.MILLISECONDS)) {
+        process.destroyForcibly();
+        logger.info("- credential helper timed out for '{}'", url);
+        return Optional.empty();
+      }
+      if (process.exitValue() != 0) {
+        logger.info("- credential helper has no credential for '{}' (exit code {})", url, process.exitValue());
+        return Optional.empty();
+      }
+      return parseCredential(url, output.join());
+    } catch (IOException | CompletionException e) {
+      logger.info("- could not run credential helper for '{}': {}", url, e.getMessage());
+      return Optional.empty();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    }
+  }
+
+  private static String readOutput(Process process) {
+    try (var stdout = process.getInputStream()) {
+      return new String(stdout.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static Optional<RepositoryCredentials> parseCredential(String url, String output) {
+    var credential = RepositoryCredentials.forIdentifier(CredentialSource.toIdentifier("helper", url));
+    credential.setUrl(url);
+    output.lines().forEach(line -> {
+      var separator = line.indexOf('=');
+      if (separator < 0) {
+        return;
+      }
+      var value = line.substring(separator + 1);
+      switch (line.substring(0, separator)) {
+        case "username" -> credential.setUsername(value);
+        case "password" -> credential.setPassword(value);
+        case "token_name" -> credential.setTokenName(value);
+        case "token_value" -> credential.setTokenValue(value);
+        default -> {
+          // e.g. protocol or host
+        }
+      }
+    });
+    if (Objects.isNull(credential.getPassword()) && Objects.isNull(credential.getTokenValue())) {
+      return Optional.empty();
+    }
+    return Optional.of(credential);
+  }
+
+  @Override
+  public String toString() {
+    return "credential helper " + String.join(" ", command);
+  }
+}
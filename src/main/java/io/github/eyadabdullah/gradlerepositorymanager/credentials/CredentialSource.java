@@ -0,0 +1,37 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryCredentials;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Provides repository credentials besides the {@code repository_manager_repo_*} system properties and environment
+ * variables. Sources are registered with
+ * {@link io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension#credentialSource}.
+ * <p>
+ * Loaded credentials are kept for the lifetime of the Gradle daemon as long as the fingerprint of their source does
+ * not change, see {@link CredentialSourceCache}.
+ */
+public interface CredentialSource {
+
+  /**
+   * Identifies the source together with everything it reads, e.g. a file path with its size and modification time.
+   * It is computed on every build, so it must be cheap.
+   */
+  String getFingerprint(Collection<String> repositoryUrls);
+
+  /**
+   * Loads the credentials. Long-running work, like invoking a process per repository, may be run on the executor.
+   */
+  List<RepositoryCredentials> loadCredentials(Collection<String> repositoryUrls, Executor executor) throws IOException;
+
+  /**
+   * Turns any value, like a host name, into a valid credential identifier.
+   */
+  static String toIdentifier(String prefix, String value) {
+    return (prefix + "_" + value).toLowerCase(Locale.ROOT).replaceAll("[^a-z\\d_]", "_");
+  }
+}
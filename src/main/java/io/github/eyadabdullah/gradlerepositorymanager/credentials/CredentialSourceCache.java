@@ -0,0 +1,95 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryCredentials;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Keeps the credentials of each {@link CredentialSource} by its fingerprint. {@link #DAEMON} lives as long as the
+ * plugin's class loader, which Gradle reuses between the builds of a daemon while the plugin version does not change,
+ * so warm builds neither parse files nor start credential helpers again.
+ */
+public class CredentialSourceCache {
+
+  public static final CredentialSourceCache DAEMON = new CredentialSourceCache(Clock.systemUTC());
+  private static final Logger logger = Logging.getLogger(CredentialSourceCache.class);
+
+  private final Map<String, CachedCredentials> cache = new ConcurrentHashMap<>();
+  private final Clock clock;
+
+  CredentialSourceCache(Clock clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the credentials of all sources in their order. Sources without fresh cached credentials are loaded
+   * concurrently, a source that fails to load is skipped with a warning and loaded again by the next build.
+   */
+  public List<RepositoryCredentials> load(List<CredentialSource> sources, Collection<String> repositoryUrls, Duration timeToLive) {
+    var now = clock.millis();
+    var credentialsBySource = new HashMap<CredentialSource, List<RepositoryCredentials>>();
+    var loads = new HashMap<CredentialSource, CompletableFuture<List<RepositoryCredentials>>>();
+    var threadCount = new AtomicInteger();
+    var executor = Executors.newCachedThreadPool(runnable -> {
+      var thread = new Thread(runnable, "repository-manager-credentials-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      for (var source : sources) {
+        var key = cacheKey(source, repositoryUrls);
+        var cached = cache.get(key);
+        if (cached != null && now - cached.loadedAt() < timeToLive.toMillis()) {
+          credentialsBySource.put(source, cached.credentials());
+        } else {
+          loads.put(source, CompletableFuture.supplyAsync(() -> loadSource(source, repositoryUrls, executor), executor));
+        }
+      }
+      loads.forEach((source, load) -> {
+        var credentials = load.join();
+        if (credentials == null) {
+          credentialsBySource.put(source, List.of());
+        } else {
+          credentialsBySource.put(source, credentials);
+          cache.put(cacheKey(source, repositoryUrls), new CachedCredentials(credentials, now));
+        }
+      });
+    } finally {
+      executor.shutdownNow();
+    }
+    logger.info("- credential sources: {} loaded, {} reused", loads.size(), sources.size() - loads.size());
+    var credentials = new ArrayList<RepositoryCredentials>();
+    sources.forEach(source -> credentials.addAll(credentialsBySource.get(source)));
+    return credentials;
+  }
+
+  private static List<RepositoryCredentials> loadSource(CredentialSource source, Collection<String> repositoryUrls,
+                                                        Executor executor) {
+    try {
+      return List.copyOf(source.loadCredentials(repositoryUrls, executor));
+    } catch (Exception e) {
+      logger.warn("- could not load credentials from {}: {}", source, e.getMessage());
+      return null;
+    }
+  }
+
+  private static String cacheKey(CredentialSource source, Collection<String> repositoryUrls) {
+    return source.getClass().getName() + "|" + source.getFingerprint(repositoryUrls);
+  }
+
+  private record CachedCredentials(List<RepositoryCredentials> credentials, long loadedAt) {
+  }
+}
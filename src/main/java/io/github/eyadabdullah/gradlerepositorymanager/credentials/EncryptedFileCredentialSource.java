@@ -0,0 +1,97 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryCredentials;
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryManagerService;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.gradle.api.provider.Provider;
+
+/**
+ * Reads {@code repository_manager_repo_*} properties from a file encrypted with
+ * {@code openssl enc -aes-256-cbc -pbkdf2 -salt -in credentials.properties -out credentials.properties.enc}.
+ * The file is read through a provider of its contents, so the configuration cache tracks it.
+ */
+public class EncryptedFileCredentialSource implements CredentialSource {
+
+  private static final byte[] SALT_HEADER = "Salted__".getBytes(StandardCharsets.US_ASCII);
+  private static final int SALT_LENGTH = 8;
+  private static final int KEY_LENGTH = 32;
+  private static final int IV_LENGTH = 16;
+  // openssl's default for -pbkdf2
+  private static final int ITERATIONS = 10_000;
+
+  private final Path encryptedFile;
+  private final Provider<byte[]> contents;
+  private final Provider<String> passphrase;
+
+  /**
+   * @param contents the bytes of the file, e.g. {@code providers.fileContents(file).getAsBytes()}
+   */
+  public EncryptedFileCredentialSource(Path encryptedFile, Provider<byte[]> contents, Provider<String> passphrase) {
+    this.encryptedFile = encryptedFile;
+    this.contents = contents;
+    this.passphrase = passphrase;
+  }
+
+  @Override
+  public String getFingerprint(Collection<String> repositoryUrls) {
+    // a changed passphrase has to decrypt the file again
+    return FileFingerprint.of(encryptedFile, contents.getOrNull()) + "|" + FileFingerprint.sha256(passphrase.getOrElse(""));
+  }
+
+  @Override
+  public List<RepositoryCredentials> loadCredentials(Collection<String> repositoryUrls, Executor executor) throws IOException {
+    var content = contents.getOrNull();
+    if (content == null) {
+      return List.of();
+    }
+    if (!passphrase.isPresent()) {
+      throw new IOException("No passphrase defined to decrypt '%s'".formatted(encryptedFile));
+    }
+    var properties = new Properties();
+    properties.load(new StringReader(decrypt(content, passphrase.get())));
+    var propertyMap = new HashMap<String, String>();
+    properties.stringPropertyNames().forEach(name -> propertyMap.put(name, properties.getProperty(name)));
+    return List.copyOf(RepositoryManagerService.collectCredentials(propertyMap));
+  }
+
+  static String decrypt(byte[] content, String passphrase) throws IOException {
+    if (content.length < SALT_HEADER.length + SALT_LENGTH
+        || !Arrays.equals(Arrays.copyOf(content, SALT_HEADER.length), SALT_HEADER)) {
+      throw new IOException("Not encrypted with 'openssl enc -salt'");
+    }
+    var salt = Arrays.copyOfRange(content, SALT_HEADER.length, SALT_HEADER.length + SALT_LENGTH);
+    try {
+      var keySpec = new PBEKeySpec(passphrase.toCharArray(), salt, ITERATIONS, (KEY_LENGTH + IV_LENGTH) * 8);
+      var keyAndIv = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(keySpec).getEncoded();
+      var cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+      cipher.init(Cipher.DECRYPT_MODE,
+          new SecretKeySpec(keyAndIv, 0, KEY_LENGTH, "AES"),
+          new IvParameterSpec(keyAndIv, KEY_LENGTH, IV_LENGTH));
+      var offset = SALT_HEADER.length + SALT_LENGTH;
+      return new String(cipher.doFinal(content, offset, content.length - offset), StandardCharsets.UTF_8);
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Could not decrypt, the passphrase is probably wrong", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "encrypted file " + encryptedFile;
+  }
+}
@@ -0,0 +1,34 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+final class FileFingerprint {
+
+  private FileFingerprint() {
+  }
+
+  /**
+   * The path and the hash of the content of a file.
+   *
+   * @param content the content read through the configuration cache aware file contents, null if the file is missing
+   */
+  static String of(Path file, byte[] content) {
+    return file.toAbsolutePath() + "|" + (content == null ? "missing" : sha256(content));
+  }
+
+  static String sha256(String value) {
+    return sha256(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static String sha256(byte[] value) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
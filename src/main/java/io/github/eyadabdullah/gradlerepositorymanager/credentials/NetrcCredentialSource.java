@@ -0,0 +1,91 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryCredentials;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+import org.gradle.api.provider.Provider;
+
+/**
+ * Reads the {@code machine}, {@code login} and {@code password} entries of a
+ * <a href="https://www.gnu.org/software/inetutils/manual/html_node/The-_002enetrc-file.html">.netrc</a> file.
+ * A machine's credential matches every http and https url of that host. The file is read through a provider of its
+ * contents, so the configuration cache tracks it.
+ */
+public class NetrcCredentialSource implements CredentialSource {
+
+  private final Path netrcFile;
+  private final Provider<String> contents;
+
+  /**
+   * @param contents the text of the file, e.g. {@code providers.fileContents(file).getAsText()}
+   */
+  public NetrcCredentialSource(Path netrcFile, Provider<String> contents) {
+    this.netrcFile = netrcFile;
+    this.contents = contents;
+  }
+
+  @Override
+  public String getFingerprint(Collection<String> repositoryUrls) {
+    var text = contents.getOrNull();
+    return FileFingerprint.of(netrcFile, text == null ? null : text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public List<RepositoryCredentials> loadCredentials(Collection<String> repositoryUrls, Executor executor) throws IOException {
+    var text = contents.getOrNull();
+    if (text == null) {
+      return List.of();
+    }
+    var tokens = Arrays.stream(text.split("\\s+"))
+        .filter(token -> !token.isEmpty())
+        .toList();
+    var credentials = new ArrayList<RepositoryCredentials>();
+    RepositoryCredentials current = null;
+    for (var i = 0; i < tokens.size(); i++) {
+      var token = tokens.get(i);
+      var value = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+      switch (token) {
+        case "machine" -> {
+          current = value == null ? null : RepositoryCredentials.forIdentifier(CredentialSource.toIdentifier("netrc", value));
+          if (current != null) {
+            current.setUrl("https?://" + Pattern.quote(value) + "(:\\d+)?/.*");
+            credentials.add(current);
+          }
+          i++;
+        }
+        // the default entry applies to every host, which is too broad for repository credentials
+        case "default" -> current = null;
+        case "login" -> {
+          if (current != null) {
+            current.setUsername(value);
+          }
+          i++;
+        }
+        case "password" -> {
+          if (current != null) {
+            current.setPassword(value);
+          }
+          i++;
+        }
+        case "account", "macdef" -> i++;
+        default -> {
+          // unknown token
+        }
+      }
+    }
+    return credentials;
+  }
+
+  @Override
+  public String toString() {
+    return "netrc " + netrcFile;
+  }
+}
@@ -0,0 +1,8 @@
+package io.github.eyadabdullah.gradlerepositorymanager.exceptions;
+
+public class UnresolvableDependencies extends RuntimeException {
+
+    public UnresolvableDependencies(String message) {
+        super(message);
+    }
+}
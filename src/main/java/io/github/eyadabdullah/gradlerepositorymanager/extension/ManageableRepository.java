@@ -23,4 +23,52 @@ public interface ManageableRepository extends Named {
   boolean requireAuthentication();
 
   void setRequireAuthentication(boolean requireAuthentication);
+
+  boolean isRequired();
+
+  void setRequired(boolean required);
+
+  boolean isExclusive();
+
+  /**
+   * Marks the included content as exclusive: it is only searched in this repository, see Gradle's exclusiveContent.
+   */
+  void setExclusive(boolean exclusive);
+
+  boolean isPinned();
+
+  /**
+   * Keeps the repository at its declared position when the repositories are ordered by their statistics.
+   */
+  void setPinned(boolean pinned);
+
+  RepositoryProjectScope getProjectScope();
+
+  /**
+   * Adds the repository only to the projects whose path matches one of the patterns, see {@link RepositoryProjectScope}.
+   */
+  void includeProjects(String... projectPathPatterns);
+
+  /**
+   * Does not add the repository to the projects whose path matches one of the patterns.
+   */
+  void excludeProjects(String... projectPathPatterns);
+
+  RepositoryContentFilter getContentFilter();
+
+  void includeGroup(String group);
+
+  void includeGroupByRegex(String groupRegex);
+
+  void includeModule(String group, String moduleName);
+
+  void includeVersionByRegex(String groupRegex, String moduleNameRegex, String versionRegex);
+
+  void excludeGroup(String group);
+
+  void excludeGroupByRegex(String groupRegex);
+
+  void excludeModule(String group, String moduleName);
+
+  void excludeVersionByRegex(String groupRegex, String moduleNameRegex, String versionRegex);
 }
@@ -8,11 +8,34 @@ public class ManageableRepositoryImpl implements ManageableRepository {
     private boolean snapshotsOnly = false;
     private boolean releasesOnly = false;
     private boolean requireAuthentication = false;
+    private boolean required = false;
+    private boolean exclusive = false;
+    private boolean pinned = false;
+    private RepositoryProjectScope projectScope = RepositoryProjectScope.ALL;
+    private RepositoryContentFilter contentFilter = RepositoryContentFilter.EMPTY;
 
     public ManageableRepositoryImpl(String name) {
         this.name = name;
     }
 
+    /**
+     * Creates a copy of the repository with all its settings, which can be changed without affecting the original.
+     */
+    public static ManageableRepositoryImpl copyOf(ManageableRepository repository) {
+        var copy = new ManageableRepositoryImpl(repository.getName());
+        copy.url = repository.getUrl();
+        copy.secureProtocol = repository.isSecureProtocol();
+        copy.snapshotsOnly = repository.isSnapshotsOnly();
+        copy.releasesOnly = repository.isReleasesOnly();
+        copy.requireAuthentication = repository.requireAuthentication();
+        copy.required = repository.isRequired();
+        copy.exclusive = repository.isExclusive();
+        copy.pinned = repository.isPinned();
+        copy.projectScope = repository.getProjectScope();
+        copy.contentFilter = repository.getContentFilter();
+        return copy;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -71,4 +94,94 @@ public class ManageableRepositoryImpl implements ManageableRepository {
     public void setRequireAuthentication(boolean requireAuthentication) {
         this.requireAuthentication = requireAuthentication;
     }
+
+    @Override
+    public boolean isRequired() {
+        return required;
+    }
+
+    @Override
+    public void setRequired(boolean required) {
+        this.required = required;
+    }
+
+    @Override
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    @Override
+    public void setExclusive(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
+    @Override
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    @Override
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+
+    @Override
+    public RepositoryProjectScope getProjectScope() {
+        return projectScope;
+    }
+
+    @Override
+    public void includeProjects(String... projectPathPatterns) {
+        this.projectScope = projectScope.includeProjects(projectPathPatterns);
+    }
+
+    @Override
+    public void excludeProjects(String... projectPathPatterns) {
+        this.projectScope = projectScope.excludeProjects(projectPathPatterns);
+    }
+
+    @Override
+    public RepositoryContentFilter getContentFilter() {
+        return contentFilter;
+    }
+
+    @Override
+    public void includeGroup(String group) {
+        this.contentFilter = contentFilter.includeGroup(group);
+    }
+
+    @Override
+    public void includeGroupByRegex(String groupRegex) {
+        this.contentFilter = contentFilter.includeGroupByRegex(groupRegex);
+    }
+
+    @Override
+    public void includeModule(String group, String moduleName) {
+        this.contentFilter = contentFilter.includeModule(group, moduleName);
+    }
+
+    @Override
+    public void includeVersionByRegex(String groupRegex, String moduleNameRegex, String versionRegex) {
+        this.contentFilter = contentFilter.includeVersionByRegex(groupRegex, moduleNameRegex, versionRegex);
+    }
+
+    @Override
+    public void excludeGroup(String group) {
+        this.contentFilter = contentFilter.excludeGroup(group);
+    }
+
+    @Override
+    public void excludeGroupByRegex(String groupRegex) {
+        this.contentFilter = contentFilter.excludeGroupByRegex(groupRegex);
+    }
+
+    @Override
+    public void excludeModule(String group, String moduleName) {
+        this.contentFilter = contentFilter.excludeModule(group, moduleName);
+    }
+
+    @Override
+    public void excludeVersionByRegex(String groupRegex, String moduleNameRegex, String versionRegex) {
+        this.contentFilter = contentFilter.excludeVersionByRegex(groupRegex, moduleNameRegex, versionRegex);
+    }
 }
@@ -0,0 +1,39 @@
+package io.github.eyadabdullah.gradlerepositorymanager.extension;
+
+import java.util.List;
+
+/**
+ * Resolves plugins which are published without their marker to a module. A rule either covers a plugin namespace and
+ * resolves its plugins to {@code <namespace>:<plugin name>:<version>}, or maps a single plugin id to a module.
+ *
+ * @param namespace       the namespace of the plugin ids, {@code com.example.*} covers {@code com.example} and all
+ *                        namespaces below it; null for a rule of a plugin id
+ * @param pluginId        the plugin id, null for a rule of a namespace
+ * @param module          the module of the plugin id as {@code group:name} or {@code group:name:version}
+ * @param repositoryNames the managed repositories the module is looked up in, empty to look it up in all of them
+ */
+public record PluginModuleRule(String namespace, String pluginId, String module, List<String> repositoryNames) {
+
+  public static final String NAMESPACE_WILDCARD = ".*";
+
+  public PluginModuleRule {
+    repositoryNames = List.copyOf(repositoryNames);
+  }
+
+  public static PluginModuleRule forNamespace(String namespace, List<String> repositoryNames) {
+    return new PluginModuleRule(namespace, null, null, repositoryNames);
+  }
+
+  public static PluginModuleRule forPlugin(String pluginId, String module, List<String> repositoryNames) {
+    return new PluginModuleRule(null, pluginId, module, repositoryNames);
+  }
+
+  public boolean isWildcard() {
+    return namespace != null && namespace.endsWith(NAMESPACE_WILDCARD);
+  }
+
+  @Override
+  public String toString() {
+    return namespace != null ? namespace : pluginId + " -> " + module;
+  }
+}
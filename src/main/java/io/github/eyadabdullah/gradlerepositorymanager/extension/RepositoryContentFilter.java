@@ -0,0 +1,134 @@
+package io.github.eyadabdullah.gradlerepositorymanager.extension;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gradle.api.artifacts.repositories.InclusiveRepositoryContentDescriptor;
+import org.gradle.api.artifacts.repositories.RepositoryContentDescriptor;
+
+/**
+ * The modules a repository is asked for, see
+ * <a href="https://docs.gradle.org/current/userguide/filtering_repository_content.html">repository content filtering</a>.
+ * A filter is immutable, every added rule returns a new filter.
+ */
+public final class RepositoryContentFilter {
+
+  public static final RepositoryContentFilter EMPTY = new RepositoryContentFilter(List.of());
+
+  public enum RuleType {
+    GROUP,
+    GROUP_REGEX,
+    MODULE,
+    VERSION_REGEX
+  }
+
+  public record Rule(boolean include, RuleType type, String group, String module, String version) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String toString() {
+      return "%s %s %s:%s:%s".formatted(include ? "include" : "exclude", type, group, module, version);
+    }
+  }
+
+  private final List<Rule> rules;
+
+  private RepositoryContentFilter(List<Rule> rules) {
+    this.rules = List.copyOf(rules);
+  }
+
+  public List<Rule> getRules() {
+    return rules;
+  }
+
+  public boolean isEmpty() {
+    return rules.isEmpty();
+  }
+
+  public boolean hasIncludes() {
+    return rules.stream().anyMatch(Rule::include);
+  }
+
+  public RepositoryContentFilter includeGroup(String group) {
+    return withRule(new Rule(true, RuleType.GROUP, group, null, null));
+  }
+
+  public RepositoryContentFilter includeGroupByRegex(String groupRegex) {
+    return withRule(new Rule(true, RuleType.GROUP_REGEX, groupRegex, null, null));
+  }
+
+  public RepositoryContentFilter includeModule(String group, String moduleName) {
+    return withRule(new Rule(true, RuleType.MODULE, group, moduleName, null));
+  }
+
+  public RepositoryContentFilter includeVersionByRegex(String groupRegex, String moduleNameRegex, String versionRegex) {
+    return withRule(new Rule(true, RuleType.VERSION_REGEX, groupRegex, moduleNameRegex, versionRegex));
+  }
+
+  public RepositoryContentFilter excludeGroup(String group) {
+    return withRule(new Rule(false, RuleType.GROUP, group, null, null));
+  }
+
+  public RepositoryContentFilter excludeGroupByRegex(String groupRegex) {
+    return withRule(new Rule(false, RuleType.GROUP_REGEX, groupRegex, null, null));
+  }
+
+  public RepositoryContentFilter excludeModule(String group, String moduleName) {
+    return withRule(new Rule(false, RuleType.MODULE, group, moduleName, null));
+  }
+
+  public RepositoryContentFilter excludeVersionByRegex(String groupRegex, String moduleNameRegex, String versionRegex) {
+    return withRule(new Rule(false, RuleType.VERSION_REGEX, groupRegex, moduleNameRegex, versionRegex));
+  }
+
+  public RepositoryContentFilter withRule(Rule rule) {
+    var newRules = new ArrayList<>(rules);
+    newRules.add(rule);
+    return new RepositoryContentFilter(newRules);
+  }
+
+  public RepositoryContentFilter withRules(List<Rule> additionalRules) {
+    if (additionalRules.isEmpty()) {
+      return this;
+    }
+    var newRules = new ArrayList<>(rules);
+    newRules.addAll(additionalRules);
+    return new RepositoryContentFilter(newRules);
+  }
+
+  public void applyTo(RepositoryContentDescriptor descriptor) {
+    applyIncludesTo(descriptor);
+    applyExcludesTo(descriptor);
+  }
+
+  public void applyIncludesTo(InclusiveRepositoryContentDescriptor descriptor) {
+    rules.stream().filter(Rule::include).forEach(rule -> {
+      switch (rule.type()) {
+        case GROUP -> descriptor.includeGroup(rule.group());
+        case GROUP_REGEX -> descriptor.includeGroupByRegex(rule.group());
+        case MODULE -> descriptor.includeModule(rule.group(), rule.module());
+        case VERSION_REGEX -> descriptor.includeVersionByRegex(rule.group(), rule.module(), rule.version());
+      }
+    });
+  }
+
+  public void applyExcludesTo(RepositoryContentDescriptor descriptor) {
+    rules.stream().filter(rule -> !rule.include()).forEach(rule -> {
+      switch (rule.type()) {
+        case GROUP -> descriptor.excludeGroup(rule.group());
+        case GROUP_REGEX -> descriptor.excludeGroupByRegex(rule.group());
+        case MODULE -> descriptor.excludeModule(rule.group(), rule.module());
+        case VERSION_REGEX -> descriptor.excludeVersionByRegex(rule.group(), rule.module(), rule.version());
+      }
+    });
+  }
+
+  @Override
+  public String toString() {
+    return rules.toString();
+  }
+}
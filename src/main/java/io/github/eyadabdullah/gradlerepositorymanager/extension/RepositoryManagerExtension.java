@@ -1,26 +1,65 @@
 package io.github.eyadabdullah.gradlerepositorymanager.extension;
 
-import java.util.HashSet;
-import java.util.Set;
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.CredentialHelperSource;
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.CredentialSource;
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.EncryptedFileCredentialSource;
+import io.github.eyadabdullah.gradlerepositorymanager.credentials.NetrcCredentialSource;
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 import org.gradle.api.Action;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.file.FileContents;
+import org.gradle.api.initialization.resolve.RepositoriesMode;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
 
 public class RepositoryManagerExtension {
 
   public static final String EXTENSION_NAME = "RepositoryManager";
   public static final String SPLIT_ELEMENT = "_";
   public static final String REPOSITORY_DEFINITION_PREFIX = "repository_manager" + SPLIT_ELEMENT + "repo";
+  private final ObjectFactory objectFactory;
+  private final ProviderFactory providers;
   private final NamedDomainObjectContainer<ManageableRepository> manageableRepositories;
-  private final Set<String> gradlePluginsToSetupForLoadingInResolutionStrategy = new HashSet<>();
+  private final List<PluginModuleRule> pluginModuleRules = new ArrayList<>();
   private boolean gradlePluginPortal = true;
   private boolean mavenLocal = false;
   private boolean mavenCentral = false;
   private boolean validateDependencies = false;
+  private boolean dependencyResolutionManagement = false;
+  private RepositoriesMode repositoriesMode = RepositoriesMode.PREFER_SETTINGS;
+  private boolean probeRepositories = false;
+  private boolean pruneUnreachableRepositories = false;
+  private long probeCacheTtlMinutes = 10;
+  private long probeTimeoutSeconds = 5;
+  private boolean learnRepositoryRouting = false;
+  private boolean adaptiveRepositoryOrder = false;
+  private boolean aggregateRepositories = false;
+  private int aggregatingProxyPort = 0;
+  private long aggregatingProxyCacheMegabytes = 256;
+  private long aggregatingProxyTtlMinutes = 10;
+  private boolean recordTimings = false;
+  private boolean isolatedProjects = false;
+  private boolean collapseDuplicateRepositories = true;
+  private final Map<String, List<String>> virtualRepositories = new LinkedHashMap<>();
+  private final List<RepositoryMirrorRule> mirrorRules = new ArrayList<>();
+  private final Map<String, String> catalogGroupRepositories = new LinkedHashMap<>();
+  private final List<File> versionCatalogs = new ArrayList<>();
+  private final List<CredentialSource> credentialSources = new ArrayList<>();
+  private long credentialSourceCacheTtlMinutes = 60;
+  private long credentialHelperTimeoutSeconds = 30;
 
   @Inject
-  public RepositoryManagerExtension(ObjectFactory objectFactory) {
+  public RepositoryManagerExtension(ObjectFactory objectFactory, ProviderFactory providers) {
+    this.objectFactory = objectFactory;
+    this.providers = providers;
     this.manageableRepositories = objectFactory.domainObjectContainer(ManageableRepository.class, ManageableRepositoryImpl::new);
   }
 
@@ -46,12 +85,37 @@ public class RepositoryManagerExtension {
     res.setUrl(url);
   }
 
+  /**
+   * Resolves the plugins of the namespace, which are published without their marker, to the module
+   * {@code <namespace>:<plugin name>:<version>}. {@code com.example.*} covers {@code com.example} and all namespaces
+   * below it.
+   */
   public void setupResolutionStrategyToLoadGradlePlugin(String gradlePluginNamespace) {
-    gradlePluginsToSetupForLoadingInResolutionStrategy.add(gradlePluginNamespace);
+    setupResolutionStrategyToLoadGradlePlugin(gradlePluginNamespace, new String[0]);
   }
 
-  public Set<String> getGradlePluginsToSetupForLoadingInResolutionStrategy() {
-    return gradlePluginsToSetupForLoadingInResolutionStrategy;
+  /**
+   * Like {@link #setupResolutionStrategyToLoadGradlePlugin(String)}, but the modules of the namespace are only looked
+   * up in the given managed repositories.
+   */
+  public void setupResolutionStrategyToLoadGradlePlugin(String gradlePluginNamespace, String... repositoryNames) {
+    pluginModuleRules.add(PluginModuleRule.forNamespace(gradlePluginNamespace, List.of(repositoryNames)));
+  }
+
+  /**
+   * Resolves the plugin id to the module, {@code group:name} takes the requested version of the plugin.
+   *
+   * @param repositoryNames the managed repositories the module is looked up in, all of them if none are given
+   */
+  public void pluginModule(String pluginId, String module, String... repositoryNames) {
+    if (module.split(":").length < 2) {
+      throw new InvalidUserDataException("The module '%s' of the plugin '%s' must be defined as 'group:name' or 'group:name:version'.".formatted(module, pluginId));
+    }
+    pluginModuleRules.add(PluginModuleRule.forPlugin(pluginId, module, List.of(repositoryNames)));
+  }
+
+  public List<PluginModuleRule> getPluginModuleRules() {
+    return pluginModuleRules;
   }
 
   public boolean isGradlePluginPortal() {
@@ -101,4 +165,307 @@ public class RepositoryManagerExtension {
   public void validateDependencies(boolean validateDependencies) {
     this.validateDependencies = validateDependencies;
   }
+
+  public boolean isDependencyResolutionManagement() {
+    return dependencyResolutionManagement;
+  }
+
+  /**
+   * Registers the repositories once in the settings' dependencyResolutionManagement instead of adding them to every project.
+   */
+  public void dependencyResolutionManagement() {
+    this.dependencyResolutionManagement = true;
+  }
+
+  public void dependencyResolutionManagement(boolean dependencyResolutionManagement) {
+    this.dependencyResolutionManagement = dependencyResolutionManagement;
+  }
+
+  public RepositoriesMode getRepositoriesMode() {
+    return repositoriesMode;
+  }
+
+  /**
+   * Defines how repositories declared in projects are handled when {@link #dependencyResolutionManagement()} is used.
+   */
+  public void repositoriesMode(RepositoriesMode repositoriesMode) {
+    this.repositoriesMode = repositoriesMode;
+  }
+
+  public boolean isProbeRepositories() {
+    return probeRepositories;
+  }
+
+  /**
+   * Checks concurrently if the repositories are reachable while the settings are evaluated.
+   */
+  public void probeRepositories() {
+    this.probeRepositories = true;
+  }
+
+  public void probeRepositories(boolean probeRepositories) {
+    this.probeRepositories = probeRepositories;
+  }
+
+  public boolean isPruneUnreachableRepositories() {
+    return pruneUnreachableRepositories;
+  }
+
+  /**
+   * Probes the repositories and drops the unreachable ones, unless they are marked as required.
+   */
+  public void pruneUnreachableRepositories() {
+    pruneUnreachableRepositories(true);
+  }
+
+  /**
+   * Enabling pruning enables probing as well, disabling it keeps the probes.
+   */
+  public void pruneUnreachableRepositories(boolean pruneUnreachableRepositories) {
+    this.probeRepositories |= pruneUnreachableRepositories;
+    this.pruneUnreachableRepositories = pruneUnreachableRepositories;
+  }
+
+  public long getProbeCacheTtlMinutes() {
+    return probeCacheTtlMinutes;
+  }
+
+  public void probeCacheTtlMinutes(long probeCacheTtlMinutes) {
+    this.probeCacheTtlMinutes = probeCacheTtlMinutes;
+  }
+
+  public long getProbeTimeoutSeconds() {
+    return probeTimeoutSeconds;
+  }
+
+  public void probeTimeoutSeconds(long probeTimeoutSeconds) {
+    this.probeTimeoutSeconds = probeTimeoutSeconds;
+  }
+
+  public boolean isLearnRepositoryRouting() {
+    return learnRepositoryRouting;
+  }
+
+  /**
+   * Remembers which repository served a group and only asks that repository for the group in later builds.
+   */
+  public void learnRepositoryRouting() {
+    this.learnRepositoryRouting = true;
+  }
+
+  public void learnRepositoryRouting(boolean learnRepositoryRouting) {
+    this.learnRepositoryRouting = learnRepositoryRouting;
+  }
+
+  public boolean isAdaptiveRepositoryOrder() {
+    return adaptiveRepositoryOrder;
+  }
+
+  /**
+   * Records the hits, misses and latency of each repository and asks the repositories with the lowest expected cost
+   * first in later builds. Pinned and exclusive repositories keep their position.
+   */
+  public void adaptiveRepositoryOrder() {
+    this.adaptiveRepositoryOrder = true;
+  }
+
+  public void adaptiveRepositoryOrder(boolean adaptiveRepositoryOrder) {
+    this.adaptiveRepositoryOrder = adaptiveRepositoryOrder;
+  }
+
+  public boolean isAggregateRepositories() {
+    return aggregateRepositories;
+  }
+
+  /**
+   * Lets Gradle ask the repositories through a local proxy, which sends each request to all of them at once.
+   */
+  public void aggregateRepositories() {
+    this.aggregateRepositories = true;
+  }
+
+  public void aggregateRepositories(boolean aggregateRepositories) {
+    this.aggregateRepositories = aggregateRepositories;
+  }
+
+  public int getAggregatingProxyPort() {
+    return aggregatingProxyPort;
+  }
+
+  /**
+   * The local port of the proxy, 0 picks a free port once per Gradle daemon.
+   */
+  public void aggregatingProxyPort(int aggregatingProxyPort) {
+    this.aggregatingProxyPort = aggregatingProxyPort;
+  }
+
+  public long getAggregatingProxyCacheMegabytes() {
+    return aggregatingProxyCacheMegabytes;
+  }
+
+  public void aggregatingProxyCacheMegabytes(long aggregatingProxyCacheMegabytes) {
+    this.aggregatingProxyCacheMegabytes = aggregatingProxyCacheMegabytes;
+  }
+
+  public long getAggregatingProxyTtlMinutes() {
+    return aggregatingProxyTtlMinutes;
+  }
+
+  /**
+   * How long the proxy caches metadata, snapshots and missing modules.
+   */
+  public void aggregatingProxyTtlMinutes(long aggregatingProxyTtlMinutes) {
+    this.aggregatingProxyTtlMinutes = aggregatingProxyTtlMinutes;
+  }
+
+  public boolean isRecordTimings() {
+    return recordTimings;
+  }
+
+  /**
+   * Measures the configuration phases of the plugin and writes them to a JSON report when the build finishes.
+   */
+  public void recordTimings() {
+    this.recordTimings = true;
+  }
+
+  public void recordTimings(boolean recordTimings) {
+    this.recordTimings = recordTimings;
+  }
+
+  public boolean isIsolatedProjects() {
+    return isolatedProjects;
+  }
+
+  /**
+   * Configures the projects without accessing the settings or other projects, so Gradle can configure them in parallel.
+   * Used automatically if Gradle runs with isolated projects.
+   */
+  public void isolatedProjects() {
+    this.isolatedProjects = true;
+  }
+
+  public void isolatedProjects(boolean isolatedProjects) {
+    this.isolatedProjects = isolatedProjects;
+  }
+
+  public boolean isCollapseDuplicateRepositories() {
+    return collapseDuplicateRepositories;
+  }
+
+  /**
+   * Collapses repositories declared with equivalent urls, e.g. with a trailing slash or as http and https variant,
+   * into the first of them.
+   */
+  public void collapseDuplicateRepositories(boolean collapseDuplicateRepositories) {
+    this.collapseDuplicateRepositories = collapseDuplicateRepositories;
+  }
+
+  public Map<String, List<String>> getVirtualRepositories() {
+    return virtualRepositories;
+  }
+
+  /**
+   * Declares the member repositories of a virtual or group repository, managed repositories which are already served
+   * by a managed virtual repository are reported.
+   */
+  public void virtualRepository(String url, String... memberUrls) {
+    virtualRepositories.put(url, List.of(memberUrls));
+  }
+
+  public List<RepositoryMirrorRule> getMirrorRules() {
+    return mirrorRules;
+  }
+
+  /**
+   * Rewrites the urls of the repositories matching the regex to the first reachable mirror url, if the mirror set is
+   * selected by the {@code repository_manager_mirror_set} system property or environment variable of the machine.
+   *
+   * @param mirrorUrls the mirrors in the order they are tried, may refer to groups of the regex like {@code $1}
+   */
+  public void mirror(String mirrorSet, String urlRegex, String... mirrorUrls) {
+    mirrorRules.add(new RepositoryMirrorRule(mirrorSet, urlRegex, List.of(mirrorUrls)));
+  }
+
+  public Map<String, String> getCatalogGroupRepositories() {
+    return catalogGroupRepositories;
+  }
+
+  /**
+   * Requests the libraries of the version catalogs in the group only from the given repository, all other repositories
+   * exclude the group. {@code com.example.*} covers {@code com.example} and all groups below it, {@code *} all groups
+   * without another owner. The repository is the name of a managed repository or {@code mavenCentral},
+   * {@code mavenLocal} or {@code gradlePluginPortal}.
+   */
+  public void catalogGroup(String group, String repositoryName) {
+    catalogGroupRepositories.put(group, repositoryName);
+  }
+
+  public List<File> getVersionCatalogs() {
+    return versionCatalogs;
+  }
+
+  /**
+   * Reads the libraries of another version catalog for {@link #catalogGroup}, {@code gradle/libs.versions.toml} is
+   * always read.
+   */
+  public void versionCatalog(File catalogFile) {
+    versionCatalogs.add(catalogFile);
+  }
+
+  public List<CredentialSource> getCredentialSources() {
+    return credentialSources;
+  }
+
+  /**
+   * Adds a source of repository credentials. System properties and environment variables take precedence over all
+   * sources, earlier sources over later ones.
+   */
+  public void credentialSource(CredentialSource credentialSource) {
+    credentialSources.add(credentialSource);
+  }
+
+  public void netrcCredentials() {
+    netrcCredentials(new File(providers.systemProperty("user.home").get(), ".netrc"));
+  }
+
+  public void netrcCredentials(File netrcFile) {
+    credentialSource(new NetrcCredentialSource(netrcFile.toPath(), fileContents(netrcFile).getAsText()));
+  }
+
+  public void encryptedCredentials(File encryptedFile, Provider<String> passphrase) {
+    credentialSource(new EncryptedFileCredentialSource(encryptedFile.toPath(), fileContents(encryptedFile).getAsBytes(),
+        passphrase));
+  }
+
+  public void credentialHelper(String... command) {
+    credentialSource(new CredentialHelperSource(List.of(command), () -> Duration.ofSeconds(credentialHelperTimeoutSeconds)));
+  }
+
+  // read through the provider, the configuration cache tracks the file
+  private FileContents fileContents(File file) {
+    return providers.fileContents(objectFactory.fileProperty().fileValue(file));
+  }
+
+  public long getCredentialSourceCacheTtlMinutes() {
+    return credentialSourceCacheTtlMinutes;
+  }
+
+  /**
+   * How long the Gradle daemon keeps the credentials of an unchanged source.
+   */
+  public void credentialSourceCacheTtlMinutes(long credentialSourceCacheTtlMinutes) {
+    this.credentialSourceCacheTtlMinutes = credentialSourceCacheTtlMinutes;
+  }
+
+  public long getCredentialHelperTimeoutSeconds() {
+    return credentialHelperTimeoutSeconds;
+  }
+
+  /**
+   * How long a credential helper may take to answer, applies to all credential helpers.
+   */
+  public void credentialHelperTimeoutSeconds(long credentialHelperTimeoutSeconds) {
+    this.credentialHelperTimeoutSeconds = credentialHelperTimeoutSeconds;
+  }
 }
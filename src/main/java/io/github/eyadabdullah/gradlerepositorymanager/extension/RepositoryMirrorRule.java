@@ -0,0 +1,16 @@
+package io.github.eyadabdullah.gradlerepositorymanager.extension;
+
+import java.util.List;
+
+/**
+ * Rewrites the urls of the repositories matching {@code urlRegex} to the mirror urls, in the order they are tried.
+ * The mirror urls may refer to groups of the regex, e.g. {@code $1}.
+ *
+ * @param mirrorSet the mirror set the rule belongs to, null if the rule is always active
+ */
+public record RepositoryMirrorRule(String mirrorSet, String urlRegex, List<String> mirrorUrls) {
+
+  public RepositoryMirrorRule {
+    mirrorUrls = List.copyOf(mirrorUrls);
+  }
+}
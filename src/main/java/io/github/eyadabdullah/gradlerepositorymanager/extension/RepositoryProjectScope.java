@@ -0,0 +1,99 @@
+package io.github.eyadabdullah.gradlerepositorymanager.extension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The projects a repository is added to, selected by patterns of their paths: {@code *} matches within one path
+ * segment, {@code **} across segments, and a trailing {@code :**} also matches the project itself, so
+ * {@code :android:**} selects {@code :android} and all projects below it. A project is in scope if it matches an
+ * include, or there are no includes, and does not match an exclude. A scope is immutable, every added pattern returns
+ * a new scope.
+ */
+public final class RepositoryProjectScope {
+
+  public static final RepositoryProjectScope ALL = new RepositoryProjectScope(List.of(), List.of());
+
+  private final List<String> includes;
+  private final List<String> excludes;
+  private final List<Pattern> includePatterns;
+  private final List<Pattern> excludePatterns;
+
+  private RepositoryProjectScope(List<String> includes, List<String> excludes) {
+    this.includes = List.copyOf(includes);
+    this.excludes = List.copyOf(excludes);
+    this.includePatterns = this.includes.stream().map(RepositoryProjectScope::toPattern).toList();
+    this.excludePatterns = this.excludes.stream().map(RepositoryProjectScope::toPattern).toList();
+  }
+
+  public List<String> getIncludes() {
+    return includes;
+  }
+
+  public List<String> getExcludes() {
+    return excludes;
+  }
+
+  /**
+   * Whether the repository is added to every project.
+   */
+  public boolean isAll() {
+    return includes.isEmpty() && excludes.isEmpty();
+  }
+
+  public boolean matches(String projectPath) {
+    return (includePatterns.isEmpty() || includePatterns.stream().anyMatch(pattern -> pattern.matcher(projectPath).matches()))
+        && excludePatterns.stream().noneMatch(pattern -> pattern.matcher(projectPath).matches());
+  }
+
+  public RepositoryProjectScope includeProjects(String... projectPathPatterns) {
+    return new RepositoryProjectScope(concat(includes, projectPathPatterns), excludes);
+  }
+
+  public RepositoryProjectScope excludeProjects(String... projectPathPatterns) {
+    return new RepositoryProjectScope(includes, concat(excludes, projectPathPatterns));
+  }
+
+  private static List<String> concat(List<String> patterns, String... additionalPatterns) {
+    var newPatterns = new ArrayList<>(patterns);
+    newPatterns.addAll(Arrays.asList(additionalPatterns));
+    return newPatterns;
+  }
+
+  static Pattern toPattern(String projectPathPattern) {
+    var regex = new StringBuilder();
+    var index = 0;
+    while (index < projectPathPattern.length()) {
+      if (projectPathPattern.startsWith(":**", index) && index + 3 == projectPathPattern.length()) {
+        regex.append("(:.*)?");
+        index += 3;
+      } else if (projectPathPattern.startsWith("**", index)) {
+        regex.append(".*");
+        index += 2;
+      } else if (projectPathPattern.charAt(index) == '*') {
+        regex.append("[^:]*");
+        index++;
+      } else {
+        var end = index;
+        while (end < projectPathPattern.length() && projectPathPattern.charAt(end) != '*'
+            && !projectPathPattern.startsWith(":**", end)) {
+          end++;
+        }
+        if (end == index) {
+          // a ':' followed by '**' which does not end the pattern
+          end++;
+        }
+        regex.append(Pattern.quote(projectPathPattern.substring(index, end)));
+        index = end;
+      }
+    }
+    return Pattern.compile(regex.toString());
+  }
+
+  @Override
+  public String toString() {
+    return "include %s exclude %s".formatted(includes, excludes);
+  }
+}
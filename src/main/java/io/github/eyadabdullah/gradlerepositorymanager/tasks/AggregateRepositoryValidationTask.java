@@ -0,0 +1,52 @@
+package io.github.eyadabdullah.gradlerepositorymanager.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Combines the reports of all {@link ValidateRepositoriesTask}s of the build into a single report.
+ */
+@CacheableTask
+public abstract class AggregateRepositoryValidationTask extends DefaultTask {
+
+  public static final String TASK_NAME = "validateAllRepositories";
+
+  @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
+  public abstract ConfigurableFileCollection getReports();
+
+  @OutputFile
+  public abstract RegularFileProperty getReport();
+
+  @TaskAction
+  public void aggregate() {
+    var reportLines = new ArrayList<String>();
+    for (var report : getReports().getFiles()) {
+      try {
+        reportLines.addAll(Files.readAllLines(report.toPath()).stream()
+            .filter(line -> line.startsWith("failure: "))
+            .toList());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    getLogger().quiet("- Validated {} projects, {} unresolvable dependencies", getReports().getFiles().size(), reportLines.size());
+    try {
+      Files.write(getReport().get().getAsFile().toPath(), reportLines);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package io.github.eyadabdullah.gradlerepositorymanager.tasks;
+
+import io.github.eyadabdullah.gradlerepositorymanager.DependencyValidationReport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Resolves the declared dependencies of every configuration of a project against the managed repositories.
+ * The task is up-to-date as long as neither the declared dependencies nor the repository plan changed. It is not
+ * cacheable: the result depends on what the repositories serve, so it is only reused by the build which produced it,
+ * and not at all if a dependency has a dynamic version, see {@link #isDynamicVersion(String)}.
+ */
+public abstract class ValidateRepositoriesTask extends DefaultTask {
+
+  public static final String TASK_NAME = "validateRepositories";
+  private static final String LATEST_VERSION_PREFIX = "latest.";
+  private static final String SNAPSHOT_VERSION_SUFFIX = "-SNAPSHOT";
+
+  /**
+   * The declared dependencies, formatted as 'configuration:group:name:version'.
+   */
+  @Input
+  public abstract ListProperty<String> getDependencyCoordinates();
+
+  @Input
+  public abstract Property<String> getRepositoryPlanFingerprint();
+
+  @Input
+  public abstract Property<String> getProjectPath();
+
+  /**
+   * The resolved dependency graph per configuration, only resolved when the task is executed.
+   */
+  @Internal
+  public abstract MapProperty<String, ResolvedComponentResult> getResolutionResults();
+
+  @OutputFile
+  public abstract RegularFileProperty getReport();
+
+  @TaskAction
+  public void validate() {
+    var validationReport = new DependencyValidationReport();
+    var resolutionResults = getResolutionResults().get();
+    getLogger().quiet("- Validating dependencies: {} configurations of {}", resolutionResults.size(), getProjectPath().get());
+    resolutionResults.forEach((configurationName, root) -> {
+      getLogger().info("- validating configuration: {}", configurationName);
+      validationReport.addUnresolvedDependencies(getProjectPath().get(), configurationName, root);
+    });
+
+    var reportLines = new ArrayList<String>();
+    reportLines.add("repository plan: " + getRepositoryPlanFingerprint().get());
+    getDependencyCoordinates().get().forEach(coordinate -> reportLines.add("dependency: " + coordinate));
+    validationReport.getFailures().forEach(failure -> reportLines.add("failure: " + failure));
+    try {
+      Files.write(getReport().get().getAsFile().toPath(), reportLines);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    validationReport.failIfDependenciesAreUnresolvable();
+  }
+
+  /**
+   * Dynamic versions, version ranges and snapshots resolve to whatever the repositories currently serve.
+   */
+  public static boolean isDynamicVersion(String version) {
+    if (version == null) {
+      return false;
+    }
+    return version.endsWith("+") || version.startsWith("[") || version.startsWith("]") || version.startsWith("(")
+        || version.startsWith(LATEST_VERSION_PREFIX) || version.endsWith(SNAPSHOT_VERSION_SUFFIX);
+  }
+}
@@ -0,0 +1,83 @@
+package io.github.eyadabdullah.gradlerepositorymanager.tasks;
+
+import io.github.eyadabdullah.gradlerepositorymanager.DependencyValidationReport;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Locale;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Downloads the modules of a project into Gradle's dependency cache, e.g. to prepare a CI image without running
+ * the build. Gradle downloads the artifacts concurrently, modules which are already cached are skipped.
+ * The task does not fail for unresolvable modules, they are logged and listed in the report.
+ */
+public abstract class WarmRepositoryCacheTask extends DefaultTask {
+
+  public static final String TASK_NAME = "warmRepositoryCache";
+  private static final double BYTES_PER_MEGABYTE = 1024d * 1024d;
+
+  @Input
+  public abstract Property<String> getProjectPath();
+
+  /**
+   * The modules which are not cached yet, formatted as 'group:name:version'.
+   */
+  @Input
+  public abstract ListProperty<String> getModules();
+
+  @Input
+  public abstract Property<Integer> getCachedModuleCount();
+
+  /**
+   * The resolved dependency graph of the modules, only resolved when the task is executed.
+   */
+  @Internal
+  public abstract Property<ResolvedComponentResult> getResolutionResult();
+
+  /**
+   * The artifacts of the modules, only downloaded when the task is executed.
+   */
+  @Internal
+  public abstract ConfigurableFileCollection getArtifactFiles();
+
+  @OutputFile
+  public abstract RegularFileProperty getReport();
+
+  @TaskAction
+  public void warm() {
+    var startNanos = System.nanoTime();
+    var artifactFiles = getArtifactFiles().getFiles();
+    var seconds = Math.max((System.nanoTime() - startNanos) / 1_000_000_000d, 0.001);
+    var megabytes = artifactFiles.stream().mapToLong(File::length).sum() / BYTES_PER_MEGABYTE;
+    var validationReport = new DependencyValidationReport();
+    validationReport.addUnresolvedDependencies(getProjectPath().get(), TASK_NAME, getResolutionResult().get());
+
+    getLogger().quiet("- Warmed {} modules of {} ({} already cached): {} artifacts, {} MB in {} s ({} MB/s), {} failures",
+        getModules().get().size(), getProjectPath().get(), getCachedModuleCount().get(), artifactFiles.size(),
+        String.format(Locale.ROOT, "%.1f", megabytes), String.format(Locale.ROOT, "%.1f", seconds),
+        String.format(Locale.ROOT, "%.1f", megabytes / seconds), validationReport.getFailures().size());
+    validationReport.getFailures().forEach(failure -> getLogger().warn("- could not warm: {}", failure));
+
+    var reportLines = new ArrayList<String>();
+    getModules().get().forEach(module -> reportLines.add("module: " + module));
+    validationReport.getFailures().forEach(failure -> reportLines.add("failure: " + failure));
+    try {
+      Files.write(getReport().get().getAsFile().toPath(), reportLines);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
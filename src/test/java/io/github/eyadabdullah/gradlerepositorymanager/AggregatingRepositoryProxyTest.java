@@ -0,0 +1,233 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregatingRepositoryProxyTest {
+
+    private static final String ARTIFACT = "com/example/library/1.0/library-1.0.jar";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private UpstreamServer first;
+    private UpstreamServer second;
+    private AggregatingRepositoryProxy proxy;
+    private String token;
+
+    @BeforeEach
+    void startServers() throws IOException {
+        first = new UpstreamServer(Map.of());
+        second = new UpstreamServer(Map.of(ARTIFACT, "second"));
+        proxy = AggregatingRepositoryProxy.start(0, new RepositoryProxyCache(1024 * 1024, Duration.ofMinutes(10)));
+    }
+
+    @AfterEach
+    void stopServers() {
+        proxy.close();
+        first.server.stop(0);
+        second.server.stop(0);
+    }
+
+    @Test
+    void get_hitOfLaterRepository_firstRepositoryMisses() throws Exception {
+        // arrange
+        token = proxy.register(List.of(planned("first", first), planned("second", second)));
+
+        // act
+        var response = get(ARTIFACT);
+
+        // assert
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("second");
+        assertThat(first.requests).containsExactly("/maven/" + ARTIFACT);
+        assertThat(second.requests).containsExactly("/maven/" + ARTIFACT);
+    }
+
+    @Test
+    void get_hitOfFirstRepository_bothRepositoriesServeModule() throws Exception {
+        // arrange
+        first.server.stop(0);
+        first = new UpstreamServer(Map.of(ARTIFACT, "first"));
+        token = proxy.register(List.of(planned("first", first), planned("second", second)));
+
+        // act
+        var response = get(ARTIFACT);
+
+        // assert
+        assertThat(response.body()).isEqualTo("first");
+    }
+
+    @Test
+    void get_cachedResponses_pathsRequestedTwice() throws Exception {
+        // arrange
+        token = proxy.register(List.of(planned("first", first), planned("second", second)));
+        get(ARTIFACT);
+        get("com/example/missing/1.0/missing-1.0.pom");
+
+        // act
+        var hit = get(ARTIFACT);
+        var miss = get("com/example/missing/1.0/missing-1.0.pom");
+
+        // assert
+        assertThat(hit.statusCode()).isEqualTo(200);
+        assertThat(miss.statusCode()).isEqualTo(404);
+        assertThat(second.requests).hasSize(2);
+    }
+
+    @Test
+    void get_badGateway_repositoryUnreachable() throws Exception {
+        // arrange
+        first.server.stop(0);
+        token = proxy.register(List.of(planned("first", first), planned("second", second)));
+
+        // act
+        var response = get("com/example/missing/1.0/missing-1.0.pom");
+
+        // assert
+        assertThat(response.statusCode()).isEqualTo(502);
+    }
+
+    @Test
+    void get_hitOfLaterRepository_firstRepositoryRefusesCredentials() throws Exception {
+        // arrange
+        first.server.stop(0);
+        first = new UpstreamServer(Map.of(), 401);
+        token = proxy.register(List.of(planned("first", first), planned("second", second)));
+
+        // act
+        var response = get(ARTIFACT);
+
+        // assert
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("second");
+    }
+
+    @Test
+    void head_headRequestsSent_headRequested() throws Exception {
+        // arrange
+        token = proxy.register(List.of(planned("first", first), planned("second", second)));
+
+        // act
+        var response = client.send(request(ARTIFACT).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // assert
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(first.methods).containsExactly("HEAD");
+        assertThat(second.methods).containsExactly("HEAD");
+    }
+
+    @Test
+    void get_forbidden_tokenNotRegistered() throws Exception {
+        // arrange
+        var registered = proxy.register(List.of(planned("second", second)));
+        proxy.unregister(registered);
+        token = registered;
+
+        // act
+        var response = get(ARTIFACT);
+
+        // assert
+        assertThat(response.statusCode()).isEqualTo(403);
+        assertThat(second.requests).isEmpty();
+    }
+
+    @Test
+    void get_authenticatedRequest_credentialBound() throws Exception {
+        // arrange
+        var credential = RepositoryCredentials.forIdentifier("second");
+        credential.setTokenName("Private-Token");
+        credential.setTokenValue("secret");
+        credential.setUrl(second.url());
+        var service = new RepositoryManagerService();
+        service.setRepositoryCredentials(List.of(credential));
+        token = proxy.register(List.of(service.planRepository(repository("second", second))));
+
+        // act
+        get(ARTIFACT);
+
+        // assert
+        assertThat(second.tokens).containsExactly("secret");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(proxy.getUrl().resolve(path)).header(AggregatingRepositoryProxy.TOKEN_HEADER, token);
+    }
+
+    private static PlannedRepository planned(String name, UpstreamServer upstream) {
+        return new RepositoryManagerService().planRepository(repository(name, upstream));
+    }
+
+    private static ManageableRepository repository(String name, UpstreamServer upstream) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl(upstream.url());
+        repository.setSecureProtocol(false);
+        return repository;
+    }
+
+    private static class UpstreamServer {
+
+        private final HttpServer server;
+        private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+        private final Queue<String> tokens = new ConcurrentLinkedQueue<>();
+        private final Queue<String> methods = new ConcurrentLinkedQueue<>();
+
+        UpstreamServer(Map<String, String> artifacts) throws IOException {
+            this(artifacts, 404);
+        }
+
+        UpstreamServer(Map<String, String> artifacts, int missingStatus) throws IOException {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/maven/", exchange -> {
+                try (exchange) {
+                    var path = exchange.getRequestURI().getPath();
+                    requests.add(path);
+                    methods.add(exchange.getRequestMethod());
+                    var token = exchange.getRequestHeaders().getFirst("Private-Token");
+                    if (token != null) {
+                        tokens.add(token);
+                    }
+                    var artifact = artifacts.get(path.substring("/maven/".length()));
+                    if (artifact == null) {
+                        exchange.sendResponseHeaders(missingStatus, -1);
+                    } else if ("HEAD".equals(exchange.getRequestMethod())) {
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        var body = artifact.getBytes(StandardCharsets.UTF_8);
+                        exchange.sendResponseHeaders(200, body.length);
+                        exchange.getResponseBody().write(body);
+                    }
+                }
+            });
+            server.start();
+        }
+
+        String url() {
+            return "http://%s:%d/maven".formatted(
+                server.getAddress().getAddress().getHostAddress(), server.getAddress().getPort());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialBindingCacheTest {
+
+    private static final String REPOSITORY_URL = "https://gitlab.example.com/api/v4/groups/680/-/packages/maven";
+
+    @Test
+    void findCredential_reusesBinding_equalCredentialsOfLaterBuild() {
+        // arrange
+        var cache = new CredentialBindingCache(4);
+        cache.bind(List.of(credential("gitlab", "https://gitlab.example.com/.*"))).findCredential(REPOSITORY_URL);
+        var laterCredential = credential("gitlab", "https://gitlab.example.com/.*");
+        var bindings = cache.bind(List.of(laterCredential));
+
+        // act
+        var result = bindings.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).containsSame(laterCredential);
+        assertThat(bindings.isCredentialMatcherBuilt()).isFalse();
+    }
+
+    @Test
+    void findCredential_reusesMissingBinding_urlWithoutCredential() {
+        // arrange
+        var cache = new CredentialBindingCache(4);
+        cache.bind(List.of(credential("gitlab", "https://gitlab.example.com/.*"))).findCredential("https://maven.example.com");
+        var bindings = cache.bind(List.of(credential("gitlab", "https://gitlab.example.com/.*")));
+
+        // act
+        var result = bindings.findCredential("https://maven.example.com");
+
+        // assert
+        assertThat(result).isEmpty();
+        assertThat(bindings.isCredentialMatcherBuilt()).isFalse();
+    }
+
+    @Test
+    void findCredential_matchesAgain_credentialUrlChanged() {
+        // arrange
+        var cache = new CredentialBindingCache(4);
+        cache.bind(List.of(credential("gitlab", "https://gitlab.example.com/.*"))).findCredential(REPOSITORY_URL);
+        var bindings = cache.bind(List.of(credential("gitlab", "https://maven.example.com/.*")));
+
+        // act
+        var result = bindings.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).isEmpty();
+        assertThat(bindings.isCredentialMatcherBuilt()).isTrue();
+    }
+
+    @Test
+    void findCredential_matchesAgain_bindingEvicted() {
+        // arrange
+        var cache = new CredentialBindingCache(1);
+        cache.bind(List.of(credential("gitlab", "https://gitlab.example.com/.*"))).findCredential(REPOSITORY_URL);
+        cache.bind(List.of(credential("other", "https://maven.example.com/.*")));
+        var bindings = cache.bind(List.of(credential("gitlab", "https://gitlab.example.com/.*")));
+
+        // act
+        var result = bindings.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).isPresent();
+        assertThat(bindings.isCredentialMatcherBuilt()).isTrue();
+    }
+
+    private static RepositoryCredentials credential(String identifier, String url) {
+        var credential = RepositoryCredentials.forIdentifier(identifier);
+        credential.setUrl(url);
+        return credential;
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialMatcherTest {
+
+    private static final String REPOSITORY_URL = "https://gitlab.example.com/api/v4/groups/680/-/packages/maven";
+
+    @Test
+    void findCredential_literalCredential_exactUrlProvided() {
+        // arrange
+        var credential = credential("literal", REPOSITORY_URL);
+        var matcher = new CredentialMatcher(List.of(credential));
+
+        // act
+        var result = matcher.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).containsSame(credential);
+    }
+
+    @Test
+    void findCredential_empty_noCredentialMatches() {
+        // arrange
+        var matcher = new CredentialMatcher(List.of(credential("literal", REPOSITORY_URL)));
+
+        // act
+        var result = matcher.findCredential("https://maven.example.com/releases");
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findCredential_empty_credentialWithoutUrl() {
+        // arrange
+        var matcher = new CredentialMatcher(List.of(new RepositoryCredentials("repository_manager_repo_nourl_username")));
+
+        // act
+        var result = matcher.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findCredential_prefixCredential_wildcardUrlProvided() {
+        // arrange
+        var credential = credential("prefix", "https://gitlab.example.com/.*");
+        var matcher = new CredentialMatcher(List.of(credential));
+
+        // act
+        var result = matcher.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).containsSame(credential);
+    }
+
+    @Test
+    void findCredential_regexCredential_regexUrlProvided() {
+        // arrange
+        var credential = credential("regex", "https?://gitlab\\.example\\.com/api/v4/groups/\\d+/-/packages/maven");
+        var matcher = new CredentialMatcher(List.of(credential));
+
+        // act
+        var result = matcher.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).containsSame(credential);
+    }
+
+    @Test
+    void findCredential_mostSpecificCredential_severalCredentialsMatch() {
+        // arrange
+        var regex = credential("a_regex", "https://gitlab\\.example\\.com/api/v4/groups/\\d+/-/packages/maven");
+        var shortPrefix = credential("b_short_prefix", "https://gitlab.example.com/.*");
+        var longPrefix = credential("c_long_prefix", "https://gitlab.example.com/api/v4/.*");
+        var literal = credential("d_literal", REPOSITORY_URL);
+        var matcher = new CredentialMatcher(List.of(regex, shortPrefix, longPrefix, literal));
+
+        // act
+        var result = matcher.findAllCredentials(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).containsExactly(literal, longPrefix, shortPrefix, regex);
+        assertThat(matcher.findCredential(REPOSITORY_URL)).containsSame(literal);
+    }
+
+    @Test
+    void findCredential_lowestIdentifier_equallySpecificCredentials() {
+        // arrange
+        var second = credential("second", REPOSITORY_URL);
+        var first = credential("first", REPOSITORY_URL);
+        var matcher = new CredentialMatcher(List.of(second, first));
+
+        // act
+        var result = matcher.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(result).containsSame(first);
+    }
+
+    @Test
+    void findCredential_sameResult_calledRepeatedly() {
+        // arrange
+        var credential = credential("prefix", "https://gitlab.example.com/.*");
+        var matcher = new CredentialMatcher(List.of(credential));
+
+        // act
+        var first = matcher.findCredential(REPOSITORY_URL);
+        var second = matcher.findCredential(REPOSITORY_URL);
+
+        // assert
+        assertThat(second).isSameAs(first);
+    }
+
+    private static RepositoryCredentials credential(String identifier, String url) {
+        var credential = new RepositoryCredentials("repository_manager_repo_%s_url".formatted(identifier));
+        credential.setUrl(url);
+        return credential;
+    }
+}
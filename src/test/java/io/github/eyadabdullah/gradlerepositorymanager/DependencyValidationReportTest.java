@@ -0,0 +1,40 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.eyadabdullah.gradlerepositorymanager.exceptions.UnresolvableDependencies;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DependencyValidationReportTest {
+
+    @Test
+    void failIfDependenciesAreUnresolvable_noException_noFailuresReported() {
+        // arrange
+        var report = new DependencyValidationReport();
+
+        // act
+        var result = assertThatCode(report::failIfDependenciesAreUnresolvable);
+
+        // assert
+        result.doesNotThrowAnyException();
+    }
+
+    @Test
+    void failIfDependenciesAreUnresolvable_allFailuresReported_severalProjectsFailed() {
+        // arrange
+        var report = new DependencyValidationReport();
+        report.addFailure(":app", "implementation", "org.example:foo:1.0", new IllegalStateException("Could not find foo"));
+        report.addFailure(":lib", "api", "org.example:bar:2.0", new IllegalStateException("Could not find bar"));
+
+        // act
+        var result = assertThatThrownBy(report::failIfDependenciesAreUnresolvable);
+
+        // assert
+        result.isInstanceOf(UnresolvableDependencies.class)
+            .hasMessageContaining("Could not resolve 2 dependencies")
+            .hasMessageContaining(":app (implementation): org.example:foo:1.0 - Could not find foo")
+            .hasMessageContaining(":lib (api): org.example:bar:2.0 - Could not find bar");
+    }
+}
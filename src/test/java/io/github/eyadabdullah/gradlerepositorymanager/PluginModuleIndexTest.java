@@ -0,0 +1,135 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.PluginModuleRule;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PluginModuleIndexTest {
+
+    private static final PluginModuleRule EXAMPLE = PluginModuleRule.forNamespace("com.example.gradle", List.of());
+    private static final PluginModuleRule ACME = PluginModuleRule.forNamespace("com.acme.*", List.of("acme"));
+    private static final PluginModuleRule SPECIAL = PluginModuleRule.forPlugin("org.special", "org.tools:special-plugin", List.of());
+
+    @Test
+    void find_namespaceRule_namespaceMatches() {
+        // arrange
+        var index = PluginModuleIndex.of(List.of(EXAMPLE, ACME, SPECIAL));
+
+        // act
+        var result = index.find("com.example.gradle.conventions", "com.example.gradle");
+
+        // assert
+        assertThat(result).isEqualTo(EXAMPLE);
+    }
+
+    @Test
+    void find_wildcardRule_namespaceBelowWildcard() {
+        // arrange
+        var index = PluginModuleIndex.of(List.of(EXAMPLE, ACME, SPECIAL));
+
+        // act & assert
+        assertThat(index.find("com.acme.x", "com.acme")).isEqualTo(ACME);
+        assertThat(index.find("com.acme.build.tools.x", "com.acme.build.tools")).isEqualTo(ACME);
+        assertThat(index.find("com.acmecorp.x", "com.acmecorp")).isNull();
+    }
+
+    @Test
+    void find_pluginRuleFirst_pluginIdAndNamespaceMatch() {
+        // arrange
+        var plugin = PluginModuleRule.forPlugin("com.acme.legacy", "com.acme.old:legacy-plugin:0.9", List.of());
+        var index = PluginModuleIndex.of(List.of(ACME, plugin));
+
+        // act
+        var result = index.find("com.acme.legacy", "com.acme");
+
+        // assert
+        assertThat(result).isEqualTo(plugin);
+    }
+
+    @Test
+    void find_noRule_pluginWithoutNamespace() {
+        // arrange
+        var index = PluginModuleIndex.of(List.of(EXAMPLE, ACME));
+
+        // act
+        var result = index.find("java", null);
+
+        // assert
+        assertThat(result).isNull();
+    }
+
+    @Test
+    void moduleNotation_requestedVersionAppended_ruleWithoutVersion() {
+        // act & assert
+        assertThat(PluginModuleIndex.moduleNotation(EXAMPLE, "com.example.gradle", "conventions", "1.0"))
+                .isEqualTo("com.example.gradle:conventions:1.0");
+        assertThat(PluginModuleIndex.moduleNotation(SPECIAL, "org", "special", "2.1"))
+                .isEqualTo("org.tools:special-plugin:2.1");
+        assertThat(PluginModuleIndex.moduleNotation(EXAMPLE, "com.example.gradle", "conventions", null)).isNull();
+    }
+
+    @Test
+    void bindRepositories_groupExcludedFromOtherRepositories_namespaceBoundToRepository() {
+        // arrange
+        var service = new RepositoryManagerService();
+        var plan = new RepositoryPlan(List.of(service.planRepository(repository("acme")), service.planRepository(repository("other"))),
+                false, false, true);
+        var index = PluginModuleIndex.of(List.of(EXAMPLE, ACME));
+
+        // act
+        var result = index.bindRepositories(plan);
+
+        // assert
+        var exclude = new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP_REGEX,
+                "com\\.acme(\\..*)?", null, null);
+        assertThat(result.getRepositories().get(0).contentFilter().isEmpty()).isTrue();
+        assertThat(result.getRepositories().get(1).contentFilter().getRules()).containsExactly(exclude);
+        assertThat(result.getDefaultRepositoryFilter(RepositoryPlan.MAVEN_CENTRAL).getRules()).containsExactly(exclude);
+    }
+
+    @Test
+    void bindRepositories_onlyModuleExcluded_pluginIdBoundToRepository() {
+        // arrange
+        var service = new RepositoryManagerService();
+        var plan = new RepositoryPlan(List.of(service.planRepository(repository("tools")), service.planRepository(repository("other"))),
+                false, false, true);
+        var index = PluginModuleIndex.of(List.of(PluginModuleRule.forPlugin("org.special", "org.tools:special-plugin", List.of("tools"))));
+
+        // act
+        var result = index.bindRepositories(plan);
+
+        // assert
+        var exclude = new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.MODULE,
+                "org.tools", "special-plugin", null);
+        assertThat(result.getRepositories().get(0).contentFilter().isEmpty()).isTrue();
+        assertThat(result.getRepositories().get(1).contentFilter().getRules()).containsExactly(exclude);
+        assertThat(result.getDefaultRepositoryFilter(RepositoryPlan.MAVEN_CENTRAL).getRules()).containsExactly(exclude);
+    }
+
+    @Test
+    void bindRepositories_planUnchanged_boundRepositoryNotManaged() {
+        // arrange
+        var service = new RepositoryManagerService();
+        var plan = new RepositoryPlan(List.of(service.planRepository(repository("other"))), false, false, true);
+        var index = PluginModuleIndex.of(List.of(ACME));
+
+        // act
+        var result = index.bindRepositories(plan);
+
+        // assert
+        assertThat(result).isSameAs(plan);
+    }
+
+    private static ManageableRepository repository(String name) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl("https://%s.example.com/maven".formatted(name));
+        return repository;
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryCacheWarmupTest {
+
+    @TempDir
+    Path buildDir;
+
+    @Test
+    void parseLockfile_lockedModules_gradleLockfile() {
+        // arrange
+        var lines = List.of(
+            "# This is a Gradle generated file for dependency locking.",
+            "# Manual edits can break the build and are not advised.",
+            "# This file is expected to be part of source control.",
+            "com.example:library:1.0=compileClasspath,runtimeClasspath",
+            "org.example:tool:2.1.0=runtimeClasspath",
+            "empty=annotationProcessor");
+
+        // act
+        var result = RepositoryCacheWarmup.parseLockfile(lines);
+
+        // assert
+        assertThat(result).containsExactly("com.example:library:1.0", "org.example:tool:2.1.0");
+    }
+
+    @Test
+    void readLockfiles_deduplicatedModules_severalProjectsLockSameModule() throws Exception {
+        // arrange
+        var app = Files.createDirectories(buildDir.resolve("app"));
+        var lib = Files.createDirectories(buildDir.resolve("lib"));
+        Files.write(app.resolve("gradle.lockfile"), List.of("com.example:library:1.0=runtimeClasspath"));
+        Files.write(lib.resolve("gradle.lockfile"), List.of("com.example:library:1.0=compileClasspath"));
+        Files.createDirectories(lib.resolve("gradle/dependency-locks"));
+        Files.write(lib.resolve("gradle/dependency-locks/testRuntimeClasspath.lockfile"), List.of("org.example:tool:2.1.0"));
+
+        // act
+        var result = RepositoryCacheWarmup.readLockfiles(List.of(app, lib));
+
+        // assert
+        assertThat(result).containsExactly("com.example:library:1.0", "org.example:tool:2.1.0");
+    }
+
+    @Test
+    void isCached_onlyResolvedModules_moduleInGradleCache() throws Exception {
+        // arrange
+        var library = Files.createDirectories(buildDir.resolve("com.example/library/1.0/a1b2"));
+        Files.writeString(library.resolve("library-1.0.pom"), "<project/>");
+        Files.writeString(Files.createDirectories(buildDir.resolve("com.example/library/1.0/c3d4")).resolve("library-1.0.jar"), "");
+        var metadataOnly = Files.createDirectories(buildDir.resolve("com.example/tool/1.0/e5f6"));
+        Files.writeString(metadataOnly.resolve("tool-1.0.pom"), "<project/>");
+        Files.createDirectories(buildDir.resolve("com.example/empty/1.0"));
+
+        // act & assert
+        assertThat(RepositoryCacheWarmup.isCached(buildDir, "com.example:library:1.0")).isTrue();
+        assertThat(RepositoryCacheWarmup.isCached(buildDir, "com.example:library:2.0")).isFalse();
+        assertThat(RepositoryCacheWarmup.isCached(buildDir, "com.example:tool:1.0")).isFalse();
+        assertThat(RepositoryCacheWarmup.isCached(buildDir, "com.example:empty:1.0")).isFalse();
+    }
+
+    @Test
+    void isCached_cached_pomOnlyModuleWithoutJar() throws Exception {
+        // arrange
+        var bom = Files.createDirectories(buildDir.resolve("com.example/bom/1.0/a1b2"));
+        Files.writeString(bom.resolve("bom-1.0.pom"), "<project>\n  <packaging> pom </packaging>\n</project>");
+
+        // act & assert
+        assertThat(RepositoryCacheWarmup.isCached(buildDir, "com.example:bom:1.0")).isTrue();
+    }
+}
@@ -1,11 +1,17 @@
 package io.github.eyadabdullah.gradlerepositorymanager;
 
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class RepositoryCredentialsTest {
 
@@ -136,4 +142,42 @@ class RepositoryCredentialsTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void bindSecretProviders_passwordProvider_passwordPropertyProvided() {
+        // arrange
+        var element = "repository_manager_repo_myname123_password";
+        var repositoryCredentials = new RepositoryCredentials(element);
+        repositoryCredentials.setProperty(element, "foo");
+        var providers = mock(ProviderFactory.class);
+        Provider<String> environmentVariable = mock(Provider.class);
+        Provider<String> systemProperty = mock(Provider.class);
+        Provider<String> secret = mock(Provider.class);
+        when(providers.environmentVariable(element)).thenReturn(environmentVariable);
+        when(providers.systemProperty(element)).thenReturn(systemProperty);
+        when(environmentVariable.orElse(systemProperty)).thenReturn(secret);
+
+        // act
+        repositoryCredentials.bindSecretProviders(providers);
+
+        // assert
+        assertThat(repositoryCredentials.getPasswordProvider()).isSameAs(secret);
+        assertThat(repositoryCredentials.getTokenValueProvider()).isNull();
+        verify(secret, never()).get();
+        verify(secret, never()).getOrNull();
+    }
+
+    @Test
+    void bindSecretProviders_noProvider_passwordSetDirectly() {
+        // arrange
+        var repositoryCredentials = new RepositoryCredentials("repository_manager_repo_myname123_url");
+        repositoryCredentials.setPassword("foo");
+
+        // act
+        repositoryCredentials.bindSecretProviders(mock(ProviderFactory.class));
+
+        // assert
+        assertThat(repositoryCredentials.getPasswordProvider()).isNull();
+        assertThat(repositoryCredentials.getPassword()).isEqualTo("foo");
+    }
 }
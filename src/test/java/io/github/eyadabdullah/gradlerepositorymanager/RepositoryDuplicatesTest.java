@@ -0,0 +1,114 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryDuplicatesTest {
+
+    @Test
+    void canonicalUrl_sameUrl_urlVariants() {
+        // arrange
+        var variants = List.of(
+                "https://Repo.Example.com/maven/",
+                "https://repo.example.com:443/maven",
+                "https://repo.example.com//maven//",
+                " https://repo.example.com/maven#releases ");
+
+        // act
+        var result = variants.stream().map(RepositoryDuplicates::canonicalUrl).distinct().toList();
+
+        // assert
+        assertThat(result).containsExactly("https://repo.example.com/maven");
+    }
+
+    @Test
+    void canonicalUrl_pathCaseKept_pathWithUpperCase() {
+        // act
+        var result = RepositoryDuplicates.canonicalUrl("HTTP://repo.example.com:8080/Maven/");
+
+        // assert
+        assertThat(result).isEqualTo("http://repo.example.com:8080/Maven");
+    }
+
+    @Test
+    void collapse_firstRepositoryWithDeclaredUrlAndStrictestFlags_sameUrlDeclaredTwice() {
+        // arrange
+        var first = repository("first", "http://repo.example.com/maven", repository -> repository.setSecureProtocol(false));
+        var second = repository("second", "https://repo.example.com/maven/", repository -> {
+            repository.setRequireAuthentication(true);
+            repository.setRequired(true);
+        });
+        var other = repository("other", "https://other.example.com/maven", repository -> { });
+
+        // act
+        var result = RepositoryDuplicates.collapse(List.of(first, other, second), Map.of());
+
+        // assert
+        assertThat(result.repositories()).extracting(ManageableRepository::getName).containsExactly("first", "other");
+        var collapsed = result.repositories().get(0);
+        assertThat(collapsed.getUrl()).isEqualTo("http://repo.example.com/maven");
+        assertThat(collapsed.isSecureProtocol()).isFalse();
+        assertThat(collapsed.requireAuthentication()).isTrue();
+        assertThat(collapsed.isRequired()).isTrue();
+        assertThat(result.collapsed()).containsExactly("second (https://repo.example.com/maven/) into first");
+        assertThat(first.getUrl()).isEqualTo("http://repo.example.com/maven");
+    }
+
+    @Test
+    void collapse_repositoriesKept_differentContentFilters() {
+        // arrange
+        var first = repository("first", "https://repo.example.com/maven", repository -> repository.includeGroup("com.example"));
+        var second = repository("second", "https://repo.example.com/maven", repository -> { });
+
+        // act
+        var result = RepositoryDuplicates.collapse(List.of(first, second), Map.of());
+
+        // assert
+        assertThat(result.repositories()).hasSize(2);
+        assertThat(result.collapsed()).isEmpty();
+    }
+
+    @Test
+    void collapse_repositoriesKept_snapshotsOnlyAndReleasesOnly() {
+        // arrange
+        var snapshots = repository("snapshots", "https://repo.example.com/maven", repository -> repository.setSnapshotsOnly(true));
+        var releases = repository("releases", "https://repo.example.com/maven", repository -> repository.setReleasesOnly(true));
+
+        // act
+        var result = RepositoryDuplicates.collapse(List.of(snapshots, releases), Map.of());
+
+        // assert
+        assertThat(result.repositories()).hasSize(2);
+    }
+
+    @Test
+    void collapse_coveredRepository_memberOfManagedVirtualRepository() {
+        // arrange
+        var group = repository("group", "https://nexus.example.com/repository/maven-public", repository -> { });
+        var central = repository("central", "https://repo.maven.apache.org/maven2/", repository -> { });
+        var virtualRepositories = Map.of(
+                "https://nexus.example.com/repository/maven-public/", List.of("https://repo.maven.apache.org/maven2"));
+
+        // act
+        var result = RepositoryDuplicates.collapse(List.of(group, central), virtualRepositories);
+
+        // assert
+        assertThat(result.repositories()).hasSize(2);
+        assertThat(result.covered()).containsExactly("central is already served by group");
+    }
+
+    private static ManageableRepository repository(String name, String url, Consumer<ManageableRepository> configuration) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl(url);
+        configuration.accept(repository);
+        return repository;
+    }
+}
@@ -68,6 +68,10 @@ abstract class RepositoryManagerBaseTest {
   }
 
   protected BuildResult loadAndAssertLoadingProject(Map<String, String> environmentVariables) {
+    return loadAndAssertRunningTasks(environmentVariables);
+  }
+
+  protected BuildResult loadAndAssertRunningTasks(Map<String, String> environmentVariables, String... tasks) {
     // act
     var runner = GradleRunner.create();
 
@@ -84,6 +88,10 @@ abstract class RepositoryManagerBaseTest {
         .withProjectDir(tempProjectDir)
         .withPluginClasspath();
 
+    if (tasks.length > 0) {
+      runner = runner.withArguments(tasks);
+    }
+
     BuildResult buildResult = runner.build();
 
     // assert
@@ -101,6 +109,10 @@ abstract class RepositoryManagerBaseTest {
     }
   }
 
+  static String readConfigurationReport() throws IOException {
+    return Files.readString(new File(tempProjectDir, "build/reports/repository-manager/configuration.txt").toPath());
+  }
+
   static void setTestLogLevel(String debug) throws IOException {
     Files.writeString(propertiesFile.toPath(), "\norg.gradle.logging.level="+debug, StandardOpenOption.APPEND, StandardOpenOption.CREATE);
   }
@@ -0,0 +1,77 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryManagerConfigurationCacheTest extends RepositoryManagerBaseTest {
+
+  private static final String REPOSITORY_URL = "https://gitlab.example.com/api/v4/groups/680/-/packages/maven";
+  private static final String CONFIGURATION_CACHE_REUSED = "Reusing configuration cache.";
+
+  @BeforeEach
+  void configureProject() throws IOException {
+    configurePluginInSettings("""
+          RepositoryManager {
+            repository("repository", "%s")
+          }
+        """.formatted(REPOSITORY_URL));
+    addPublicDependencies();
+  }
+
+  @Test
+  void configurationCache_reused_unrelatedEnvironmentVariableChanged() {
+    // arrange
+    runWithConfigurationCache(environment("foo", "first"));
+
+    // act
+    var result = runWithConfigurationCache(environment("foo", "second"));
+
+    // assert
+    assertThat(result.getOutput())
+        .contains(CONFIGURATION_CACHE_REUSED)
+        .doesNotContain("Gradle Repository Manager");
+  }
+
+  @Test
+  void configurationCache_invalidated_repositoryCredentialChanged() {
+    // arrange
+    runWithConfigurationCache(environment("foo", "unchanged"));
+
+    // act
+    var result = runWithConfigurationCache(environment("bar", "unchanged"));
+
+    // assert
+    assertThat(result.getOutput())
+        .doesNotContain(CONFIGURATION_CACHE_REUSED)
+        .containsPattern("repository +NONE +my_name123 +" + Pattern.quote(REPOSITORY_URL));
+  }
+
+  private static Map<String, String> environment(String username, String unrelatedValue) {
+    return Map.ofEntries(
+        entry("repository_manager_repo_my_name123_username", username),
+        entry("repository_manager_repo_my_name123_url", REPOSITORY_URL),
+        entry("unrelated_entry", unrelatedValue)
+    );
+  }
+
+  private static BuildResult runWithConfigurationCache(Map<String, String> environmentVariables) {
+    var result = GradleRunner.create()
+        .withEnvironment(environmentVariables)
+        .withArguments("help", "--configuration-cache")
+        .forwardOutput()
+        .withProjectDir(tempProjectDir)
+        .withPluginClasspath()
+        .build();
+    assertThat(result).isNotNull();
+    return result;
+  }
+}
@@ -0,0 +1,122 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryManagerIsolatedProjectsTest extends RepositoryManagerBaseTest {
+
+  private static final String REPOSITORY_URL = "https://gitlab.example.com/api/v4/groups/680/-/packages/maven";
+
+  @BeforeEach
+  void configureProject() throws IOException {
+    configurePluginInSettings("""
+          include 'library'
+
+          RepositoryManager {
+            repository("repository", "%s")
+            validateDependencies()
+          }
+        """.formatted(REPOSITORY_URL));
+    addPublicDependencies();
+    var libraryDir = new File(tempProjectDir, "library");
+    libraryDir.mkdirs();
+    writeFile(new File(libraryDir, "build.gradle"), """
+        plugins {
+          id("java-library")
+        }
+        """);
+  }
+
+  @Test
+  void isolatedProjects_allProjectsConfigured_isolatedProjectsEnabled() throws IOException {
+    // act
+    var result = runWithIsolatedProjects("help");
+
+    // assert
+    assertThat(result.getOutput()).contains("2 projects configured");
+    assertThat(readConfigurationReport())
+        .contains("- configured project: :")
+        .contains("- configured project: :library");
+  }
+
+  @Test
+  void isolatedProjects_validationTasksRegistered_isolatedProjectsEnabled() {
+    // act
+    var result = runWithIsolatedProjects("validateAllRepositories", "--dry-run");
+
+    // assert
+    assertThat(result.getOutput())
+        .contains(":library:validateRepositories SKIPPED")
+        .contains(":validateAllRepositories SKIPPED");
+  }
+
+  @Test
+  void isolatedProjects_dependencyResolvedFromManagedRepository_subprojectDeclaresDependency() throws IOException {
+    // arrange
+    var moduleDir = new File(tempProjectDir, "repository/com/example/greeting/1.0");
+    moduleDir.mkdirs();
+    writeFile(new File(moduleDir, "greeting-1.0.pom"), """
+        <project>
+          <modelVersion>4.0.0</modelVersion>
+          <groupId>com.example</groupId>
+          <artifactId>greeting</artifactId>
+          <version>1.0</version>
+        </project>
+        """);
+    writeFile(new File(moduleDir, "greeting-1.0.jar"), "");
+    configurePluginInSettings("""
+          include 'library'
+
+          RepositoryManager {
+            gradlePluginPortal(false)
+            mavenCentral(false)
+            repository("local", "%s") {
+              secureProtocol = false
+            }
+          }
+        """.formatted(new File(tempProjectDir, "repository").toURI()));
+    writeFile(new File(tempProjectDir, "library/build.gradle"), """
+        plugins {
+          id("java-library")
+        }
+
+        dependencies {
+          implementation("com.example:greeting:1.0")
+        }
+
+        tasks.register("printClasspath") {
+          def classpath = configurations.compileClasspath
+          doLast {
+            println("classpath: " + classpath.files*.name)
+          }
+        }
+        """);
+
+    // act
+    var result = runWithIsolatedProjects(":library:printClasspath");
+
+    // assert
+    assertThat(result.getOutput()).contains("classpath: [greeting-1.0.jar]");
+  }
+
+  private static BuildResult runWithIsolatedProjects(String... tasks) {
+    var arguments = new String[tasks.length + 1];
+    System.arraycopy(tasks, 0, arguments, 0, tasks.length);
+    arguments[tasks.length] = "-Dorg.gradle.unsafe.isolated-projects=true";
+    var result = GradleRunner.create()
+        .withArguments(arguments)
+        .forwardOutput()
+        .withProjectDir(tempProjectDir)
+        .withPluginClasspath()
+        .build();
+    assertThat(result).isNotNull();
+    return result;
+  }
+}
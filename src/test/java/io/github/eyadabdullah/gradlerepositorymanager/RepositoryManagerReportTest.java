@@ -0,0 +1,75 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryManagerReportTest {
+
+    private static final String REPOSITORY_URL = "https://gitlab.example.com/api/v4/groups/680/-/packages/maven";
+
+    @TempDir
+    Path reportDir;
+
+    @Test
+    void toSummary_oneRowPerRepository_manyProjectsConfigured() {
+        // arrange
+        var report = new RepositoryManagerReport();
+        var credential = RepositoryCredentials.forIdentifier("gitlab");
+        credential.setUrl(REPOSITORY_URL);
+        credential.setUsername("foo");
+        credential.setPassword("bar");
+        var service = new RepositoryManagerService();
+        service.setRepositoryCredentials(List.of(credential));
+        report.addCredentials(service.getRepositoryCredentials());
+        report.setPlan(new RepositoryPlan(List.of(service.planRepository(repository("gitlab"))), false, true, false));
+
+        // act
+        for (var project = 0; project < 1800; project++) {
+            report.addConfiguredProject(":project" + project);
+        }
+        var summary = report.toSummary();
+
+        // assert
+        assertThat(summary.lines()).hasSize(4);
+        assertThat(summary)
+            .startsWith("> RepositoryManager - 2 repositories, 1 credentials, 1800 projects configured")
+            .contains("  repository    authentication  credential  url")
+            .contains("  gitlab        PASSWORD        gitlab      " + REPOSITORY_URL)
+            .contains("  mavenCentral  NONE            -           -");
+    }
+
+    @Test
+    void writeDetails_everyEventListed_repositoriesCredentialsAndProjectsAdded() throws Exception {
+        // arrange
+        var report = new RepositoryManagerReport();
+        var credential = RepositoryCredentials.forIdentifier("gitlab");
+        credential.setUrl(REPOSITORY_URL);
+        report.addRepositories(List.of(repository("gitlab")));
+        report.addCredentials(List.of(credential));
+        report.addConfiguredProject(":app");
+        var reportFile = reportDir.resolve("repository-manager/configuration.txt");
+
+        // act
+        report.writeDetails(reportFile);
+
+        // assert
+        assertThat(Files.readAllLines(reportFile)).containsExactly(
+            "- found repository: gitlab\t- " + REPOSITORY_URL,
+            "- found credential: " + credential,
+            "- configured project: :app");
+    }
+
+    private static ManageableRepository repository(String name) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl(REPOSITORY_URL);
+        return repository;
+    }
+}
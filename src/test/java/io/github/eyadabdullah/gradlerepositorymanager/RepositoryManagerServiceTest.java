@@ -9,17 +9,23 @@ import java.util.List;
 import java.util.Map;
 
 import org.gradle.api.Action;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.artifacts.dsl.RepositoryHandler;
 import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ProviderFactory;
 import org.gradle.testkit.runner.BuildTask;
 import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
 import org.gradle.testkit.runner.UnexpectedBuildFailure;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
 import io.github.eyadabdullah.gradlerepositorymanager.exceptions.MissingRepositoryCredentials;
 import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
 import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension;
 
 import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,10 +35,18 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @SuppressWarnings("java:S2699")
 class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
 
+  @AfterEach
+  void clearCredentialProperties() {
+    // the builds run in this JVM, so the properties would bind credentials in the following tests
+    System.clearProperty("repository_manager_repo_my_name123_username");
+    System.clearProperty("repository_manager_repo_my_name123_url");
+  }
+
   @Test
   void testLoadingDefaultRepositories() throws IOException {
     // arrange
@@ -55,12 +69,30 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
         """);
     addPublicDependencies();
     // act & assert
-    var result = loadAndAssertLoadingProject();
+    var result = loadAndAssertRunningTasks(null, "validateRepositories");
     assertTrue(result.getOutput().contains("configured repository: mavenCentral"));
     assertTrue(result.getOutput().contains("Validating dependencies:"));
 
   }
 
+  @Test
+  void testDependencyResolutionManagement_loadingPublicDependencies() throws IOException {
+    // arrange
+    configurePluginInSettings( """
+        RepositoryManager {
+          mavenCentral()
+          dependencyResolutionManagement()
+          repositoriesMode(RepositoriesMode.FAIL_ON_PROJECT_REPOS)
+          validateDependencies()
+        }
+        """);
+    addPublicDependencies();
+    // act & assert
+    var result = loadAndAssertRunningTasks(null, "validateRepositories", "--rerun");
+    assertTrue(result.getOutput().contains("Validating dependencies:"));
+    assertFalse(result.getOutput().contains("RepositoryManager - configure"));
+  }
+
   @Test
   void testAddingSimpleRepo() throws IOException {
     // arrange
@@ -71,8 +103,8 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
         """);
     addPublicDependencies();
     // act & assert
-    var result = loadAndAssertLoadingProject();
-    assertTrue(result.getOutput().contains("found repository: https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    loadAndAssertLoadingProject();
+    assertTrue(readConfigurationReport().contains("found repository: https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
   }
 
   @Test
@@ -86,7 +118,9 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     addPublicDependencies();
     // act & assert
     var result = loadAndAssertLoadingProject();
-    assertTrue(result.getOutput().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    assertTrue(readConfigurationReport().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    assertThat(result.getOutput())
+        .containsPattern("repository +NONE +- +https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
   }
 
   @Test
@@ -102,8 +136,11 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     addPublicDependencies();
     // act & assert
     var result = loadAndAssertLoadingProject();
-    assertTrue(result.getOutput().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
-    assertTrue(result.getOutput().contains("- found credential: RepositoryCredentials{identifier='my_name123', url='https://gitlab.example.com/api/v4/groups/680/-/packages/maven', tokenName='null', username='foo'}"));
+    assertTrue(readConfigurationReport().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    assertTrue(readConfigurationReport().contains("- found credential: RepositoryCredentials{identifier='my_name123', url='https://gitlab.example.com/api/v4/groups/680/-/packages/maven', tokenName='null', username='foo'}"));
+    assertThat(result.getOutput())
+        .contains("> RepositoryManager - details written to")
+        .containsPattern("repository +NONE +my_name123 +https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
   }
 
 
@@ -121,9 +158,10 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     addPublicDependencies();
     // act & assert
     var result = loadAndAssertLoadingProject();
-    assertTrue(result.getOutput().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
-    assertTrue(result.getOutput().contains("found repository: repository2\t- https://gitlab.example.com/api/v4/groups/42/-/packages/maven"));
-    assertTrue(result.getOutput().contains("- found credential: RepositoryCredentials{identifier='my_name123', url='https://gitlab.example.com/.*', tokenName='null', username='foo'}"));
+    assertTrue(readConfigurationReport().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    assertTrue(readConfigurationReport().contains("found repository: repository2\t- https://gitlab.example.com/api/v4/groups/42/-/packages/maven"));
+    assertTrue(readConfigurationReport().contains("- found credential: RepositoryCredentials{identifier='my_name123', url='https://gitlab.example.com/.*', tokenName='null', username='foo'}"));
+    assertThat(result.getOutput()).containsPattern("repository2 +NONE +my_name123 +https://gitlab.example.com/api/v4/groups/42/-/packages/maven");
   }
 
   @Test
@@ -144,9 +182,9 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
           """);
       addPublicDependencies();
       // act & assert
-      var result = loadAndAssertLoadingProject(env);
-      assertTrue(result.getOutput().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
-      assertTrue(result.getOutput()
+      loadAndAssertLoadingProject(env);
+      assertTrue(readConfigurationReport().contains("found repository: repository\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+      assertTrue(readConfigurationReport()
           .contains("- found credential: RepositoryCredentials{identifier='my_name123', url='https://gitlab.example.com/api/v4/groups/680/-/packages/maven', tokenName='null', username='foo'}"));
   }
 
@@ -161,11 +199,11 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
         """);
     addPublicDependencies();
     // act & assert
-    var result = loadAndAssertLoadingProject();
-    assertTrue(result.getOutput().contains("found repository: repository 1\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
-    var firstRepoPosition = result.getOutput().indexOf("repository 1");
-    assertTrue(result.getOutput().contains("found repository: repository 2\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
-    var secondRepoPosition = result.getOutput().indexOf("repository 2");
+    loadAndAssertLoadingProject();
+    assertTrue(readConfigurationReport().contains("found repository: repository 1\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    var firstRepoPosition = readConfigurationReport().indexOf("repository 1");
+    assertTrue(readConfigurationReport().contains("found repository: repository 2\t- https://gitlab.example.com/api/v4/groups/680/-/packages/maven"));
+    var secondRepoPosition = readConfigurationReport().indexOf("repository 2");
     assertTrue(secondRepoPosition > firstRepoPosition);
   }
 
@@ -204,6 +242,7 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     // act
     var result = GradleRunner.create()
         .withDebug(true)
+        .withArguments("validateRepositories")
         .forwardOutput()
         .withProjectDir(tempProjectDir)
         .withPluginClasspath();
@@ -211,6 +250,86 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     assertThrows(Exception.class, result::build);
   }
 
+  @Test
+  void testValidationUpToDate_dependenciesAndRepositoriesUnchanged() throws IOException {
+    // arrange
+    configurePluginInSettings( """
+        RepositoryManager {
+          mavenCentral()
+          validateDependencies()
+        }
+        """);
+    addPublicDependencies();
+    loadAndAssertRunningTasks(null, "validateAllRepositories");
+    // act
+    var result = loadAndAssertRunningTasks(null, "validateAllRepositories");
+    // assert
+    var task = result.task(":validateRepositories");
+    assertThat(task).isNotNull();
+    assertThat(task.getOutcome()).isEqualTo(TaskOutcome.UP_TO_DATE);
+  }
+
+  @Test
+  void testValidationExecuted_dynamicVersionDeclared() throws IOException {
+    // arrange
+    configurePluginInSettings( """
+        RepositoryManager {
+          mavenCentral()
+          validateDependencies()
+        }
+        """);
+    writeFile(buildFile, """
+        plugins {
+          id("java")
+        }
+
+        dependencies {
+            implementation("org.assertj:assertj-core:3.24.+")
+        }
+        """);
+    loadAndAssertRunningTasks(null, "validateAllRepositories");
+    // act
+    var result = loadAndAssertRunningTasks(null, "validateAllRepositories");
+    // assert
+    var task = result.task(":validateRepositories");
+    assertThat(task).isNotNull();
+    assertThat(task.getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+  }
+
+  @Test
+  void warmRepositoryCache_downloadsDependencies_publicDependenciesDeclared() throws IOException {
+    // arrange
+    configurePluginInSettings( """
+        RepositoryManager {
+          mavenCentral()
+        }
+        """);
+    addPublicDependencies();
+    // act
+    var result = loadAndAssertRunningTasks(null, "warmRepositoryCache");
+    // assert
+    assertThat(result.getOutput()).contains("- Warmed ").contains(", 0 failures");
+  }
+
+  @Test
+  void testValidationSkipped_helpTaskRequested() throws IOException {
+    // arrange
+    configurePluginInSettings( """
+        RepositoryManager {
+          gradlePluginPortal(false)
+          mavenCentral(false)
+
+          repository("repository", "https://gitlab.example.com/api/v4/groups/680/-/packages/maven")
+          validateDependencies()
+        }
+        """);
+    addPublicDependencies();
+    // act
+    var result = loadAndAssertLoadingProject();
+    // assert
+    assertFalse(result.getOutput().contains("Validating dependencies:"));
+  }
+
   @Test
   void configure_fails_repositoryRequireAuthenticationButNoneProvided() throws IOException {
     // arrange
@@ -283,6 +402,38 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     assertThat(task.getOutcome().name()).isEqualTo("SUCCESS");
   }
 
+  @Test
+  void configure_credentialsChanged_managedRepositoryCredentialsSetInBuildScript() throws IOException {
+    // arrange
+    configurePluginInSettings( """
+        RepositoryManager {
+          repository("repository", "https://gitlab.example.com/api/v4/groups/680/-/packages/maven")
+        }
+        """);
+    writeFile(buildFile, """
+        repositories.named('repository', MavenArtifactRepository) {
+          println "bound credentials: ${credentials.username}/${credentials.password}"
+          credentials {
+            password = 'changed'
+          }
+          println "changed credentials: ${credentials.username}/${credentials.password}"
+        }
+        """);
+    var env = Map.ofEntries(
+        entry("repository_manager_repo_my_name123_username", "foo"),
+        entry("repository_manager_repo_my_name123_password", "secret"),
+        entry("repository_manager_repo_my_name123_url", "https://gitlab.example.com/api/v4/groups/680/-/packages/maven")
+    );
+
+    // act
+    var result = loadAndAssertLoadingProject(env);
+
+    // assert
+    assertThat(result.getOutput())
+        .contains("bound credentials: foo/secret")
+        .contains("changed credentials: foo/changed");
+  }
+
   @Test
   void addRepository_fails_noCredentialsFoundButRepositoryRequiresAuthentication() {
     // arrange
@@ -409,4 +560,120 @@ class RepositoryManagerServiceTest extends RepositoryManagerBaseTest {
     // assert
     assertThat(processedRepositories).hasSize(1);
   }
+
+  @Test
+  void createRepositoryPlan_bindsCredentialAndAuthentication_tokenCredentialsFound() {
+    // arrange
+    ManageableRepository repository = new ManageableRepositoryImpl("someName");
+    repository.setUrl("https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
+    repository.setReleasesOnly(true);
+
+    var credential = new RepositoryCredentials("repository_manager_repo_name_url");
+    credential.setUrl("https://gitlab.example.com/.*");
+    credential.setTokenName("token_name");
+    credential.setTokenValue("token_value");
+
+    var repositoryManagerService = new RepositoryManagerService();
+    repositoryManagerService.setRepositoryCredentials(List.of(credential));
+
+    // act
+    var plan = repositoryManagerService.createRepositoryPlan(new RepositoryManagerExtension(mock(ObjectFactory.class), mock(ProviderFactory.class)), List.of(repository));
+
+    // assert
+    assertThat(plan.getRepositories()).hasSize(1);
+    var plannedRepository = plan.getRepositories().get(0);
+    assertThat(plannedRepository.repository()).isSameAs(repository);
+    assertThat(plannedRepository.credential()).isSameAs(credential);
+    assertThat(plannedRepository.authentication()).isEqualTo(PlannedRepository.Authentication.HTTP_HEADER);
+    assertThat(plannedRepository.content()).isEqualTo(PlannedRepository.Content.RELEASES_ONLY);
+  }
+
+  @Test
+  void applyTo_addsRepositoryForEachHandler_planAppliedToSeveralProjects() {
+    // arrange
+    ManageableRepository repository = new ManageableRepositoryImpl("someName");
+    repository.setUrl("https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
+
+    var plan = new RepositoryPlan(List.of(new RepositoryManagerService().planRepository(repository)), false, false, false);
+
+    var firstRepoHandler = mock(RepositoryHandler.class);
+    var firstProcessedRepositories = mockMavenCall(firstRepoHandler);
+    var secondRepoHandler = mock(RepositoryHandler.class);
+    var secondProcessedRepositories = mockMavenCall(secondRepoHandler);
+
+    // act
+    plan.applyTo(firstRepoHandler);
+    plan.applyTo(secondRepoHandler);
+
+    // assert
+    assertThat(firstProcessedRepositories).hasSize(1);
+    assertThat(secondProcessedRepositories).hasSize(1);
+  }
+
+  @Test
+  void applyTo_addsOnlyRepositoriesInScope_repositoryScopedToProjects() {
+    // arrange
+    ManageableRepository sharedRepository = new ManageableRepositoryImpl("shared");
+    sharedRepository.setUrl("https://nexus.example.com/repository/maven-public");
+    ManageableRepository androidRepository = new ManageableRepositoryImpl("android");
+    androidRepository.setUrl("https://dl.google.com/dl/android/maven2");
+    androidRepository.includeProjects(":android:**");
+
+    var service = new RepositoryManagerService();
+    var plan = new RepositoryPlan(List.of(service.planRepository(sharedRepository), service.planRepository(androidRepository)),
+        false, true, false);
+
+    var androidRepoHandler = mock(RepositoryHandler.class);
+    var androidProcessedRepositories = mockMavenCall(androidRepoHandler);
+    var backendRepoHandler = mock(RepositoryHandler.class);
+    var backendProcessedRepositories = mockMavenCall(backendRepoHandler);
+
+    // act
+    plan.applyTo(androidRepoHandler, ":android:app");
+    plan.applyTo(backendRepoHandler, ":backend");
+
+    // assert
+    assertThat(androidProcessedRepositories).hasSize(2);
+    assertThat(backendProcessedRepositories).hasSize(1);
+    assertThat(plan.hasProjectScopes()).isTrue();
+    assertThat(plan.getRepositoryNames(":android:app")).containsExactly("shared", "android", "mavenCentral");
+    assertThat(plan.getRepositoryNames(":backend")).containsExactly("shared", "mavenCentral");
+  }
+
+  @Test
+  void addRepository_fails_exclusiveRepositoryWithoutIncludes() {
+    // arrange
+    var repoHandler = mock(RepositoryHandler.class);
+    mockMavenCall(repoHandler);
+
+    ManageableRepository repository = new ManageableRepositoryImpl("someName");
+    repository.setUrl("https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
+    repository.setExclusive(true);
+    repository.excludeGroup("com.example");
+
+    // act
+    var result = assertThatThrownBy(() -> new RepositoryManagerService().addRepository(repoHandler, repository));
+
+    // assert
+    result.isInstanceOf(InvalidUserDataException.class);
+  }
+
+  @Test
+  void addRepository_successful_exclusiveRepositoryWithIncludes() {
+    // arrange
+    var repoHandler = mock(RepositoryHandler.class);
+    var processedRepositories = mockMavenCall(repoHandler);
+
+    ManageableRepository repository = new ManageableRepositoryImpl("someName");
+    repository.setUrl("https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
+    repository.setExclusive(true);
+    repository.includeGroup("com.example");
+
+    // act
+    new RepositoryManagerService().addRepository(repoHandler, repository);
+
+    // assert
+    assertThat(processedRepositories).hasSize(1);
+    verify(repoHandler).exclusiveContent(ArgumentMatchers.any());
+  }
 }
@@ -0,0 +1,124 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryManagerTimingsTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @TempDir
+    Path reportDir;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void getPhaseStatistics_percentiles_severalSpansRecorded() {
+        // arrange
+        var timings = new RepositoryManagerTimings(true, nanoTime::get);
+
+        // act
+        for (var duration = 1; duration <= 20; duration++) {
+            record(timings, RepositoryManagerTimings.APPLY_REPOSITORIES, ":app", duration);
+        }
+
+        // assert
+        assertThat(timings.getPhaseStatistics()).containsOnlyKeys(RepositoryManagerTimings.APPLY_REPOSITORIES);
+        var statistics = timings.getPhaseStatistics().get(RepositoryManagerTimings.APPLY_REPOSITORIES);
+        assertThat(statistics.count()).isEqualTo(20);
+        assertThat(statistics.totalNanos()).isEqualTo(210 * MILLI);
+        assertThat(statistics.p50Nanos()).isEqualTo(10 * MILLI);
+        assertThat(statistics.p95Nanos()).isEqualTo(19 * MILLI);
+        assertThat(statistics.maxNanos()).isEqualTo(20 * MILLI);
+    }
+
+    @Test
+    void getProjectStatistics_aggregatedPerProject_severalPhasesRecorded() {
+        // arrange
+        var timings = new RepositoryManagerTimings(true, nanoTime::get);
+
+        // act
+        record(timings, RepositoryManagerTimings.APPLY_REPOSITORIES, ":app", 2);
+        record(timings, RepositoryManagerTimings.REGISTER_VALIDATION, ":app", 3);
+        record(timings, RepositoryManagerTimings.APPLY_REPOSITORIES, ":lib", 4);
+
+        // assert
+        var statistics = timings.getProjectStatistics();
+        assertThat(statistics).containsOnlyKeys(":app", ":lib");
+        assertThat(statistics.get(":app").count()).isEqualTo(2);
+        assertThat(statistics.get(":app").totalNanos()).isEqualTo(5 * MILLI);
+        assertThat(statistics.get(":lib").totalNanos()).isEqualTo(4 * MILLI);
+    }
+
+    @Test
+    void start_nothingRecorded_timingsDisabled() {
+        // arrange
+        var timings = new RepositoryManagerTimings(false, nanoTime::getAndIncrement);
+
+        // act
+        var first = timings.start(RepositoryManagerTimings.MATCH_CREDENTIALS, RepositoryManagerTimings.SETTINGS);
+        var second = timings.start(RepositoryManagerTimings.FIND_CREDENTIALS, RepositoryManagerTimings.SETTINGS);
+        first.close();
+        second.close();
+
+        // assert
+        assertThat(first).isSameAs(second);
+        assertThat(timings.isEmpty()).isTrue();
+        assertThat(nanoTime.get()).isZero();
+    }
+
+    @Test
+    void time_spanRecorded_actionThrows() {
+        // arrange
+        var timings = new RepositoryManagerTimings(true, nanoTime::get);
+
+        // act
+        var result = timings.time(RepositoryManagerTimings.ORDER_REPOSITORIES, RepositoryManagerTimings.SETTINGS,
+            () -> nanoTime.addAndGet(2 * MILLI));
+        try {
+            timings.time(RepositoryManagerTimings.ORDER_REPOSITORIES, RepositoryManagerTimings.SETTINGS, () -> {
+                nanoTime.addAndGet(3 * MILLI);
+                throw new IllegalStateException("failed");
+            });
+        } catch (IllegalStateException expected) {
+            // the span is closed anyway
+        }
+
+        // assert
+        assertThat(result).isEqualTo(2 * MILLI);
+        var statistics = timings.getPhaseStatistics().get(RepositoryManagerTimings.ORDER_REPOSITORIES);
+        assertThat(statistics.count()).isEqualTo(2);
+        assertThat(statistics.totalNanos()).isEqualTo(5 * MILLI);
+    }
+
+    @Test
+    void writeReport_jsonReport_spansRecorded() throws Exception {
+        // arrange
+        var timings = new RepositoryManagerTimings(true, nanoTime::get);
+        record(timings, RepositoryManagerTimings.FIND_CREDENTIALS, RepositoryManagerTimings.SETTINGS, 3);
+        var reportFile = reportDir.resolve("timings/configuration-timings.json");
+
+        // act
+        timings.writeReport(reportFile);
+
+        // assert
+        assertThat(Files.readString(reportFile))
+            .contains("\"phases\": {")
+            .contains("\"findCredentials\": {\"count\": 1, \"totalMillis\": 3.000, \"p50Millis\": 3.000, "
+                + "\"p95Millis\": 3.000, \"maxMillis\": 3.000}")
+            .contains("\"projects\": {")
+            .contains("\"settings\": {\"count\": 1");
+    }
+
+    private void record(RepositoryManagerTimings timings, String phase, String project, long durationMillis) {
+        var span = timings.start(phase, project);
+        nanoTime.addAndGet(durationMillis * MILLI);
+        span.close();
+    }
+}
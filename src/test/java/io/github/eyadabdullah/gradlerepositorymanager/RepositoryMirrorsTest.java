@@ -0,0 +1,164 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ProviderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryMirrorRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RepositoryMirrorsTest {
+
+    private static final String PRIMARY_URL = "https://artifactory.example.com/artifactory/libs-release";
+    private static final RepositoryMirrorRule FRANKFURT = new RepositoryMirrorRule("frankfurt",
+            "https://artifactory\\.example\\.com/(.*)",
+            List.of("https://fra.example.com/$1", "https://ams.example.com/$1"));
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void candidates_mirrorsFollowedByUrl_mirrorSetSelected() {
+        // arrange
+        var mirrors = RepositoryMirrors.of(List.of(FRANKFURT), Map.of(RepositoryMirrors.MIRROR_SET_PROPERTY, "frankfurt"));
+
+        // act
+        var result = mirrors.candidates(PRIMARY_URL);
+
+        // assert
+        assertThat(result).containsExactly(
+                "https://fra.example.com/artifactory/libs-release",
+                "https://ams.example.com/artifactory/libs-release",
+                PRIMARY_URL);
+    }
+
+    @Test
+    void candidates_urlOnly_mirrorSetNotSelected() {
+        // arrange
+        var mirrors = RepositoryMirrors.of(List.of(FRANKFURT), Map.of());
+
+        // act
+        var result = mirrors.candidates(PRIMARY_URL);
+
+        // assert
+        assertThat(mirrors.isEmpty()).isTrue();
+        assertThat(result).containsExactly(PRIMARY_URL);
+    }
+
+    @Test
+    void candidates_propertyRuleFirst_propertyAndSettingsRuleMatch() {
+        // arrange
+        var properties = Map.of(
+                RepositoryMirrors.MIRROR_SET_PROPERTY, "frankfurt",
+                "repository_manager_mirror_office_pattern", "https://artifactory\\.example\\.com/(.*)",
+                "repository_manager_mirror_office_urls", "http://cache.office.example.com/$1 , https://fra.example.com/$1");
+
+        // act
+        var result = RepositoryMirrors.of(List.of(FRANKFURT), properties).candidates(PRIMARY_URL);
+
+        // assert
+        assertThat(result).containsExactly(
+                "http://cache.office.example.com/artifactory/libs-release",
+                "https://fra.example.com/artifactory/libs-release",
+                PRIMARY_URL);
+    }
+
+    @Test
+    void collectRules_ruleWithSet_propertiesOfOneIdentifier() {
+        // act
+        var result = RepositoryMirrors.collectRules(Map.of(
+                "repository_manager_mirror_eu_1_pattern", "https://artifactory\\.example\\.com/(.*)",
+                "repository_manager_mirror_eu_1_urls", "https://fra.example.com/$1",
+                "repository_manager_mirror_eu_1_set", "frankfurt",
+                "repository_manager_mirror_incomplete_pattern", ".*"));
+
+        // assert
+        assertThat(result).containsExactly(new RepositoryMirrorRule("frankfurt",
+                "https://artifactory\\.example\\.com/(.*)", List.of("https://fra.example.com/$1")));
+    }
+
+    @Test
+    void applyMirrors_firstReachableMirror_firstMirrorUnreachable() throws IOException {
+        // arrange
+        var stoppedServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        var unreachableUrl = "http://localhost:%d/maven".formatted(stoppedServer.getAddress().getPort());
+        stoppedServer.stop(0);
+        var reachableUrl = "http://localhost:%d/maven".formatted(server.getAddress().getPort());
+        var rule = new RepositoryMirrorRule(null, "https://artifactory\\.example\\.com/.*", List.of(unreachableUrl, reachableUrl));
+        var mirrors = RepositoryMirrors.of(List.of(rule), Map.of());
+
+        // act
+        var result = new RepositoryManagerService().applyMirrors(extension(), List.of(repository(PRIMARY_URL)), mirrors,
+                cacheDir.resolve("reachability.properties"));
+
+        // assert
+        assertThat(result).extracting(ManageableRepository::getUrl).containsExactly(reachableUrl);
+        assertThat(result).extracting(ManageableRepository::getName).containsExactly("libs-release");
+    }
+
+    @Test
+    void applyMirrors_mirrorSkipped_noCredentialsForMirrorOfAuthenticatedRepository() {
+        // arrange
+        var reachableUrl = "http://localhost:%d/maven".formatted(server.getAddress().getPort());
+        var credential = RepositoryCredentials.forIdentifier("mirror");
+        credential.setTokenName("Private-Token");
+        credential.setTokenValue("secret");
+        credential.setUrl(reachableUrl + "/authenticated");
+        var service = new RepositoryManagerService();
+        service.setRepositoryCredentials(List.of(credential));
+        var rule = new RepositoryMirrorRule(null, "https://artifactory\\.example\\.com/.*",
+                List.of(reachableUrl, reachableUrl + "/authenticated"));
+        var repository = repository(PRIMARY_URL);
+        repository.setRequireAuthentication(true);
+
+        // act
+        var result = service.applyMirrors(extension(), List.of(repository), RepositoryMirrors.of(List.of(rule), Map.of()),
+                cacheDir.resolve("reachability.properties"));
+
+        // assert
+        assertThat(result).extracting(ManageableRepository::getUrl).containsExactly(reachableUrl + "/authenticated");
+    }
+
+    private static ManageableRepository repository(String url) {
+        ManageableRepository repository = new ManageableRepositoryImpl("libs-release");
+        repository.setUrl(url);
+        return repository;
+    }
+
+    private static RepositoryManagerExtension extension() {
+        return new RepositoryManagerExtension(mock(ObjectFactory.class), mock(ProviderFactory.class));
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryProxyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Test
+    void put_evictsLeastRecentlyUsed_cacheFull() {
+        // arrange
+        var cache = new RepositoryProxyCache(100, TTL, clock(NOW));
+        cache.put("first.jar", hit(20));
+        cache.put("second.jar", hit(20));
+        cache.put("third.jar", hit(20));
+        cache.put("fourth.jar", hit(20));
+        cache.get("first.jar");
+
+        // act
+        cache.put("fifth.jar", hit(25));
+
+        // assert
+        assertThat(cache.get("first.jar")).isPresent();
+        assertThat(cache.get("second.jar")).isEmpty();
+        assertThat(cache.getCachedBytes()).isEqualTo(85);
+    }
+
+    @Test
+    void get_empty_metadataAndMissesOlderThanTtl() {
+        // arrange
+        var clock = new MutableClock(NOW);
+        var cache = new RepositoryProxyCache(100, TTL, clock);
+        cache.put("com/example/library/maven-metadata.xml", hit(10));
+        cache.put("com/example/missing/1.0/missing-1.0.pom", RepositoryProxyCache.Response.miss());
+        cache.put("com/example/library/1.0/library-1.0.jar", hit(10));
+
+        // act
+        clock.instant = NOW.plus(TTL);
+
+        // assert
+        assertThat(cache.get("com/example/library/maven-metadata.xml")).isEmpty();
+        assertThat(cache.get("com/example/missing/1.0/missing-1.0.pom")).isEmpty();
+        assertThat(cache.get("com/example/library/1.0/library-1.0.jar")).isPresent();
+    }
+
+    private static RepositoryProxyCache.Response hit(int size) {
+        return new RepositoryProxyCache.Response(RepositoryProxyCache.Response.HIT, new byte[size], Map.of());
+    }
+
+    private static Clock clock(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
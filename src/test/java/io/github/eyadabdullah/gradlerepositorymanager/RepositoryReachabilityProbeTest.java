@@ -0,0 +1,190 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ProviderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryManagerExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RepositoryReachabilityProbeTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private final AtomicReference<String> receivedToken = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedToken.set(exchange.getRequestHeaders().getFirst("Private-Token"));
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void probe_reachable_repositoryAnswers() {
+        // arrange
+        var repository = plannedRepository(serverUrl(), null);
+        var probe = probe(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // act
+        var result = probe.probe(List.of(repository));
+
+        // assert
+        assertThat(result).containsEntry(serverUrl(), true);
+    }
+
+    @Test
+    void probe_unreachable_repositoryDown() throws IOException {
+        // arrange
+        var stoppedServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        var stoppedServerUrl = "http://localhost:%d/maven".formatted(stoppedServer.getAddress().getPort());
+        stoppedServer.stop(0);
+        var probe = probe(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // act
+        var result = probe.probe(List.of(plannedRepository(stoppedServerUrl, null)));
+
+        // assert
+        assertThat(result).containsEntry(stoppedServerUrl, false);
+    }
+
+    @Test
+    void probe_sendsToken_headerCredentialBound() {
+        // arrange
+        var credential = new RepositoryCredentials("repository_manager_repo_local_url");
+        credential.setUrl(serverUrl());
+        credential.setTokenName("Private-Token");
+        credential.setTokenValue("secret");
+        var probe = probe(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // act
+        probe.probe(List.of(plannedRepository(serverUrl(), credential)));
+
+        // assert
+        assertThat(receivedToken.get()).isEqualTo("secret");
+    }
+
+    @Test
+    void probe_cachedResult_notProbedAgainWithinTtl() {
+        // arrange
+        var repository = plannedRepository(serverUrl(), null);
+        probe(Clock.fixed(NOW, ZoneOffset.UTC)).probe(List.of(repository));
+        server.stop(0);
+
+        // act
+        var result = probe(Clock.fixed(NOW.plus(Duration.ofMinutes(5)), ZoneOffset.UTC)).probe(List.of(repository));
+
+        // assert
+        assertThat(result).containsEntry(serverUrl(), true);
+    }
+
+    @Test
+    void probe_probedAgain_ttlExpired() {
+        // arrange
+        var repository = plannedRepository(serverUrl(), null);
+        probe(Clock.fixed(NOW, ZoneOffset.UTC)).probe(List.of(repository));
+        server.stop(0);
+
+        // act
+        var result = probe(Clock.fixed(NOW.plus(Duration.ofMinutes(11)), ZoneOffset.UTC)).probe(List.of(repository));
+
+        // assert
+        assertThat(result).containsEntry(serverUrl(), false);
+    }
+
+    @Test
+    void readFreshResults_expiredResultDropped_ttlExpired() {
+        // arrange
+        var repository = plannedRepository(serverUrl(), null);
+        probe(Clock.fixed(NOW, ZoneOffset.UTC)).probe(List.of(repository));
+        var cacheFile = cacheDir.resolve("reachability.properties");
+
+        // act
+        var fresh = RepositoryReachabilityProbe.readFreshResults(cacheFile, TTL, NOW.plus(Duration.ofMinutes(5)).toEpochMilli());
+        var expired = RepositoryReachabilityProbe.readFreshResults(cacheFile, TTL, NOW.plus(Duration.ofMinutes(11)).toEpochMilli());
+
+        // assert
+        assertThat(fresh).containsOnlyKeys(serverUrl());
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    void probeRepositories_unreachableRepositoryRemoved_pruningEnabled() throws IOException {
+        // arrange
+        var stoppedServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        var stoppedServerUrl = "http://localhost:%d/maven".formatted(stoppedServer.getAddress().getPort());
+        stoppedServer.stop(0);
+        var extension = new RepositoryManagerExtension(mock(ObjectFactory.class), mock(ProviderFactory.class));
+        extension.pruneUnreachableRepositories(true);
+        var required = repository("required", stoppedServerUrl + "/required");
+        required.setRequired(true);
+        var service = new RepositoryManagerService();
+        var plan = new RepositoryPlan(List.of(service.planRepository(repository("reachable", serverUrl())),
+                service.planRepository(repository("unreachable", stoppedServerUrl)), service.planRepository(required)),
+                false, false, false);
+
+        // act
+        var result = service.probeRepositories(extension, plan, cacheDir.resolve("reachability.properties"));
+
+        // assert
+        assertThat(extension.isProbeRepositories()).isTrue();
+        assertThat(result.getRepositories()).extracting(planned -> planned.repository().getName())
+                .containsExactly("reachable", "required");
+    }
+
+    private RepositoryReachabilityProbe probe(Clock clock) {
+        return new RepositoryReachabilityProbe(cacheDir.resolve("reachability.properties"), TTL, TIMEOUT, clock);
+    }
+
+    private String serverUrl() {
+        return "http://localhost:%d/maven".formatted(server.getAddress().getPort());
+    }
+
+    private static ManageableRepository repository(String name, String url) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl(url);
+        repository.setSecureProtocol(false);
+        return repository;
+    }
+
+    private static PlannedRepository plannedRepository(String url, RepositoryCredentials credential) {
+        var repository = repository(url, url);
+        return new PlannedRepository(repository, credential,
+            PlannedRepository.Authentication.of(credential), PlannedRepository.Content.ALL, RepositoryContentFilter.EMPTY);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryRoutingIndexTest {
+
+    private static final List<String> MANAGED_REPOSITORIES = List.of("internal", "mirror");
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void load_savedGroups_indexSavedBefore() {
+        // arrange
+        var indexFile = indexDir.resolve("routing-index.properties");
+        var index = new RepositoryRoutingIndex();
+        index.record("com.example", "internal");
+        index.record("com.example", "mirror");
+        index.record("org.example", "mirror");
+        index.save(indexFile);
+
+        // act
+        var result = RepositoryRoutingIndex.load(indexFile);
+
+        // assert
+        assertThat(result.getGroups()).containsExactly("com.example", "org.example");
+        assertThat(result.getRepositories("com.example")).containsExactly("internal", "mirror");
+        assertThat(result.getRepositories("org.example")).containsExactly("mirror");
+    }
+
+    @Test
+    void load_emptyIndex_noIndexFile() {
+        // act
+        var result = RepositoryRoutingIndex.load(indexDir.resolve("missing.properties"));
+
+        // assert
+        assertThat(result.getGroups()).isEmpty();
+    }
+
+    @Test
+    void getExcludes_excludesGroup_groupServedByRepositoryAskedLater() {
+        // arrange
+        var index = new RepositoryRoutingIndex();
+        index.record("com.example", "mirror");
+
+        // act
+        var result = index.getExcludes("internal", MANAGED_REPOSITORIES, MANAGED_REPOSITORIES);
+
+        // assert
+        assertThat(result).containsExactly(
+            new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP, "com.example", null, null));
+    }
+
+    @Test
+    void getExcludes_noExcludes_groupServedByRepositoryAskedBefore() {
+        // arrange
+        var index = new RepositoryRoutingIndex();
+        index.record("com.example", "internal");
+
+        // act
+        var result = index.getExcludes("mirror", MANAGED_REPOSITORIES, MANAGED_REPOSITORIES);
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getExcludes_noExcludes_groupServedByRepository() {
+        // arrange
+        var index = new RepositoryRoutingIndex();
+        index.record("com.example", "internal");
+        index.record("com.example", "mirror");
+
+        // act
+        var result = index.getExcludes("mirror", MANAGED_REPOSITORIES, MANAGED_REPOSITORIES);
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getExcludes_noExcludes_servingRepositoryNoLongerManaged() {
+        // arrange
+        var index = new RepositoryRoutingIndex();
+        index.record("com.example", "removed");
+
+        // act
+        var result = index.getExcludes("internal", List.of("internal", "mirror", "removed"), MANAGED_REPOSITORIES);
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getExcludes_noExcludes_groupForgotten() {
+        // arrange
+        var index = new RepositoryRoutingIndex();
+        index.record("com.example", "mirror");
+
+        // act
+        index.forget("com.example");
+        var result = index.getExcludes("internal", MANAGED_REPOSITORIES, MANAGED_REPOSITORIES);
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryStatisticsTest {
+
+    @TempDir
+    Path statisticsDir;
+
+    @Test
+    void load_savedStatistics_statisticsSavedBefore() {
+        // arrange
+        var statisticsFile = statisticsDir.resolve("repository-statistics.properties");
+        var statistics = new RepositoryStatistics();
+        statistics.recordLookups("repository 1", 3, 7);
+        statistics.recordLatency("repository 1", 120);
+        statistics.save(statisticsFile);
+
+        // act
+        var result = RepositoryStatistics.load(statisticsFile);
+
+        // assert
+        assertThat(result.getHits("repository 1")).isEqualTo(3);
+        assertThat(result.getMisses("repository 1")).isEqualTo(7);
+        assertThat(result.getLatencyMillis("repository 1")).isEqualTo(120);
+    }
+
+    @Test
+    void recordLatency_movingAverage_severalLatenciesRecorded() {
+        // arrange
+        var statistics = new RepositoryStatistics();
+
+        // act
+        statistics.recordLatency("internal", 100);
+        statistics.recordLatency("internal", 200);
+
+        // assert
+        assertThat(statistics.getLatencyMillis("internal")).isEqualTo(130);
+    }
+
+    @Test
+    void order_mostHitsFirst_laterRepositoryServesMostModules() {
+        // arrange
+        var statistics = new RepositoryStatistics();
+        statistics.recordLookups("rarely used", 1, 90);
+        statistics.recordLookups("mirror", 90, 1);
+        var repositories = List.of(planned("rarely used", repository -> {}), planned("mirror", repository -> {}));
+
+        // act
+        var result = statistics.order(repositories);
+
+        // assert
+        assertThat(names(result)).containsExactly("mirror", "rarely used");
+    }
+
+    @Test
+    void order_fastRepositoryFirst_equalHitRates() {
+        // arrange
+        var statistics = new RepositoryStatistics();
+        statistics.recordLookups("slow", 50, 50);
+        statistics.recordLatency("slow", 400);
+        statistics.recordLookups("fast", 50, 50);
+        statistics.recordLatency("fast", 40);
+        var repositories = List.of(planned("slow", repository -> {}), planned("fast", repository -> {}));
+
+        // act
+        var result = statistics.order(repositories);
+
+        // assert
+        assertThat(names(result)).containsExactly("fast", "slow");
+    }
+
+    @Test
+    void order_keepsPosition_pinnedAndExclusiveRepositories() {
+        // arrange
+        var statistics = new RepositoryStatistics();
+        statistics.recordLookups("pinned", 0, 90);
+        statistics.recordLookups("rarely used", 1, 90);
+        statistics.recordLookups("exclusive", 0, 0);
+        statistics.recordLookups("mirror", 90, 1);
+        var repositories = List.of(
+            planned("pinned", repository -> repository.setPinned(true)),
+            planned("rarely used", repository -> {}),
+            planned("exclusive", repository -> {
+                repository.setExclusive(true);
+                repository.includeGroup("com.example");
+            }),
+            planned("mirror", repository -> {}));
+
+        // act
+        var result = statistics.order(repositories);
+
+        // assert
+        assertThat(names(result)).containsExactly("pinned", "mirror", "exclusive", "rarely used");
+    }
+
+    @Test
+    void order_declaredOrder_noStatistics() {
+        // arrange
+        var repositories = List.of(planned("repository 1", repository -> {}), planned("repository 2", repository -> {}));
+
+        // act
+        var result = new RepositoryStatistics().order(repositories);
+
+        // assert
+        assertThat(result).isEqualTo(repositories);
+    }
+
+    private static PlannedRepository planned(String name, Consumer<ManageableRepository> configuration) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl("https://maven.example.com/" + name.replace(' ', '-'));
+        configuration.accept(repository);
+        return new RepositoryManagerService().planRepository(repository);
+    }
+
+    private static List<String> names(List<PlannedRepository> repositories) {
+        return repositories.stream().map(planned -> planned.repository().getName()).toList();
+    }
+}
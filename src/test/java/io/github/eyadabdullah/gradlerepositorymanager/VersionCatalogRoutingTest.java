@@ -0,0 +1,164 @@
+package io.github.eyadabdullah.gradlerepositorymanager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepository;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.ManageableRepositoryImpl;
+import io.github.eyadabdullah.gradlerepositorymanager.extension.RepositoryContentFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VersionCatalogRoutingTest {
+
+    private static final String CATALOG = """
+            [versions]
+            groovy = "3.0.5"
+
+            [libraries]
+            # comment = "org.comment:ignored:1.0"
+            groovy-core = { module = "org.codehaus.groovy:groovy", version.ref = "groovy" }
+            guava = "com.google.guava:guava:33.0.0-jre"
+            internal = { group = "com.example.platform", name = "core", version = "1.0" }
+
+            [libraries.commons]
+            module = "org.apache.commons:commons-lang3"
+            version = "3.14.0"
+
+            [plugins]
+            versions = { id = "com.github.ben-manes.versions", version = "0.51.0" }
+            """;
+
+    @Test
+    void parseLibraryGroups_groupOfEveryLibrary_catalogWithAllNotations() {
+        // act
+        var result = VersionCatalogRouting.parseLibraryGroups(CATALOG);
+
+        // assert
+        assertThat(result).containsExactly("com.example.platform", "com.google.guava", "org.apache.commons",
+                "org.codehaus.groovy");
+    }
+
+    @Test
+    void parseLibraryGroups_groupOfEveryLibrary_catalogWithOtherTomlNotations() {
+        // arrange
+        var catalog = """
+                [versions]
+                groovy = '3.0.5' # literal string
+
+                [libraries]
+                guava = 'com.google.guava:guava:33.0.0-jre'
+                "quoted-alias" = { module = 'org.slf4j:slf4j-api', version = "2.0.13" }
+                groovy-core = {
+                    module = "org.codehaus.groovy:groovy", # inline table across lines
+                    version.ref = "groovy",
+                }
+                jackson.module = "com.fasterxml.jackson.core:jackson-databind"
+                jackson.version = "2.17.0"
+                junit = { group = "org.junit.jupiter", name = "junit-jupiter", version = { strictly = "[5, 6[", prefer = "5.10.2" } }
+                escaped = "org.\\u0065scaped:lib:1.0"
+
+                [libraries.commons]
+                module = \"""
+                org.apache.commons:commons-lang3\"""
+                version = "3.14.0"
+
+                [bundles]
+                logging = ["org.ignored:bundle", 'slf4j']
+                """;
+
+        // act
+        var result = VersionCatalogRouting.parseLibraryGroups(catalog);
+
+        // assert
+        assertThat(result).containsExactly("com.fasterxml.jackson.core", "com.google.guava", "org.apache.commons",
+                "org.codehaus.groovy", "org.escaped", "org.junit.jupiter", "org.slf4j");
+    }
+
+    @Test
+    void parseLibraryGroups_lineOfError_invalidCatalog() {
+        // act & assert
+        assertThatThrownBy(() -> VersionCatalogRouting.parseLibraryGroups("[libraries]\nguava = \"com.google.guava:guava\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void findRepository_mostSpecificOwner_groupAndWildcardsDeclared() {
+        // arrange
+        var routing = VersionCatalogRouting.of(Map.of(
+                "com.example.legacy", "legacy",
+                "com.example.*", "internal",
+                "*", "mavenCentral"));
+
+        // act & assert
+        assertThat(routing.findRepository("com.example.legacy")).isEqualTo("legacy");
+        assertThat(routing.findRepository("com.example.platform.core")).isEqualTo("internal");
+        assertThat(routing.findRepository("com.example")).isEqualTo("internal");
+        assertThat(routing.findRepository("org.apache.commons")).isEqualTo("mavenCentral");
+    }
+
+    @Test
+    void apply_groupExcludedFromOtherRepositories_groupOwnedByManagedRepository() {
+        // arrange
+        var plan = plan(repository("internal"), repository("other"));
+        var routing = VersionCatalogRouting.of(Map.of("com.example.*", "internal"));
+
+        // act
+        var result = routing.apply(plan, Set.of("com.example.platform"));
+
+        // assert
+        var exclude = new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP,
+                "com.example.platform", null, null);
+        assertThat(result.getRepositories().get(0).contentFilter().isEmpty()).isTrue();
+        assertThat(result.getRepositories().get(1).contentFilter().getRules()).containsExactly(exclude);
+        assertThat(RepositoryPlan.DEFAULT_REPOSITORY_NAMES).allSatisfy(repositoryName ->
+                assertThat(result.getDefaultRepositoryFilter(repositoryName).getRules()).containsExactly(exclude));
+    }
+
+    @Test
+    void apply_groupExcludedFromAllOtherRepositories_groupOwnedByMavenCentral() {
+        // arrange
+        var plan = plan(repository("internal"));
+        var routing = VersionCatalogRouting.of(Map.of("*", "mavenCentral"));
+
+        // act
+        var result = routing.apply(plan, Set.of("com.google.guava"));
+
+        // assert
+        var exclude = new RepositoryContentFilter.Rule(false, RepositoryContentFilter.RuleType.GROUP,
+                "com.google.guava", null, null);
+        assertThat(result.getRepositories().get(0).contentFilter().getRules()).containsExactly(exclude);
+        assertThat(result.getDefaultRepositoryFilter(RepositoryPlan.MAVEN_CENTRAL).isEmpty()).isTrue();
+        assertThat(result.getDefaultRepositoryFilter(RepositoryPlan.MAVEN_LOCAL).getRules()).containsExactly(exclude);
+        assertThat(result.getDefaultRepositoryFilter(RepositoryPlan.GRADLE_PLUGIN_PORTAL).getRules()).containsExactly(exclude);
+    }
+
+    @Test
+    void apply_planUnchanged_groupsUnclaimedOrOwnedByUnmanagedRepository() {
+        // arrange
+        var plan = plan(repository("internal"));
+        var routing = VersionCatalogRouting.of(Map.of("com.example.*", "removed"));
+
+        // act
+        var result = routing.apply(plan, Set.of("com.example.platform", "org.unknown"));
+
+        // assert
+        assertThat(result).isSameAs(plan);
+    }
+
+    private static RepositoryPlan plan(ManageableRepository... repositories) {
+        var service = new RepositoryManagerService();
+        return new RepositoryPlan(List.of(repositories).stream().map(service::planRepository).toList(), false, true, false);
+    }
+
+    private static ManageableRepository repository(String name) {
+        ManageableRepository repository = new ManageableRepositoryImpl(name);
+        repository.setUrl("https://%s.example.com/maven".formatted(name));
+        return repository;
+    }
+}
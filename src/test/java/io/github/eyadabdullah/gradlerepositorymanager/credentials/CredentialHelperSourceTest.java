@@ -0,0 +1,75 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialHelperSourceTest {
+
+    private static final String REPOSITORY_URL = "https://gitlab.example.com/api/v4/groups/680/-/packages/maven";
+
+    @Test
+    void parseCredential_passwordCredential_helperAnswersWithPassword() {
+        // act
+        var result = CredentialHelperSource.parseCredential(REPOSITORY_URL, """
+            protocol=https
+            host=gitlab.example.com
+            username=user
+            password=secret
+            """);
+
+        // assert
+        assertThat(result).hasValueSatisfying(credential -> {
+            assertThat(credential.getUrl()).isEqualTo(REPOSITORY_URL);
+            assertThat(credential.getUsername()).isEqualTo("user");
+            assertThat(credential.getPassword()).isEqualTo("secret");
+        });
+    }
+
+    @Test
+    void parseCredential_tokenCredential_helperAnswersWithToken() {
+        // act
+        var result = CredentialHelperSource.parseCredential(REPOSITORY_URL, "token_name=Private-Token\ntoken_value=secret\n");
+
+        // assert
+        assertThat(result).hasValueSatisfying(credential -> {
+            assertThat(credential.getTokenName()).isEqualTo("Private-Token");
+            assertThat(credential.getTokenValue()).isEqualTo("secret");
+        });
+    }
+
+    @Test
+    void parseCredential_empty_helperAnswersWithoutSecret() {
+        // act
+        var result = CredentialHelperSource.parseCredential(REPOSITORY_URL, "username=user\n");
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void loadCredentials_credentialFound_helperAnswersMoreThanThePipeBuffer() throws Exception {
+        // arrange
+        var source = new CredentialHelperSource(List.of("sh", "-c",
+            "cat > /dev/null; head -c 200000 /dev/zero | tr '\\0' a; echo; echo username=user; echo password=secret"),
+            Duration.ofSeconds(10));
+        var executor = Executors.newCachedThreadPool();
+
+        // act
+        try {
+            var result = source.loadCredentials(List.of(REPOSITORY_URL), executor);
+
+            // assert
+            assertThat(result).singleElement().satisfies(credential -> assertThat(credential.getPassword()).isEqualTo("secret"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.eyadabdullah.gradlerepositorymanager.RepositoryCredentials;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialSourceCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(60);
+    private static final List<String> REPOSITORY_URLS = List.of("https://maven.example.com/releases");
+
+    @Test
+    void load_reusesCredentials_fingerprintUnchanged() {
+        // arrange
+        var cache = new CredentialSourceCache(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        var source = new CountingSource("first");
+        cache.load(List.of(source), REPOSITORY_URLS, TTL);
+
+        // act
+        var result = cache.load(List.of(source), REPOSITORY_URLS, TTL);
+
+        // assert
+        assertThat(result).extracting(RepositoryCredentials::getIdentifier).containsExactly("first");
+        assertThat(source.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void load_loadsAgain_fingerprintChanged() {
+        // arrange
+        var cache = new CredentialSourceCache(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        var source = new CountingSource("first");
+        cache.load(List.of(source), REPOSITORY_URLS, TTL);
+
+        // act
+        source.fingerprint = "changed";
+        cache.load(List.of(source), REPOSITORY_URLS, TTL);
+
+        // assert
+        assertThat(source.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void load_loadsAgain_ttlExpired() {
+        // arrange
+        var source = new CountingSource("first");
+        var cache = new CredentialSourceCache(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        cache.load(List.of(source), REPOSITORY_URLS, Duration.ZERO);
+
+        // act
+        cache.load(List.of(source), REPOSITORY_URLS, Duration.ZERO);
+
+        // assert
+        assertThat(source.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void load_skipsFailedSource_sourceFails() {
+        // arrange
+        var cache = new CredentialSourceCache(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        var failing = new CountingSource("failing");
+        failing.fail = true;
+
+        // act
+        var result = cache.load(List.of(failing, new CountingSource("second")), REPOSITORY_URLS, TTL);
+        cache.load(List.of(failing), REPOSITORY_URLS, TTL);
+
+        // assert
+        assertThat(result).extracting(RepositoryCredentials::getIdentifier).containsExactly("second");
+        assertThat(failing.loads.get()).isEqualTo(2);
+    }
+
+    private static class CountingSource implements CredentialSource {
+
+        private final String identifier;
+        private final AtomicInteger loads = new AtomicInteger();
+        private String fingerprint = "initial";
+        private boolean fail;
+
+        CountingSource(String identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String getFingerprint(Collection<String> repositoryUrls) {
+            return identifier + fingerprint;
+        }
+
+        @Override
+        public List<RepositoryCredentials> loadCredentials(Collection<String> repositoryUrls, Executor executor) throws IOException {
+            loads.incrementAndGet();
+            if (fail) {
+                throw new IOException("unavailable");
+            }
+            return List.of(RepositoryCredentials.forIdentifier(identifier));
+        }
+    }
+}
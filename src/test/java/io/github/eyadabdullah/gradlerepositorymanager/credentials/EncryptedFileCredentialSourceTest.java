@@ -0,0 +1,95 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.gradle.api.provider.Provider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EncryptedFileCredentialSourceTest {
+
+    private static final String CREDENTIALS = """
+        repository_manager_repo_gitlab_url=https://gitlab.example.com/.*
+        repository_manager_repo_gitlab_token_name=Private-Token
+        repository_manager_repo_gitlab_token_value=secret
+        """;
+
+    @TempDir
+    Path credentialsDir;
+
+    @Test
+    void loadCredentials_decryptedCredentials_correctPassphrase() throws Exception {
+        // arrange
+        var encryptedFile = credentialsDir.resolve("credentials.properties.enc");
+        Files.write(encryptedFile, encrypt(CREDENTIALS, "passphrase"));
+
+        // act
+        var result = new EncryptedFileCredentialSource(encryptedFile, contents(encryptedFile), passphrase("passphrase"))
+            .loadCredentials(List.of(), Runnable::run);
+
+        // assert
+        assertThat(result).singleElement().satisfies(credential -> {
+            assertThat(credential.getIdentifier()).isEqualTo("gitlab");
+            assertThat(credential.getUrl()).isEqualTo("https://gitlab.example.com/.*");
+            assertThat(credential.getTokenValue()).isEqualTo("secret");
+        });
+    }
+
+    @Test
+    void loadCredentials_fails_wrongPassphrase() throws Exception {
+        // arrange
+        var encryptedFile = credentialsDir.resolve("credentials.properties.enc");
+        Files.write(encryptedFile, encrypt(CREDENTIALS, "passphrase"));
+        var source = new EncryptedFileCredentialSource(encryptedFile, contents(encryptedFile), passphrase("wrong"));
+
+        // act
+        var result = assertThatThrownBy(() -> source.loadCredentials(List.of(), Runnable::run));
+
+        // assert
+        result.hasMessageContaining("passphrase");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Provider<byte[]> contents(Path file) {
+        Provider<byte[]> contents = mock(Provider.class);
+        when(contents.getOrNull()).thenAnswer(invocation -> Files.isRegularFile(file) ? Files.readAllBytes(file) : null);
+        return contents;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Provider<String> passphrase(String value) {
+        Provider<String> passphrase = mock(Provider.class);
+        when(passphrase.isPresent()).thenReturn(true);
+        when(passphrase.get()).thenReturn(value);
+        when(passphrase.getOrElse("")).thenReturn(value);
+        return passphrase;
+    }
+
+    // same format as 'openssl enc -aes-256-cbc -pbkdf2 -salt'
+    private static byte[] encrypt(String content, String passphrase) throws Exception {
+        var salt = "12345678".getBytes(StandardCharsets.US_ASCII);
+        var keySpec = new PBEKeySpec(passphrase.toCharArray(), salt, 10_000, 48 * 8);
+        var keyAndIv = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(keySpec).getEncoded();
+        var cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyAndIv, 0, 32, "AES"), new IvParameterSpec(keyAndIv, 32, 16));
+        var encrypted = new ByteArrayOutputStream();
+        encrypted.write("Salted__".getBytes(StandardCharsets.US_ASCII));
+        encrypted.write(salt);
+        encrypted.write(cipher.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+        return encrypted.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.eyadabdullah.gradlerepositorymanager.credentials;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.gradle.api.provider.Provider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.eyadabdullah.gradlerepositorymanager.CredentialMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NetrcCredentialSourceTest {
+
+    @TempDir
+    Path netrcDir;
+
+    @Test
+    void loadCredentials_credentialPerMachine_netrcWithSeveralMachines() throws Exception {
+        // arrange
+        var netrcFile = netrcDir.resolve(".netrc");
+        Files.writeString(netrcFile, """
+            machine maven.example.com login user password secret
+            machine gitlab.example.com
+              login token-user
+              password token-secret
+            default login anonymous password none
+            """);
+
+        // act
+        var result = new NetrcCredentialSource(netrcFile, contents(netrcFile)).loadCredentials(List.of(), Runnable::run);
+
+        // assert
+        assertThat(result).hasSize(2);
+        var matcher = new CredentialMatcher(result);
+        var credential = matcher.findCredential("https://gitlab.example.com/api/v4/groups/680/-/packages/maven");
+        assertThat(credential).hasValueSatisfying(gitlab -> {
+            assertThat(gitlab.getIdentifier()).isEqualTo("netrc_gitlab_example_com");
+            assertThat(gitlab.getUsername()).isEqualTo("token-user");
+            assertThat(gitlab.getPassword()).isEqualTo("token-secret");
+        });
+        assertThat(matcher.findCredential("https://maven.example.com/releases")).isPresent();
+        assertThat(matcher.findCredential("https://maven.example.com.evil.org/releases")).isEmpty();
+    }
+
+    @Test
+    void loadCredentials_empty_noNetrcFile() throws Exception {
+        // act
+        var result = new NetrcCredentialSource(netrcDir.resolve(".netrc"), contents(netrcDir.resolve(".netrc"))).loadCredentials(List.of(), Runnable::run);
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getFingerprint_changes_netrcFileModified() throws Exception {
+        // arrange
+        var netrcFile = netrcDir.resolve(".netrc");
+        Files.writeString(netrcFile, "machine maven.example.com login user password secret");
+        var source = new NetrcCredentialSource(netrcFile, contents(netrcFile));
+        var fingerprint = source.getFingerprint(List.of());
+
+        // act
+        Files.writeString(netrcFile, "machine maven.example.com login user password another-secret");
+
+        // assert
+        assertThat(source.getFingerprint(List.of())).isNotEqualTo(fingerprint);
+    }
+
+    // like providers.fileContents(file).getAsText(), the file is read on each query
+    @SuppressWarnings("unchecked")
+    private static Provider<String> contents(Path file) {
+        Provider<String> contents = mock(Provider.class);
+        when(contents.getOrNull()).thenAnswer(invocation -> Files.isRegularFile(file) ? Files.readString(file) : null);
+        return contents;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.eyadabdullah.gradlerepositorymanager.extension;
+
+import org.gradle.api.artifacts.repositories.InclusiveRepositoryContentDescriptor;
+import org.gradle.api.artifacts.repositories.RepositoryContentDescriptor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class RepositoryContentFilterTest {
+
+    @Test
+    void includeGroup_newFilter_ruleAdded() {
+        // arrange
+        var filter = RepositoryContentFilter.EMPTY;
+
+        // act
+        var result = filter.includeGroup("com.example");
+
+        // assert
+        assertThat(filter.isEmpty()).isTrue();
+        assertThat(result.hasIncludes()).isTrue();
+    }
+
+    @Test
+    void applyTo_allRulesApplied_includesAndExcludesDefined() {
+        // arrange
+        var filter = RepositoryContentFilter.EMPTY
+            .includeGroup("com.example")
+            .includeGroupByRegex("com\\.example\\..*")
+            .includeModule("org.example", "library")
+            .includeVersionByRegex("org\\.example", "library", ".*-internal")
+            .excludeGroup("com.example.legacy")
+            .excludeGroupByRegex("com\\.example\\.legacy\\..*")
+            .excludeModule("com.example", "legacy")
+            .excludeVersionByRegex("com\\.example", ".*", ".*-SNAPSHOT");
+        var descriptor = mock(RepositoryContentDescriptor.class);
+
+        // act
+        filter.applyTo(descriptor);
+
+        // assert
+        verify(descriptor).includeGroup("com.example");
+        verify(descriptor).includeGroupByRegex("com\\.example\\..*");
+        verify(descriptor).includeModule("org.example", "library");
+        verify(descriptor).includeVersionByRegex("org\\.example", "library", ".*-internal");
+        verify(descriptor).excludeGroup("com.example.legacy");
+        verify(descriptor).excludeGroupByRegex("com\\.example\\.legacy\\..*");
+        verify(descriptor).excludeModule("com.example", "legacy");
+        verify(descriptor).excludeVersionByRegex("com\\.example", ".*", ".*-SNAPSHOT");
+        verifyNoMoreInteractions(descriptor);
+    }
+
+    @Test
+    void applyIncludesTo_onlyIncludesApplied_exclusiveContent() {
+        // arrange
+        var filter = RepositoryContentFilter.EMPTY
+            .includeGroup("com.example")
+            .excludeModule("com.example", "legacy");
+        var descriptor = mock(InclusiveRepositoryContentDescriptor.class);
+
+        // act
+        filter.applyIncludesTo(descriptor);
+
+        // assert
+        verify(descriptor).includeGroup("com.example");
+        verifyNoMoreInteractions(descriptor);
+    }
+}
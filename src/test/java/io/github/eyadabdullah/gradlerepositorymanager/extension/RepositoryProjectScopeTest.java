@@ -0,0 +1,76 @@
+package io.github.eyadabdullah.gradlerepositorymanager.extension;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryProjectScopeTest {
+
+    @Test
+    void matches_allProjects_noPatterns() {
+        // act
+        var result = RepositoryProjectScope.ALL.matches(":android:app");
+
+        // assert
+        assertThat(RepositoryProjectScope.ALL.isAll()).isTrue();
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void matches_projectAndSubprojects_trailingDoubleWildcard() {
+        // arrange
+        var scope = RepositoryProjectScope.ALL.includeProjects(":android:**");
+
+        // act & assert
+        assertThat(scope.isAll()).isFalse();
+        assertThat(scope.matches(":android")).isTrue();
+        assertThat(scope.matches(":android:app")).isTrue();
+        assertThat(scope.matches(":android:feature:login")).isTrue();
+        assertThat(scope.matches(":androidx")).isFalse();
+        assertThat(scope.matches(":backend")).isFalse();
+    }
+
+    @Test
+    void matches_oneSegmentOnly_singleWildcard() {
+        // arrange
+        var scope = RepositoryProjectScope.ALL.includeProjects(":services:*");
+
+        // act & assert
+        assertThat(scope.matches(":services:billing")).isTrue();
+        assertThat(scope.matches(":services:billing:api")).isFalse();
+        assertThat(scope.matches(":services")).isFalse();
+    }
+
+    @Test
+    void matches_excludeWins_projectIncludedAndExcluded() {
+        // arrange
+        var scope = RepositoryProjectScope.ALL
+            .includeProjects(":android:**", ":shared")
+            .excludeProjects(":android:legacy");
+
+        // act & assert
+        assertThat(scope.matches(":android:app")).isTrue();
+        assertThat(scope.matches(":shared")).isTrue();
+        assertThat(scope.matches(":android:legacy")).isFalse();
+    }
+
+    @Test
+    void matches_allButExcluded_onlyExcludesDefined() {
+        // arrange
+        var scope = RepositoryProjectScope.ALL.excludeProjects("**:test-fixtures");
+
+        // act & assert
+        assertThat(scope.matches(":backend:orders")).isTrue();
+        assertThat(scope.matches(":backend:orders:test-fixtures")).isFalse();
+    }
+
+    @Test
+    void matches_literalPath_patternWithRegexCharacters() {
+        // arrange
+        var scope = RepositoryProjectScope.ALL.includeProjects(":lib.core");
+
+        // act & assert
+        assertThat(scope.matches(":lib.core")).isTrue();
+        assertThat(scope.matches(":libxcore")).isFalse();
+    }
+}